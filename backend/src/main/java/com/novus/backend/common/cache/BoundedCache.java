@@ -0,0 +1,88 @@
+package com.novus.backend.common.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Concurrent map with a soft bound on its size, for the in-memory caches in front of the database.
+ * <p>
+ * When an insert finds the map at {@code maxEntries}, it first drops the entries {@code stale}
+ * accepts (expired tokens, full rate-limit buckets) and then arbitrary ones until the map is back
+ * under 90% of the bound. There is no recency tracking: an entry dropped too early is reloaded on
+ * its next use, which keeps reads to a single map lookup. Concurrent inserts may overshoot the
+ * bound briefly.
+ */
+public final class BoundedCache<K, V> {
+
+    private final Map<K, V> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final Predicate<? super V> stale;
+
+    public BoundedCache(int maxEntries) {
+        this(maxEntries, value -> false);
+    }
+
+    public BoundedCache(int maxEntries, Predicate<? super V> stale) {
+        this.maxEntries = maxEntries;
+        this.stale = stale;
+    }
+
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        makeRoom();
+        entries.put(key, value);
+    }
+
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+        makeRoom();
+        return entries.merge(key, value, remapping);
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            return value;
+        }
+        makeRoom();
+        return entries.computeIfAbsent(key, loader);
+    }
+
+    public V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    public void removeKeys(Predicate<? super K> filter) {
+        entries.keySet().removeIf(filter);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(stale);
+        Iterator<K> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.novus.backend.common.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -8,6 +9,7 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalDateTime timestamp;
 
     public ApiResponse(boolean success, String message, T data) {
@@ -25,6 +27,16 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, message, data);
     }
 
+    /**
+     * Success response without the per-request timestamp, so its serialized form can be cached and
+     * shared between callers.
+     */
+    public static <T> ApiResponse<T> cacheable(T data) {
+        ApiResponse<T> response = new ApiResponse<>(true, "Success", data);
+        response.setTimestamp(null);
+        return response;
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, message, null);
     }
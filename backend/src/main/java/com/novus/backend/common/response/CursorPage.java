@@ -0,0 +1,78 @@
+package com.novus.backend.common.response;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the id to pass back as
+ * {@code cursor} to fetch the following page, or {@code null} when the listing is exhausted.
+ * <p>
+ * Listings are ordered by id alone, which is unique and never changes, so the id is a complete
+ * keyset: a row edited between two pages keeps its place, and no row is skipped or repeated. An
+ * {@code (updatedAt, id)} key would only be needed for a listing ordered by recency, where edits
+ * move rows across pages; delta sync covers that case with its own token (see {@code SyncService}).
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor, boolean hasMore) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * Builds a page from a query that fetched up to {@code limit + 1} rows; the extra row only
+     * signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, Long> idOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), idOf.apply(items.get(limit - 1)), true);
+    }
+
+    public static int clampLimit(int limit) {
+        if (limit < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static long afterCursor(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+
+    /**
+     * Page over ids that are already sorted ascending, loading rows in slices until the page is full.
+     * Ids whose row is gone (deleted after the ids were collected) are skipped rather than leaving the
+     * page short, which would end the listing early. {@code load} may return its rows in any order.
+     */
+    public static <T> CursorPage<T> ofIds(long[] sortedIds, Long cursor, int limit,
+                                          Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+        List<T> fetched = new ArrayList<>(limit + 1);
+        Long after = cursor;
+        while (fetched.size() <= limit) {
+            long[] slice = sliceAfter(sortedIds, after, limit + 1 - fetched.size());
+            if (slice.length == 0) {
+                break;
+            }
+            List<T> rows = new ArrayList<>(load.apply(Arrays.stream(slice).boxed().toList()));
+            rows.sort(Comparator.comparing(idOf));
+            fetched.addAll(rows);
+            after = slice[slice.length - 1];
+        }
+        return of(fetched, limit, idOf);
+    }
+
+    /**
+     * Keyset slice over ids that are already sorted ascending: up to {@code count} ids after {@code cursor}.
+     */
+    public static long[] sliceAfter(long[] sortedIds, Long cursor, int count) {
+        int from = Arrays.binarySearch(sortedIds, afterCursor(cursor) + 1);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        return Arrays.copyOfRange(sortedIds, from, Math.min(sortedIds.length, from + count));
+    }
+}
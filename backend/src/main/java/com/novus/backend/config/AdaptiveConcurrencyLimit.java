@@ -0,0 +1,95 @@
+package com.novus.backend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to latency, in the style of Netflix's gradient limiter.
+ * <p>
+ * Each completed request feeds its latency into a short-term and a long-term average. While the
+ * short-term average stays within {@code tolerance} of the long-term one the limit grows by about
+ * its square root per adjustment; when requests start queueing somewhere downstream (the
+ * connection pool, the database) the short-term average rises and the limit shrinks in proportion,
+ * by at most half per adjustment. Samples taken while fewer than half the permits are in use say
+ * nothing about capacity and only update the averages. Acquiring is a single atomic increment;
+ * a completion that finds another one adjusting the limit skips its adjustment rather than wait.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Takes a permit, or returns false without one when the limit is reached. Every successful
+     * call must be followed by {@link #release}.
+     */
+    public boolean tryAcquire() {
+        if (inflight.incrementAndGet() > (int) limit) {
+            inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a permit taken {@code rttNanos} ago.
+     */
+    public void release(long rttNanos) {
+        int inUse = inflight.getAndDecrement();
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            sample(rttNanos, inUse);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void sample(long rttNanos, int inUse) {
+        if (longRtt == 0) {
+            shortRtt = longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        // After a sustained slowdown the long-term average catches up with the short-term one
+        // only slowly; pull it back down faster once latency recovers
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        double current = limit;
+        if (inUse < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,120 @@
+package com.novus.backend.config;
+
+import com.novus.backend.common.cache.BoundedCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers successfully verified tokens until they expire so a client resending the same bearer
+ * token skips signature verification and claim validation. Entries are keyed by a SHA-256 digest
+ * of the token, never the token itself, and live until the earlier of the token's {@code exp}
+ * and {@code maxTtl}. Tokens that fail verification are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final BoundedCache<TokenKey, CachedJwt> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verification;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration maxTtl, MeterRegistry meterRegistry) {
+        this(delegate, maxEntries, maxTtl, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxEntries, Duration maxTtl, MeterRegistry meterRegistry, Clock clock) {
+        this.delegate = delegate;
+        this.maxTtl = maxTtl;
+        this.clock = clock;
+        this.cache = new BoundedCache<>(maxEntries, entry -> !entry.expiresAt().isAfter(clock.instant()));
+        this.hits = Counter.builder("novus.jwt.cache.requests").tag("result", "hit")
+                .description("Bearer tokens served from the verified-token cache").register(meterRegistry);
+        this.misses = Counter.builder("novus.jwt.cache.requests").tag("result", "miss")
+                .description("Bearer tokens that needed full verification").register(meterRegistry);
+        this.verification = Timer.builder("novus.jwt.verification")
+                .description("Time spent verifying tokens that missed the cache").register(meterRegistry);
+        Gauge.builder("novus.jwt.cache.size", cache, BoundedCache::size).register(meterRegistry);
+        FunctionCounter.builder("novus.jwt.cache.saved", this, CachingJwtDecoder::estimatedSavedSeconds)
+                .baseUnit("seconds")
+                .description("Verification time avoided by cache hits, estimated from the mean miss cost")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        TokenKey key = TokenKey.of(token);
+        Instant now = clock.instant();
+        CachedJwt cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                hits.increment();
+                return cached.jwt();
+            }
+            cache.remove(key, cached);
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        Jwt jwt = delegate.decode(token);
+        verification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        Instant expiresAt = cacheUntil(jwt, now);
+        if (expiresAt != null) {
+            cache.put(key, new CachedJwt(jwt, expiresAt));
+        }
+        return jwt;
+    }
+
+    private Instant cacheUntil(Jwt jwt, Instant now) {
+        if (jwt.getExpiresAt() == null || (jwt.getNotBefore() != null && jwt.getNotBefore().isAfter(now))) {
+            return null;
+        }
+        Instant ttlLimit = now.plus(maxTtl);
+        Instant expiresAt = jwt.getExpiresAt().isBefore(ttlLimit) ? jwt.getExpiresAt() : ttlLimit;
+        return expiresAt.isAfter(now) ? expiresAt : null;
+    }
+
+    private double estimatedSavedSeconds() {
+        long verified = verification.count();
+        if (verified == 0) {
+            return 0;
+        }
+        return hits.count() * verification.totalTime(TimeUnit.SECONDS) / verified;
+    }
+
+    private record CachedJwt(Jwt jwt, Instant expiresAt) {
+    }
+
+    private record TokenKey(long high, long low) {
+        static TokenKey of(String token) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                long high = 0;
+                long low = 0;
+                for (int i = 0; i < 8; i++) {
+                    high = (high << 8) | (digest[i] & 0xff);
+                    low = (low << 8) | (digest[i + 8] & 0xff);
+                }
+                return new TokenKey(high, low);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
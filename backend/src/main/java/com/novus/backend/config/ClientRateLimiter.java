@@ -0,0 +1,50 @@
+package com.novus.backend.config;
+
+import com.novus.backend.common.cache.BoundedCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per client, kept as the generic cell rate algorithm: each bucket is one
+ * {@link AtomicLong} holding the time at which it will be full again, advanced by one emission
+ * interval per admitted request with a compare-and-set, so admission takes no lock. A request is
+ * admitted while that time is at most {@code burst} intervals ahead of now.
+ * <p>
+ * Buckets that are full again carry no state and are the first dropped when the map reaches
+ * {@code maxClients}.
+ */
+public class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final BoundedCache<String, AtomicLong> buckets;
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxClients) {
+        this.intervalNanos = (long) (1_000_000_000 / ratePerSecond);
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = new BoundedCache<>(maxClients, bucket -> bucket.get() <= System.nanoTime());
+    }
+
+    /**
+     * Takes a token for {@code client} at {@code nowNanos}. Returns 0 when admitted, otherwise how
+     * many nanoseconds until the next token.
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        AtomicLong bucket = buckets.computeIfAbsent(client, c -> new AtomicLong(nowNanos));
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int getClients() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.novus.backend.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.common.response.ApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Load shedding on the public GET routes ({@code novus.load-shedding.enabled}, on by default), see
+ * {@link LoadSheddingFilter}. A {@code client-rate} of 0 turns off the per-client buckets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "novus.load-shedding.enabled", matchIfMissing = true)
+public class LoadSheddingConfig {
+
+    @Bean
+    FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${novus.load-shedding.paths:/api/v1/quotes/**,/api/v1/content/**,/api/v1/search/**,/api/v1/sync/**,/api/v1/recommendations/**,/api/v1/popularity/**}") List<String> paths,
+            @Value("${novus.load-shedding.initial-limit:20}") int initialLimit,
+            @Value("${novus.load-shedding.min-limit:4}") int minLimit,
+            @Value("${novus.load-shedding.max-limit:200}") int maxLimit,
+            @Value("${novus.load-shedding.latency-tolerance:1.5}") double latencyTolerance,
+            @Value("${novus.load-shedding.max-routes:100}") int maxRoutes,
+            @Value("${novus.load-shedding.client-rate:20}") double clientRate,
+            @Value("${novus.load-shedding.client-burst:40}") int clientBurst,
+            @Value("${novus.load-shedding.max-clients:100000}") int maxClients,
+            @Value("${novus.load-shedding.retry-after:PT1S}") Duration retryAfter) throws JsonProcessingException {
+        List<PathPattern> patterns = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        ClientRateLimiter rateLimiter = clientRate > 0 ? new ClientRateLimiter(clientRate, clientBurst, maxClients) : null;
+        LoadSheddingFilter filter = new LoadSheddingFilter(patterns, rateLimiter,
+                () -> new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTolerance),
+                maxRoutes, Math.max(1, retryAfter.toSeconds()),
+                body(objectMapper, "Too many requests, slow down"),
+                body(objectMapper, "Service is busy, try again shortly"),
+                meterRegistry);
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        // Right after request accounting and ahead of the security chain, so shed requests skip token checks
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    private static byte[] body(ObjectMapper objectMapper, String message) throws JsonProcessingException {
+        ApiResponse<Void> response = ApiResponse.error(message);
+        response.setTimestamp(null);
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,166 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for the public GET routes, ahead of authentication and everything else.
+ * <p>
+ * A request first takes a token from its client's bucket ({@link ClientRateLimiter}, keyed by
+ * remote address) and is answered 429 when there is none, then a permit from its route's
+ * {@link AdaptiveConcurrencyLimit} and is answered 503 when the route is at its limit. Both are
+ * rejected at once with {@code Retry-After} and a pre-serialized body, so under a spike the excess
+ * costs next to nothing while admitted requests keep their latency, instead of every request
+ * queueing for a connection until it times out.
+ * <p>
+ * Routes are the request path with numeric and UUID segments replaced by {@code {id}}; past
+ * {@code maxRoutes} distinct routes the rest share one limit per configured path pattern. The
+ * permit is held until the filter chain returns, which for streamed responses is when the stream
+ * has been handed to the async executor.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final List<PathPattern> patterns;
+    private final ClientRateLimiter rateLimiter;
+    private final Supplier<AdaptiveConcurrencyLimit> limitFactory;
+    private final int maxRoutes;
+    private final long retryAfterSeconds;
+    private final byte[] tooManyRequestsBody;
+    private final byte[] overloadedBody;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+
+    /**
+     * {@code rateLimiter} may be null to admit every client.
+     */
+    public LoadSheddingFilter(List<PathPattern> patterns, ClientRateLimiter rateLimiter,
+                              Supplier<AdaptiveConcurrencyLimit> limitFactory, int maxRoutes, long retryAfterSeconds,
+                              byte[] tooManyRequestsBody, byte[] overloadedBody, MeterRegistry meterRegistry) {
+        this.patterns = patterns;
+        this.rateLimiter = rateLimiter;
+        this.limitFactory = limitFactory;
+        this.maxRoutes = maxRoutes;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.tooManyRequestsBody = tooManyRequestsBody;
+        this.overloadedBody = overloadedBody;
+        this.meterRegistry = meterRegistry;
+        if (rateLimiter != null) {
+            Gauge.builder("novus.load-shedding.clients", rateLimiter, ClientRateLimiter::getClients)
+                    .description("Clients with a rate limit bucket").register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || pattern(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        if (rateLimiter != null) {
+            long waitNanos = rateLimiter.tryAcquire(request.getRemoteAddr(), start);
+            if (waitNanos > 0) {
+                long retryAfter = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, tooManyRequestsBody, "rate", null);
+                return;
+            }
+        }
+        String route = route(request.getRequestURI());
+        AdaptiveConcurrencyLimit limit = limit(route, request);
+        if (!limit.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds, overloadedBody, "concurrency", route);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limit(String route, HttpServletRequest request) {
+        AdaptiveConcurrencyLimit limit = limits.get(route);
+        if (limit != null) {
+            return limit;
+        }
+        String key = limits.size() < maxRoutes ? route : pattern(request).getPatternString();
+        return limits.computeIfAbsent(key, this::newLimit);
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String route) {
+        AdaptiveConcurrencyLimit limit = limitFactory.get();
+        Gauge.builder("novus.load-shedding.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current concurrency limit of the route").tag("route", route).register(meterRegistry);
+        Gauge.builder("novus.load-shedding.inflight", limit, AdaptiveConcurrencyLimit::getInflight)
+                .description("Admitted requests in progress on the route").tag("route", route).register(meterRegistry);
+        return limit;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfter, byte[] body,
+                        String reason, String route) throws IOException {
+        Counter.builder("novus.load-shedding.rejected")
+                .description("Requests rejected by load shedding")
+                .tag("reason", reason)
+                .tag("route", route == null ? "ANY" : route)
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private PathPattern pattern(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
+    static String route(String uri) {
+        StringBuilder route = new StringBuilder(uri.length());
+        for (String segment : uri.split("/")) {
+            if (!segment.isEmpty()) {
+                route.append('/').append(isId(segment) ? "{id}" : segment);
+            }
+        }
+        return route.isEmpty() ? "/" : route.toString();
+    }
+
+    private static boolean isId(String segment) {
+        if (segment.length() == 36 && segment.charAt(8) == '-' && segment.charAt(13) == '-') {
+            return true;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.novus.backend.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway migrations (classpath:db/migration/{vendor}) hold what Hibernate's {@code ddl-auto=update}
+ * cannot express, such as functions and triggers. Hibernate still owns the tables, so migrations
+ * run once every singleton (and with it the schema update) is ready instead of before JPA starts,
+ * which is Boot's default. Existing databases are baselined at version 0.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    FlywayMigrationStrategy deferredFlywayMigration() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    SmartInitializingSingleton flywayMigration(ObjectProvider<Flyway> flyway) {
+        return () -> flyway.ifAvailable(Flyway::migrate);
+    }
+}
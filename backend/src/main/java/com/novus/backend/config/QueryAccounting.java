@@ -0,0 +1,157 @@
+package com.novus.backend.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements issued on the current thread while a {@link Scope} is open.
+ * {@link QueryAccountingFilter} opens one per HTTP request; tests can open their own around a call
+ * to pin its query count:
+ *
+ * <pre>
+ * try (QueryAccounting.Scope scope = QueryAccounting.open()) {
+ *     mockMvc.perform(get("/api/v1/quotes/random"));
+ *     assertThat(scope.stats().statements()).isEqualTo(1);
+ * }
+ * </pre>
+ *
+ * Scopes nest, and a statement counts towards every open scope on the thread. Work handed to other
+ * threads (async or streaming responses) is not attributed to the request that started it.
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final int MAX_CACHED_FINGERPRINTS = 4096;
+    private static final Map<String, String> FINGERPRINTS = new ConcurrentHashMap<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    private QueryAccounting() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    static void record(String sql, long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        for (; scope != null; scope = scope.parent) {
+            scope.add(fingerprint, nanos);
+        }
+    }
+
+    /**
+     * Shape of a statement without its values: literals become {@code ?}, parameter lists collapse to
+     * {@code (?+)} and whitespace is normalised, so the same query with different arguments or IN-list
+     * sizes maps to one fingerprint.
+     */
+    static String fingerprint(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String cached = FINGERPRINTS.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = computeFingerprint(sql);
+        if (FINGERPRINTS.size() < MAX_CACHED_FINGERPRINTS) {
+            FINGERPRINTS.put(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private static String computeFingerprint(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // String literal, '' is an escaped quote
+                i++;
+                while (i < n && !(sql.charAt(i) == '\'' && (i + 1 >= n || sql.charAt(i + 1) != '\''))) {
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                out.append('?');
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                while (i + 1 < n && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+            }
+        }
+        String normalised = WHITESPACE.matcher(out).replaceAll(" ").trim();
+        return PARAMETER_LIST.matcher(normalised).replaceAll("(?+)");
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, int[]> counts = new HashMap<>();
+        private int statements;
+        private long nanos;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String fingerprint, long elapsed) {
+            statements++;
+            nanos += elapsed;
+            counts.computeIfAbsent(fingerprint, f -> new int[1])[0]++;
+        }
+
+        public QueryStats stats() {
+            Map<String, Integer> byFingerprint = new HashMap<>(counts.size() * 2);
+            counts.forEach((fingerprint, count) -> byFingerprint.put(fingerprint, count[0]));
+            return new QueryStats(statements, nanos, Collections.unmodifiableMap(byFingerprint));
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+
+    public record QueryStats(int statements, long nanos, Map<String, Integer> byFingerprint) {
+
+        /**
+         * The fingerprint executed most often, or {@code null} when nothing ran.
+         */
+        public Map.Entry<String, Integer> mostRepeated() {
+            return byFingerprint.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        public int count(String fingerprintFragment) {
+            return byFingerprint.entrySet().stream()
+                    .filter(entry -> entry.getKey().contains(fingerprintFragment))
+                    .mapToInt(Map.Entry::getValue)
+                    .sum();
+        }
+    }
+}
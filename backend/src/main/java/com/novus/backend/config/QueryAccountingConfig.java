@@ -0,0 +1,49 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Per-request SQL accounting, on by default ({@code novus.db.accounting.enabled}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "novus.db.accounting.enabled", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    @Bean
+    static BeanPostProcessor statementAccountingPostProcessor(Environment environment) {
+        Duration slowThreshold = environment.getProperty("novus.db.slow-query-threshold", Duration.class,
+                Duration.ofMillis(200));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementAccountingDataSource)) {
+                    return new StatementAccountingDataSource(dataSource, slowThreshold);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<QueryAccountingFilter> queryAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${novus.db.query-budget:10}") int budget,
+            @Value("${novus.db.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryAccountingFilter> registration =
+                new FilterRegistrationBean<>(new QueryAccountingFilter(meterRegistry, budget, repeatThreshold));
+        // Outside the security chain, so token-to-user lookups count towards the request too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
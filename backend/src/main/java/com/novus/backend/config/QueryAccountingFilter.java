@@ -0,0 +1,90 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link QueryAccounting} scope per request and publishes statements and DB time per route
+ * ({@code novus.db.statements}, {@code novus.db.time}). Requests that issue more than
+ * {@code budget} statements, or run the same statement shape {@code repeatThreshold} times or more
+ * (the N+1 pattern), are counted in {@code novus.db.flagged} and logged with their heaviest
+ * fingerprint.
+ */
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryAccountingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final int repeatThreshold;
+
+    public QueryAccountingFilter(MeterRegistry meterRegistry, int budget, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryAccounting.Scope scope = QueryAccounting.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            report(request, scope.stats());
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryAccounting.QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("novus.db.statements")
+                .description("SQL statements issued per request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.statements());
+        if (stats.statements() == 0) {
+            return;
+        }
+        Timer.builder("novus.db.time")
+                .description("Time spent executing SQL per request")
+                .tag("uri", route)
+                .register(meterRegistry)
+                .record(stats.nanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> mostRepeated = stats.mostRepeated();
+        if (mostRepeated.getValue() >= repeatThreshold) {
+            flag(route, "repeated");
+            logger.warn("REPEATED_QUERY route={} method={} count={} statements={} fingerprint=\"{}\"", route,
+                    request.getMethod(), mostRepeated.getValue(), stats.statements(), mostRepeated.getKey());
+        } else if (stats.statements() > budget) {
+            flag(route, "budget");
+            logger.warn("QUERY_BUDGET_EXCEEDED route={} method={} statements={} budget={} dbTimeMs={} top=\"{}\"", route,
+                    request.getMethod(), stats.statements(), budget, stats.nanos() / 1_000_000, mostRepeated.getKey());
+        }
+    }
+
+    private void flag(String route, String reason) {
+        Counter.builder("novus.db.flagged")
+                .description("Requests over the query budget or repeating a statement shape")
+                .tag("uri", route)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,175 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * A connection goes to the replica only when it is taken inside {@link #read} with the replica
+ * allowed, in a read-only transaction, and while the replica is usable: its lag, measured with
+ * {@code lagQuery} every {@code novus.datasource.replica.lag-check-interval}, is within
+ * {@code maxLag} and it accepted the last connection attempt. Reads fall back to the primary
+ * otherwise. Connections are handed out lazily, since JPA takes its connection before the
+ * transaction is flagged read-only; the route is decided on the first statement.
+ */
+@Slf4j
+public class ReplicaRouting implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final DataSource dataSource;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaRouting(DataSource primary, DataSource replica, String lagQuery, Duration maxLag,
+                          MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toNanos() / 1e9;
+        RoutingDataSource routing = new RoutingDataSource();
+        routing.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        this.dataSource = new LazyConnectionDataSourceProxy(routing);
+        this.primaryConnections = connections(meterRegistry, Route.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Route.REPLICA);
+        Gauge.builder("novus.datasource.replica.lag", this, ReplicaRouting::getLagSeconds)
+                .description("Replication lag of the read replica at the last check")
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("novus.datasource.replica.usable", this, replicaRouting -> replicaRouting.isReplicaUsable() ? 1 : 0)
+                .description("Whether read-only transactions are sent to the replica").register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code read} with read-only transactions allowed on the replica, or pinned to the primary
+     * when {@code replicaAllowed} is false. A nested call can pin to the primary but not undo a pin.
+     */
+    public static <T> T read(boolean replicaAllowed, Supplier<T> read) {
+        Boolean outer = REPLICA_ALLOWED.get();
+        REPLICA_ALLOWED.set(replicaAllowed && (outer == null || outer));
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                REPLICA_ALLOWED.remove();
+            } else {
+                REPLICA_ALLOWED.set(outer);
+            }
+        }
+    }
+
+    /**
+     * The routing data source, to be exposed as the application's data source.
+     */
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${novus.datasource.replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        double lag;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            // No row or NULL: nothing left to replay
+            lag = result.next() ? result.getDouble(1) : 0;
+        } catch (SQLException | RuntimeException e) {
+            lagSeconds = Double.NaN;
+            setReplicaUsable(false, "lag check failed: " + e.getMessage());
+            return;
+        }
+        lagSeconds = lag;
+        setReplicaUsable(lag <= maxLagSeconds, "lag " + lag + " s");
+    }
+
+    @Override
+    public void close() throws Exception {
+        // The pools may sit behind wrappers such as JDBC admission
+        for (DataSource pool : new DataSource[]{replica, primary}) {
+            if (pool.isWrapperFor(AutoCloseable.class)) {
+                pool.unwrap(AutoCloseable.class).close();
+            }
+        }
+    }
+
+    private void setReplicaUsable(boolean usable, String reason) {
+        if (replicaUsable != usable) {
+            replicaUsable = usable;
+            if (usable) {
+                log.info("Read replica is usable ({})", reason);
+            } else {
+                log.warn("Read replica is not usable, reading from the primary ({})", reason);
+            }
+        }
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Route route) {
+        return Counter.builder("novus.datasource.connections")
+                .description("Connections handed out per routing target")
+                .tag("target", route.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final class RoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return replicaUsable
+                    && Boolean.TRUE.equals(REPLICA_ALLOWED.get())
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? Route.REPLICA : Route.PRIMARY;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (determineCurrentLookupKey() == Route.REPLICA) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaConnections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // Until the next lag check says otherwise
+                    setReplicaUsable(false, "connection failed: " + e.getMessage());
+                }
+            }
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+}
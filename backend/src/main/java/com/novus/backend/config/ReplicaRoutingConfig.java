@@ -0,0 +1,83 @@
+package com.novus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica routing, on when {@code novus.datasource.replica.url} is set, see
+ * {@link ReplicaRouting}. The replica pool takes the primary's {@code spring.datasource.hikari}
+ * settings, overridden by {@code novus.datasource.replica.hikari}; which reads may go to the
+ * replica is decided by {@code ReplicaReads}. With virtual threads each pool gets its own JDBC
+ * admission (see {@link ThreadingConfig}), sized from that pool; {@code novus.jdbc.admission.permits}
+ * and {@code novus.datasource.replica.admission-permits} override the two sizes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "novus.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Seconds since the last replayed transaction on a standby that is behind, 0 on one that has
+     * caught up (an idle primary is not lag) and NULL on a server that is not a standby.
+     */
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    @Bean
+    ReplicaRouting replicaRouting(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${novus.datasource.replica.url}") String url,
+            @Value("${novus.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${novus.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${novus.datasource.replica.max-lag:PT1S}") Duration maxLag,
+            @Value("${novus.datasource.replica.lag-query:" + POSTGRES_LAG_QUERY + "}") String lagQuery) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("novus.datasource.replica.hikari", Bindable.ofInstance(replica));
+        primary.setPoolName("primary");
+        replica.setPoolName("replica");
+        // The pools are not beans of their own, so they are not picked up by the pool metrics
+        primary.setMetricRegistry(meterRegistry);
+        replica.setMetricRegistry(meterRegistry);
+        if (!ThreadingConfig.admissionEnabled(environment)) {
+            return new ReplicaRouting(primary, replica, lagQuery, maxLag, meterRegistry);
+        }
+        // One semaphore per pool: a single one in front of the router would cap both at one size
+        AdmissionControlledDataSource primaryAdmission =
+                ThreadingConfig.admit(environment, primary, primary, "novus.jdbc.admission.permits");
+        AdmissionControlledDataSource replicaAdmission =
+                ThreadingConfig.admit(environment, replica, replica, "novus.datasource.replica.admission-permits");
+        ThreadingConfig.bindAdmissionMetrics(meterRegistry, "primary", primaryAdmission);
+        ThreadingConfig.bindAdmissionMetrics(meterRegistry, "replica", replicaAdmission);
+        return new ReplicaRouting(primaryAdmission, replicaAdmission, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRouting replicaRouting) {
+        return replicaRouting.getDataSource();
+    }
+}
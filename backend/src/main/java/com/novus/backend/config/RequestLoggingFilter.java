@@ -4,33 +4,71 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Per-request access log. Latency and status of every request are already recorded as metrics
+ * ({@code http.server.requests}), so by default only slow requests and server errors are logged;
+ * {@code sampled} adds a random fraction of the rest and {@code all} restores a line per request.
+ * The logger writes through an async appender (logback-spring.xml), so logging never blocks the
+ * request thread on I/O.
+ */
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
 
+    public enum Mode { OFF, SLOW, SAMPLED, ALL }
+
+    private final Mode mode;
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    public RequestLoggingFilter(@Value("${novus.request-log.mode:SLOW}") Mode mode,
+                                @Value("${novus.request-log.slow-threshold:PT1S}") Duration slowThreshold,
+                                @Value("${novus.request-log.sample-rate:0.01}") double sampleRate) {
+        this.mode = mode;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        long startTime = System.currentTimeMillis();
+        if (mode == Mode.OFF) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long startTime = System.nanoTime();
         try {
             filterChain.doFilter(request, response);
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
-            
-            logger.info("METHOD={} URI={} STATUS={} DURATION={}ms", 
-                request.getMethod(), 
-                request.getRequestURI(), 
-                response.getStatus(), 
-                duration);
+            long duration = System.nanoTime() - startTime;
+            if (shouldLog(duration, response.getStatus())) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                logger.info("METHOD={} URI={} ROUTE={} STATUS={} DURATION={}ms",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    route,
+                    response.getStatus(),
+                    duration / 1_000_000);
+            }
+        }
+    }
+
+    private boolean shouldLog(long durationNanos, int status) {
+        if (mode == Mode.ALL || status >= 500 || durationNanos >= slowThresholdNanos) {
+            return true;
         }
+        return mode == Mode.SAMPLED && ThreadLocalRandom.current().nextDouble() < sampleRate;
     }
 }
@@ -1,6 +1,10 @@
 package com.novus.backend.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -11,9 +15,14 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -37,7 +46,7 @@ public class SecurityConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http, MeterRegistry meterRegistry) throws Exception {
         http
             .securityMatcher("/api/**", "/v1/**")
             .authorizeHttpRequests(auth -> auth
@@ -45,24 +54,70 @@ public class SecurityConfig {
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/quotes/**").permitAll()
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/content/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/search/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/sync/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/recommendations/**").permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/popularity/**").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter(meterRegistry)))
             )
             .csrf(AbstractHttpConfigurer::disable);
         return http.build();
     }
 
-    private org.springframework.core.convert.converter.Converter<org.springframework.security.oauth2.jwt.Jwt, org.springframework.security.authentication.AbstractAuthenticationToken> jwtAuthenticationConverter() {
+    @Bean
+    @Order(3)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher(EndpointRequest.toAnyEndpoint())
+            .authorizeHttpRequests(auth -> auth
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .anyRequest().hasRole("ADMIN")
+            )
+            .httpBasic(Customizer.withDefaults())
+            .csrf(AbstractHttpConfigurer::disable);
+        return http.build();
+    }
+
+    private org.springframework.core.convert.converter.Converter<org.springframework.security.oauth2.jwt.Jwt, org.springframework.security.authentication.AbstractAuthenticationToken> jwtAuthenticationConverter(MeterRegistry meterRegistry) {
         org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter converter = new org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(new KeycloakRealmRoleConverter());
+        converter.setJwtGrantedAuthoritiesConverter(new KeycloakRealmRoleConverter(meterRegistry));
         return converter;
     }
 
+    /**
+     * Verifies tokens against the issuer's JWKS (resolved lazily on first use, like Boot's default
+     * decoder) and caches the verified result until the token expires.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder(
+            @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+            @Value("${novus.security.jwt-cache.max-entries:10000}") int maxEntries,
+            @Value("${novus.security.jwt-cache.max-ttl:PT5M}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        JwtDecoder verifying = new SupplierJwtDecoder(() -> JwtDecoders.fromIssuerLocation(issuerUri));
+        return new CachingJwtDecoder(verifying, maxEntries, maxTtl, meterRegistry);
+    }
+
     // Inner class for converting Keycloak roles
+    // Tokens of the same user carry the same role list, so the converted authorities are interned per
+    // distinct role list and shared between requests instead of being rebuilt every time.
     static class KeycloakRealmRoleConverter implements org.springframework.core.convert.converter.Converter<org.springframework.security.oauth2.jwt.Jwt, java.util.Collection<org.springframework.security.core.GrantedAuthority>> {
+
+        static final int MAX_INTERNED_ROLE_SETS = 1024;
+
+        private final java.util.Map<java.util.List<String>, java.util.List<org.springframework.security.core.GrantedAuthority>> interned = new java.util.concurrent.ConcurrentHashMap<>();
+        private final Counter hits;
+        private final Counter misses;
+
+        KeycloakRealmRoleConverter(MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("novus.jwt.authorities.requests").tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder("novus.jwt.authorities.requests").tag("result", "miss").register(meterRegistry);
+        }
+
         @Override
         public java.util.Collection<org.springframework.security.core.GrantedAuthority> convert(org.springframework.security.oauth2.jwt.Jwt jwt) {
             final java.util.Map<String, Object> realmAccess = (java.util.Map<String, Object>) jwt.getClaims().get("realm_access");
@@ -76,11 +131,21 @@ public class SecurityConfig {
             }
             @SuppressWarnings("unchecked")
             java.util.List<String> roles = (java.util.List<String>) rolesObj;
-            
-            return roles.stream()
+
+            java.util.List<org.springframework.security.core.GrantedAuthority> authorities = interned.get(roles);
+            if (authorities != null) {
+                hits.increment();
+                return authorities;
+            }
+            misses.increment();
+            authorities = roles.stream()
                 .map(roleName -> "ROLE_" + roleName.toUpperCase()) // Prefix with ROLE_
                 .map(org.springframework.security.core.authority.SimpleGrantedAuthority::new)
-                .collect(java.util.stream.Collectors.toList());
+                .collect(java.util.stream.Collectors.toUnmodifiableList());
+            if (interned.size() < MAX_INTERNED_ROLE_SETS) {
+                interned.putIfAbsent(java.util.List.copyOf(roles), authorities);
+            }
+            return authorities;
         }
     }
 
@@ -0,0 +1,117 @@
+package com.novus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true}
+ * ({@code NOVUS_VIRTUAL_THREADS}). Spring Boot then runs Tomcat request handling, the async
+ * executor used by streaming responses and the scheduler on virtual threads. On top of that this
+ * bounds JDBC admission to each pool's size and watches for carrier pinning. With a read replica
+ * configured the two pools are admitted separately by {@link ReplicaRoutingConfig}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadingConfig {
+
+    static final String PRIMARY_DATA_SOURCE = "dataSource";
+    static final String REPLICA_URL = "novus.datasource.replica.url";
+
+    // What Hikari falls back to when maximumPoolSize is left unset; it only resolves it when the pool starts
+    static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Wraps the primary {@code dataSource} bean when it is backed by a Hikari pool, see
+     * {@link #admit}. Other DataSource beans are left alone, and so is the routing data source of a
+     * replica setup, whose pools are admitted one by one instead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "novus.jdbc.admission.enabled", matchIfMissing = true)
+    static BeanPostProcessor jdbcAdmissionPostProcessor(Environment environment) {
+        boolean routed = environment.containsProperty(REPLICA_URL);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!routed && bean instanceof DataSource dataSource && beanName.equals(PRIMARY_DATA_SOURCE)
+                        && unwrap(dataSource, AdmissionControlledDataSource.class) == null) {
+                    HikariDataSource pool = unwrap(dataSource, HikariDataSource.class);
+                    if (pool != null) {
+                        return admit(environment, dataSource, pool, "novus.jdbc.admission.permits");
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder jdbcAdmissionMetrics(DataSource dataSource, Environment environment) {
+        return registry -> {
+            AdmissionControlledDataSource admission = unwrap(dataSource, AdmissionControlledDataSource.class);
+            if (admission != null && !environment.containsProperty(REPLICA_URL)) {
+                bindAdmissionMetrics(registry, "primary", admission);
+            }
+        };
+    }
+
+    /**
+     * Whether JDBC borrowers are admitted through {@link AdmissionControlledDataSource}: with
+     * virtual threads, unless {@code novus.jdbc.admission.enabled=false}.
+     */
+    static boolean admissionEnabled(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment)
+                && environment.getProperty("novus.jdbc.admission.enabled", Boolean.class, true);
+    }
+
+    /**
+     * Admission in front of {@code dataSource}, with as many permits as {@code pool} has
+     * connections unless {@code permitsProperty} says otherwise, and
+     * {@code novus.jdbc.admission.timeout} to wait for one. Fewer permits gained no throughput in
+     * the benchmark and more only queued borrowers inside Hikari, see "Thread modes"
+     * in {@code benchmarks/README.md}.
+     */
+    static AdmissionControlledDataSource admit(Environment environment, DataSource dataSource, HikariDataSource pool,
+                                               String permitsProperty) {
+        int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        int permits = environment.getProperty(permitsProperty, Integer.class, poolSize);
+        Duration timeout = environment.getProperty("novus.jdbc.admission.timeout", Duration.class, Duration.ofSeconds(5));
+        return new AdmissionControlledDataSource(dataSource, permits, timeout);
+    }
+
+    static void bindAdmissionMetrics(MeterRegistry registry, String pool, AdmissionControlledDataSource admission) {
+        Gauge.builder("novus.jdbc.admission.active", admission, AdmissionControlledDataSource::getActivePermits)
+                .tag("pool", pool).register(registry);
+        Gauge.builder("novus.jdbc.admission.queued", admission, AdmissionControlledDataSource::getQueueLength)
+                .tag("pool", pool).register(registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "novus.threads.pinning-monitor.enabled", matchIfMissing = true)
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${novus.threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.novus.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${novus.http.cache.content-max-age:PT1M}")
+    private Duration contentMaxAge;
+
+    @Value("${novus.http.cache.daily-max-age:PT5M}")
+    private Duration dailyMaxAge;
+
+    /**
+     * Cache-Control per public route. One interceptor per policy, with the specific quote routes
+     * excluded from the catch-all: a single WebContentInterceptor does not match its mappings in
+     * any defined order. The unfiltered {@code /api/v1/quotes} (random quotes) shares its path with
+     * the listings and sets its own header. Content and quote listings also carry validators (see
+     * ConditionalGet), so clients revalidate cheaply once max-age runs out.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(cacheControl(CacheControl.noStore()))
+                .addPathPatterns("/api/v1/quotes/random");
+        registry.addInterceptor(cacheControl(CacheControl.maxAge(dailyMaxAge).cachePrivate()))
+                .addPathPatterns("/api/v1/quotes/daily");
+        registry.addInterceptor(cacheControl(CacheControl.maxAge(contentMaxAge).cachePublic()))
+                .addPathPatterns("/api/v1/quotes/**", "/api/v1/content/**", "/api/v1/search/**")
+                .excludePathPatterns("/api/v1/quotes/random", "/api/v1/quotes/daily");
+    }
+
+    private static WebContentInterceptor cacheControl(CacheControl cacheControl) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(cacheControl, "/**");
+        return interceptor;
+    }
+
+    /**
+     * CBOR for clients that send {@code Accept: application/cbor}. Built from Boot's builder so it
+     * shares the JSON mapper's modules and settings (ISO dates, same property names).
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,53 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+
+/**
+ * OpenAPI schemas for the handlers that return {@link ResponseBodyCache} bytes, so the generated
+ * document still describes the envelope those bytes hold. Never instantiated.
+ */
+final class CachedResponses {
+
+    private CachedResponses() {
+    }
+
+    abstract static class QuoteResponse extends ApiResponse<QuoteView> {
+        private QuoteResponse() {
+            super(true, null, null);
+        }
+    }
+
+    abstract static class QuotePageResponse extends ApiResponse<CursorPage<QuoteView>> {
+        private QuotePageResponse() {
+            super(true, null, null);
+        }
+    }
+
+    abstract static class BookResponse extends ApiResponse<BookView> {
+        private BookResponse() {
+            super(true, null, null);
+        }
+    }
+
+    abstract static class BookPageResponse extends ApiResponse<CursorPage<BookView>> {
+        private BookPageResponse() {
+            super(true, null, null);
+        }
+    }
+
+    abstract static class MovieResponse extends ApiResponse<MovieView> {
+        private MovieResponse() {
+            super(true, null, null);
+        }
+    }
+
+    abstract static class MoviePageResponse extends ApiResponse<CursorPage<MovieView>> {
+        private MoviePageResponse() {
+            super(true, null, null);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.service.ContentVersionService.ContentVersion;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Answers If-None-Match / If-Modified-Since, for lists from the in-memory table version and for
+ * single items from the item's own {@code updatedAt}, so an edit to one item does not invalidate
+ * the validators of every other item of its type. When this returns
+ * {@code true} the response is already a 304 and the handler should return {@code null}. The 304
+ * carries the same {@code Vary} as the 200 from {@link ResponseBodyCache}, so caches keep the
+ * JSON, CBOR and gzipped variants apart when they revalidate.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static boolean notModified(WebRequest request, ContentVersion version, String scope) {
+        return notModified(request, version.etag(scope), version.lastModifiedMillis());
+    }
+
+    static boolean notModified(WebRequest request, ItemType type, Long id, LocalDateTime updatedAt) {
+        long lastModified = updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return notModified(request, "W/\"" + type.name().toLowerCase() + "-" + id + "-" + lastModified + "\"", lastModified);
+    }
+
+    private static boolean notModified(WebRequest request, String etag, long lastModified) {
+        if (!request.checkNotModified(etag, lastModified)) {
+            return false;
+        }
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse(HttpServletResponse.class) instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        }
+        return true;
+    }
+}
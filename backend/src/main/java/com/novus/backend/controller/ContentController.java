@@ -1,15 +1,24 @@
 package com.novus.backend.controller;
 
-import com.novus.backend.common.response.ApiResponse;
-import com.novus.backend.domain.content.Book;
-import com.novus.backend.domain.content.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.common.response.NdjsonWriter;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieView;
 import com.novus.backend.service.ContentService;
+import com.novus.backend.service.ContentVersionService;
+import com.novus.backend.service.ContentVersionService.ContentVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/content")
@@ -18,35 +27,101 @@ import java.util.List;
 public class ContentController {
 
     private final ContentService contentService;
+    private final ContentVersionService contentVersionService;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/books")
-    @Operation(summary = "Get all books", description = "Fetches a list of all available books")
-    public ApiResponse<List<Book>> getBooks(@RequestParam(required = false) String author) {
-        if (author != null) {
-            return ApiResponse.success(contentService.getBooksByAuthor(author));
+    @Operation(summary = "List books", description = "Fetches a page of books ordered by id. Pass the returned nextCursor as cursor to get the next page.")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.BookPageResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.BookPageResponse.class))})
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<byte[]> getBooks(
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        ContentVersion version = contentVersionService.getVersion(ItemType.BOOK);
+        if (ConditionalGet.notModified(webRequest, version, "list")) {
+            return null;
         }
-        return ApiResponse.success(contentService.getAllBooks());
+        return responseBodyCache.serve(webRequest, version, "list|" + cursor + "|" + CursorPage.clampLimit(limit) + "|" + author, () -> author != null
+                ? contentService.getBooksByAuthor(author, cursor, limit)
+                : contentService.getBooks(cursor, limit));
+    }
+
+    @GetMapping(value = "/books/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream all books", description = "Streams every book as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (NdjsonWriter<BookView> writer = new NdjsonWriter<>(objectMapper, out)) {
+                        contentService.streamBooks(writer);
+                    }
+                });
     }
 
     @GetMapping("/books/{id}")
     @Operation(summary = "Get book by ID", description = "Fetches a specific book details")
-    public ApiResponse<Book> getBookById(@PathVariable Long id) {
-        return contentService.getBookById(id)
-                .map(ApiResponse::success)
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.BookResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.BookResponse.class))})
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<byte[]> getBookById(@PathVariable Long id, WebRequest webRequest) {
+        // From the catalog cache, so revalidating an item rarely reaches the database
+        BookView book = contentService.getBookById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found with id: " + id));
+        if (ConditionalGet.notModified(webRequest, ItemType.BOOK, id, book.updatedAt())) {
+            return null;
+        }
+        return responseBodyCache.serve(webRequest, ItemType.BOOK, book.updatedAt(), "id" + id, () -> book);
     }
 
     @GetMapping("/movies")
-    @Operation(summary = "Get all movies", description = "Fetches a list of all available movies")
-    public ApiResponse<List<Movie>> getMovies() {
-        return ApiResponse.success(contentService.getAllMovies());
+    @Operation(summary = "List movies", description = "Fetches a page of movies ordered by id. Pass the returned nextCursor as cursor to get the next page.")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.MoviePageResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.MoviePageResponse.class))})
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<byte[]> getMovies(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest) {
+        ContentVersion version = contentVersionService.getVersion(ItemType.MOVIE);
+        if (ConditionalGet.notModified(webRequest, version, "list")) {
+            return null;
+        }
+        return responseBodyCache.serve(webRequest, version, "list|" + cursor + "|" + CursorPage.clampLimit(limit),
+                () -> contentService.getMovies(cursor, limit));
+    }
+
+    @GetMapping(value = "/movies/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream all movies", description = "Streams every movie as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamMovies() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (NdjsonWriter<MovieView> writer = new NdjsonWriter<>(objectMapper, out)) {
+                        contentService.streamMovies(writer);
+                    }
+                });
     }
 
     @GetMapping("/movies/{id}")
     @Operation(summary = "Get movie by ID", description = "Fetches a specific movie details")
-    public ApiResponse<Movie> getMovieById(@PathVariable Long id) {
-        return contentService.getMovieById(id)
-                .map(ApiResponse::success)
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.MovieResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.MovieResponse.class))})
+    @ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<byte[]> getMovieById(@PathVariable Long id, WebRequest webRequest) {
+        // From the catalog cache, so revalidating an item rarely reaches the database
+        MovieView movie = contentService.getMovieById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
+        if (ConditionalGet.notModified(webRequest, ItemType.MOVIE, id, movie.updatedAt())) {
+            return null;
+        }
+        return responseBodyCache.serve(webRequest, ItemType.MOVIE, movie.updatedAt(), "id" + id, () -> movie);
     }
 }
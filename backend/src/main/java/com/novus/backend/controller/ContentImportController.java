@@ -0,0 +1,52 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.domain.content.ContentImportJob;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.service.ContentImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+@RequiredArgsConstructor
+@Tag(name = "Content import", description = "Bulk import of quotes, books and movies")
+public class ContentImportController {
+
+    static final String CSV = "text/csv";
+    static final String NDJSON = "application/x-ndjson";
+
+    private final ContentImportService contentImportService;
+
+    @PostMapping(value = "/{type}", consumes = {CSV, NDJSON})
+    @Operation(summary = "Import content", description = "Streams rows of QUOTE, BOOK or MOVIE from a CSV body (header row of field names) or NDJSON (one object per line). Invalid and duplicate rows are skipped and counted. If the import fails, send the same body again with resume=<jobId> to continue after the last committed row.")
+    public ApiResponse<ContentImportService.ImportReport> importContent(
+            @PathVariable String type,
+            @RequestParam(required = false) UUID resume,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
+        ContentImportJob.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ContentImportJob.Format.CSV : ContentImportJob.Format.NDJSON;
+        return ApiResponse.success(contentImportService.importContent(itemType, format, body, resume));
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get import progress", description = "Counters and throughput of an import, updated after every committed batch")
+    public ApiResponse<ContentImportService.ImportReport> getJob(@PathVariable UUID jobId) {
+        return ApiResponse.success(contentImportService.getJob(jobId));
+    }
+}
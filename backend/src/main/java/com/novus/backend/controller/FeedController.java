@@ -0,0 +1,38 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.service.FeedService;
+import com.novus.backend.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/feed")
+@RequiredArgsConstructor
+@Tag(name = "Feed", description = "Personalised quote feed")
+public class FeedController {
+
+    private final FeedService feedService;
+    private final UserService userService;
+
+    @GetMapping
+    @Operation(summary = "Get my feed", description = "Quotes ranked by the current user's interests and favorite categories, excluding favorited quotes. Pass nextCursor back as cursor for the following page.")
+    public ApiResponse<CursorPage<QuoteView>> getFeed(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "true") boolean includePremium,
+            @RequestParam(defaultValue = "true") boolean includeReligious) {
+        return ApiResponse.success(feedService.getFeed(userService.getUserByKeycloakId(jwt.getSubject()),
+                cursor, limit, includePremium, includeReligious));
+    }
+}
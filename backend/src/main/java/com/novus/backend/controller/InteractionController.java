@@ -1,8 +1,10 @@
 package com.novus.backend.controller;
 
 import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.FavoriteItem;
 import com.novus.backend.domain.interaction.UserFavorite;
-import com.novus.backend.domain.user.User;
+import com.novus.backend.readmodel.FavoriteView;
 import com.novus.backend.service.InteractionService;
 import com.novus.backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +15,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/favorites")
@@ -25,15 +28,16 @@ public class InteractionController {
 
     @PostMapping("/{type}/{id}")
     @Operation(summary = "Add Favorite", description = "Adds an item (QUOTE, BOOK, MOVIE) to favorites")
-    public ApiResponse<UserFavorite> addFavorite(
+    public ApiResponse<FavoriteItem> addFavorite(
             @AuthenticationPrincipal Jwt jwt,
             @PathVariable String type,
             @PathVariable Long id) {
         
-        User user = userService.getUserByKeycloakId(jwt.getSubject());
+        UUID userId = userService.getUserIdByKeycloakId(jwt.getSubject());
         UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
         
-        return ApiResponse.success(interactionService.addFavorite(user, itemType, id));
+        boolean added = interactionService.addFavorite(userId, itemType, id);
+        return ApiResponse.success(added ? "Favorite added" : "Already in favorites", new FavoriteItem(itemType, id));
     }
 
     @DeleteMapping("/{type}/{id}")
@@ -43,17 +47,36 @@ public class InteractionController {
             @PathVariable String type,
             @PathVariable Long id) {
         
-        User user = userService.getUserByKeycloakId(jwt.getSubject());
+        UUID userId = userService.getUserIdByKeycloakId(jwt.getSubject());
         UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
         
-        interactionService.removeFavorite(user, itemType, id);
-        return ApiResponse.success("Favorite removed successfully");
+        boolean removed = interactionService.removeFavorite(userId, itemType, id);
+        return ApiResponse.success(removed ? "Favorite removed successfully" : "Not in favorites");
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Apply Favorite Changes", description = "Applies a batch of ADD/REMOVE changes (e.g. queued offline) in one transaction. Later changes to the same item win.")
+    public ApiResponse<InteractionService.BatchResult> applyFavoriteChanges(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestBody List<InteractionService.FavoriteChange> changes) {
+        UUID userId = userService.getUserIdByKeycloakId(jwt.getSubject());
+        return ApiResponse.success(interactionService.applyFavoriteChanges(userId, changes));
+    }
+
+    @GetMapping("/hydrated")
+    @Operation(summary = "Get Hydrated Favorites", description = "Returns a page of the current user's favorites, newest first, with the favorited quote, book or movie inlined")
+    public ApiResponse<CursorPage<InteractionService.HydratedFavorite>> getHydratedFavorites(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        UUID userId = userService.getUserIdByKeycloakId(jwt.getSubject());
+        return ApiResponse.success(interactionService.getHydratedFavorites(userId, cursor, limit));
     }
 
     @GetMapping
     @Operation(summary = "Get Favorites", description = "Returns all favorites for the current user")
-    public ApiResponse<List<UserFavorite>> getFavorites(@AuthenticationPrincipal Jwt jwt) {
-        User user = userService.getUserByKeycloakId(jwt.getSubject());
-        return ApiResponse.success(interactionService.getUserFavorites(user));
+    public ApiResponse<List<FavoriteView>> getFavorites(@AuthenticationPrincipal Jwt jwt) {
+        UUID userId = userService.getUserIdByKeycloakId(jwt.getSubject());
+        return ApiResponse.success(interactionService.getUserFavorites(userId));
     }
 }
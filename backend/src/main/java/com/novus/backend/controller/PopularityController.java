@@ -0,0 +1,40 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.service.PopularityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/popularity")
+@RequiredArgsConstructor
+@Tag(name = "Popularity", description = "Favorite counts and trending content")
+public class PopularityController {
+
+    private final PopularityService popularityService;
+
+    @GetMapping("/trending/{type}")
+    @Operation(summary = "Trending", description = "Quotes, books or movies (QUOTE, BOOK, MOVIE) favorited most in the recent past, best first")
+    public ApiResponse<List<PopularityService.Trending>> trending(
+            @PathVariable String type,
+            @RequestParam(defaultValue = "20") int limit) {
+        UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
+        return ApiResponse.success(popularityService.trending(itemType, limit));
+    }
+
+    @GetMapping("/{type}/{id}")
+    @Operation(summary = "Popularity of an item", description = "How many users favorite the item and its trending score")
+    public ApiResponse<PopularityService.Popularity> getPopularity(@PathVariable String type, @PathVariable Long id) {
+        UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
+        return ApiResponse.success(popularityService.getPopularity(itemType, id));
+    }
+}
@@ -1,14 +1,33 @@
 package com.novus.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.novus.backend.common.response.ApiResponse;
-import com.novus.backend.domain.content.Quote;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.common.response.NdjsonWriter;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.service.ContentVersionService;
+import com.novus.backend.service.ContentVersionService.ContentVersion;
+import com.novus.backend.service.DailyQuoteService;
 import com.novus.backend.service.QuoteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -18,34 +37,95 @@ import java.util.List;
 public class QuoteController {
 
     private final QuoteService quoteService;
+    private final DailyQuoteService dailyQuoteService;
+    private final ContentVersionService contentVersionService;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/random")
-    @Operation(summary = "Get random quotes", description = "Fetches a specified number of random quotes")
-    public ApiResponse<List<Quote>> getRandomQuotes(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ApiResponse.success(quoteService.getRandomQuotes(limit));
+    @Operation(summary = "Get random quotes", description = "Fetches a specified number of random quotes, optionally filtered by category and premium/religious flags")
+    public ApiResponse<List<QuoteView>> getRandomQuotes(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "true") boolean includePremium,
+            @RequestParam(defaultValue = "true") boolean includeReligious) {
+        return ApiResponse.success(quoteService.getRandomQuotes(limit, category, includePremium, includeReligious));
+    }
+
+    @GetMapping("/daily")
+    @Operation(summary = "Get quote of the day", description = "Returns the precomputed quote of the day for the caller's timezone (zone id or UTC offset). Authenticated callers can ask for a personalized pick.")
+    public ApiResponse<DailyQuoteService.DailyQuote> getDailyQuote(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "Z") String tz,
+            @RequestParam(defaultValue = "true") boolean includeReligious,
+            @RequestParam(defaultValue = "false") boolean personalized) {
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(tz);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid timezone: " + tz);
+        }
+        String userKey = personalized && jwt != null ? jwt.getSubject() : null;
+        return ApiResponse.success(dailyQuoteService.getDailyQuote(category, zone, includeReligious, userKey));
     }
 
     @GetMapping
-    @Operation(summary = "Get quotes by category or author", description = "Filter quotes by category or author")
-    public ApiResponse<List<Quote>> getQuotes(
+    @Operation(summary = "Get quotes by category or author", description = "Filter quotes by category or author, one keyset page at a time. Without a filter, returns random quotes.")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.QuotePageResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.QuotePageResponse.class))})
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<?> getQuotes(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String author) {
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest,
+            HttpServletResponse response) {
         
-        if (category != null) {
-            return ApiResponse.success(quoteService.getQuotesByCategory(category));
+        if (category == null && author == null) {
+            // Replaces the listings' public max-age (see WebConfig); a random pick must not be shared
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            return ResponseEntity.ok(ApiResponse.success(new CursorPage<>(quoteService.getRandomQuotes(10), null, false)));
         }
-        if (author != null) {
-            return ApiResponse.success(quoteService.getQuotesByAuthor(author));
+        ContentVersion version = contentVersionService.getVersion(ItemType.QUOTE);
+        if (ConditionalGet.notModified(webRequest, version, "list")) {
+            return null;
         }
-        return ApiResponse.success(quoteService.getRandomQuotes(10));
+        if (category != null) {
+            return responseBodyCache.serve(webRequest, version, "category|" + cursor + "|" + CursorPage.clampLimit(limit) + "|" + category,
+                    () -> quoteService.getQuotesByCategory(category, cursor, limit));
+        }
+        return responseBodyCache.serve(webRequest, version, "author|" + cursor + "|" + CursorPage.clampLimit(limit) + "|" + author,
+                () -> quoteService.getQuotesByAuthor(author, cursor, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream quotes", description = "Streams every quote, optionally restricted to a category, as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamQuotes(@RequestParam(required = false) String category) {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(out -> {
+                    try (NdjsonWriter<QuoteView> writer = new NdjsonWriter<>(objectMapper, out)) {
+                        quoteService.streamQuotes(category, writer);
+                    }
+                });
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get quote by ID", description = "Fetches a single quote by its ID")
-    public ApiResponse<Quote> getQuoteById(@PathVariable Long id) {
-        return quoteService.getQuoteById(id)
-                .map(ApiResponse::success)
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/json", schema = @Schema(implementation = CachedResponses.QuoteResponse.class)),
+            @Content(mediaType = "application/cbor", schema = @Schema(implementation = CachedResponses.QuoteResponse.class))})
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified since the ETag or Last-Modified sent", content = @Content)
+    public ResponseEntity<byte[]> getQuoteById(@PathVariable Long id, WebRequest webRequest) {
+        // From the catalog cache, so revalidating an item rarely reaches the database
+        QuoteView quote = quoteService.getQuoteById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Quote not found with id: " + id));
+        if (ConditionalGet.notModified(webRequest, ItemType.QUOTE, id, quote.updatedAt())) {
+            return null;
+        }
+        return responseBodyCache.serve(webRequest, ItemType.QUOTE, quote.updatedAt(), "id" + id, () -> quote);
     }
 }
@@ -0,0 +1,36 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.service.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/recommendations")
+@RequiredArgsConstructor
+@Tag(name = "Recommendations", description = "Item-to-item recommendations from favorites")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    @GetMapping("/{type}/{id}")
+    @Operation(summary = "Also favorited", description = "Quotes, books and movies most often favorited by users who also favorited the given item (QUOTE, BOOK, MOVIE)")
+    public ApiResponse<List<RecommendationService.AlsoFavorited>> alsoFavorited(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(name = "only", required = false) Set<UserFavorite.ItemType> only,
+            @RequestParam(defaultValue = "10") int limit) {
+        UserFavorite.ItemType itemType = UserFavorite.ItemType.valueOf(type.toUpperCase());
+        return ApiResponse.success(recommendationService.alsoFavorited(itemType, id, only, limit));
+    }
+}
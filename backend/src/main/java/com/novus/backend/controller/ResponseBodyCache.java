@@ -0,0 +1,209 @@
+package com.novus.backend.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.common.cache.BoundedCache;
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.service.ContentChangedEvent;
+import com.novus.backend.service.ContentVersionService.ContentVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized bodies of content responses, keyed by route scope and format and valid for one
+ * {@link ContentVersion}. A body is encoded once per version (plus a gzipped copy when it is large
+ * enough to benefit) and afterwards written as raw bytes, skipping Jackson entirely. Cached bodies
+ * come from {@link ApiResponse#cacheable}, which leaves out the per-request timestamp so the bytes
+ * are the same for every caller.
+ * <p>
+ * A {@link ContentChangedEvent} drops every body of its type. Like the catalog cache underneath,
+ * each type carries a generation bumped by that event, and a freshly encoded body is only stored if
+ * the generation did not move while its data was read; otherwise rows read before the change
+ * could end up cached under the version that follows it.
+ * <p>
+ * The format follows the Accept header: CBOR when the client prefers {@code application/cbor},
+ * JSON otherwise.
+ */
+@Component
+class ResponseBodyCache {
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final boolean gzip;
+    private final int gzipMinSize;
+    private final BoundedCache<Key, Body> bodies;
+    private final Map<ItemType, AtomicLong> generations = new EnumMap<>(ItemType.class);
+    private final Counter hits;
+    private final Counter misses;
+
+    ResponseBodyCache(ObjectMapper objectMapper,
+                      MappingJackson2CborHttpMessageConverter cborConverter,
+                      MeterRegistry meterRegistry,
+                      @Value("${novus.http.body-cache.gzip:true}") boolean gzip,
+                      @Value("${novus.http.body-cache.gzip-min-size:1024}") int gzipMinSize,
+                      @Value("${novus.http.body-cache.max-entries:5000}") int maxEntries) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+        this.bodies = new BoundedCache<>(maxEntries);
+        this.hits = Counter.builder("novus.http.body-cache.requests").tag("result", "hit")
+                .description("Content responses written from pre-serialized bytes").register(meterRegistry);
+        this.misses = Counter.builder("novus.http.body-cache.requests").tag("result", "miss")
+                .description("Content responses that had to be serialized").register(meterRegistry);
+        Gauge.builder("novus.http.body-cache.size", bodies, BoundedCache::size).register(meterRegistry);
+        for (ItemType type : ItemType.values()) {
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached body for {@code scope} under {@code version}, serializing
+     * {@code ApiResponse.cacheable(data.get())} if there is none yet. Exceptions thrown by
+     * {@code data} propagate and nothing is cached.
+     */
+    ResponseEntity<byte[]> serve(WebRequest request, ContentVersion version, String scope, Supplier<?> data) {
+        return serve(request, version.type(), version, scope, data);
+    }
+
+    /**
+     * Like {@link #serve(WebRequest, ContentVersion, String, Supplier)} for a body that is valid for
+     * any other {@code version}, such as one item's {@code updatedAt}.
+     */
+    ResponseEntity<byte[]> serve(WebRequest request, ItemType type, Object version, String scope, Supplier<?> data) {
+        Format format = Format.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        Key key = new Key(type, scope, format);
+        Body body = bodies.get(key);
+        if (body != null && Objects.equals(body.version(), version)) {
+            hits.increment();
+        } else {
+            misses.increment();
+            AtomicLong generation = generations.get(type);
+            long readAt = generation.get();
+            body = encode(type, version, format, data.get());
+            bodies.put(key, body);
+            // Content changed while the data was read: serve what we have but do not keep it
+            if (generation.get() != readAt) {
+                bodies.remove(key, body);
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzipped() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzipped());
+        }
+        return response.body(body.raw());
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        generations.get(event.type()).incrementAndGet();
+        bodies.removeKeys(key -> key.type() == event.type());
+    }
+
+    private Body encode(ItemType type, Object version, Format format, Object data) {
+        byte[] raw;
+        try {
+            raw = (format == Format.CBOR ? cborMapper : jsonMapper).writeValueAsBytes(ApiResponse.cacheable(data));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " response", e);
+        }
+        return new Body(version, raw, gzip && raw.length >= gzipMinSize ? gzip(raw) : null);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR);
+
+        final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        /**
+         * The first of JSON and CBOR the Accept header allows, by quality; JSON when neither is
+         * listed or the header is missing or malformed.
+         */
+        static Format negotiate(String accept) {
+            if (accept == null || !accept.contains("cbor")) {
+                return JSON;
+            }
+            try {
+                List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+                // Highest quality first, concrete types before wildcards, header order otherwise
+                accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                        .thenComparing(MediaType::isWildcardType)
+                        .thenComparing(MediaType::isWildcardSubtype));
+                for (MediaType mediaType : accepted) {
+                    if (mediaType.getQualityValue() == 0) {
+                        continue;
+                    }
+                    if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                        return JSON;
+                    }
+                    if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                        return CBOR;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Fall through to the default
+            }
+            return JSON;
+        }
+    }
+
+    private record Key(ItemType type, String scope, Format format) {
+    }
+
+    private record Body(Object version, byte[] raw, byte[] gzipped) {
+    }
+}
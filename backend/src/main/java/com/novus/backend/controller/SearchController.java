@@ -0,0 +1,41 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search over quotes and books")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Search content", description = "Ranked substring search over quote content/authors and book titles/authors. Queries under three characters match word prefixes.")
+    public ApiResponse<List<SearchService.SearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<UserFavorite.ItemType> type,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ApiResponse.success(searchService.search(q, type, limit));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions", description = "Author names and book titles with a word starting with the given prefix")
+    public ApiResponse<List<String>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.success(searchService.suggest(q, limit));
+    }
+}
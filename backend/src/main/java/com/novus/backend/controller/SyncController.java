@@ -0,0 +1,30 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.common.response.ApiResponse;
+import com.novus.backend.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync for offline content caches")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    @Operation(summary = "Content changes since a sync token",
+            description = "Quotes, books and movies created or updated since the token, plus deleted items. "
+                    + "Omit the token for a full sync; follow nextToken while hasMore is true and store the last one.")
+    public ApiResponse<SyncService.SyncBatch> sync(
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "" + SyncService.DEFAULT_LIMIT) int limit) {
+        return ApiResponse.success(syncService.changes(token, limit));
+    }
+}
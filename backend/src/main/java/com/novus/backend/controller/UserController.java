@@ -1,7 +1,7 @@
 package com.novus.backend.controller;
 
 import com.novus.backend.common.response.ApiResponse;
-import com.novus.backend.domain.user.User;
+import com.novus.backend.readmodel.UserView;
 import com.novus.backend.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,7 +23,7 @@ public class UserController {
 
     @PostMapping("/sync")
     @Operation(summary = "Sync User", description = "Syncs the authenticated Keycloak user to the local database. Idempotent.")
-    public ApiResponse<User> syncUser(@AuthenticationPrincipal Jwt jwt) {
+    public ApiResponse<UserView> syncUser(@AuthenticationPrincipal Jwt jwt) {
         String keycloakId = jwt.getSubject();
         String email = jwt.getClaimAsString("email");
         String name = jwt.getClaimAsString("name"); // or preferred_username
@@ -33,16 +33,16 @@ public class UserController {
             name = jwt.getClaimAsString("preferred_username");
         }
 
-        User user = userService.syncUser(keycloakId, email, name);
+        UserView user = userService.syncUser(keycloakId, email, name);
         return ApiResponse.success(user);
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get My Profile", description = "Returns the profile of the currently authenticated user")
-    public ApiResponse<User> getMyProfile(@AuthenticationPrincipal Jwt jwt) {
+    public ApiResponse<UserView> getMyProfile(@AuthenticationPrincipal Jwt jwt) {
         String keycloakId = jwt.getSubject();
-        // We trigger a sync just in case, or we could just fetch
-        User user = userService.syncUser(keycloakId, jwt.getClaimAsString("email"), jwt.getClaimAsString("name"));
+        // Served from the identity cache; only syncs when the token's profile claims changed
+        UserView user = userService.getProfile(keycloakId, jwt.getClaimAsString("email"), jwt.getClaimAsString("name"));
         return ApiResponse.success(user);
     }
 }
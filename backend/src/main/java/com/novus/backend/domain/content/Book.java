@@ -6,7 +6,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_updated_at_id", columnList = "updated_at, id")
+})
 @Getter
 @Setter
 public class Book extends BaseEntity {
@@ -0,0 +1,67 @@
+package com.novus.backend.domain.content;
+
+import com.novus.backend.common.entity.BaseEntity;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk content import. The counters and {@code committedRows} are written in the
+ * same transaction as each batch of rows, so after a failure the import resumes exactly after the
+ * last committed row.
+ */
+@Entity
+@Table(name = "content_import_jobs")
+@Getter
+@Setter
+public class ContentImportJob extends BaseEntity {
+
+    public enum Format { CSV, NDJSON }
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private UUID id;
+
+    @Column(name = "item_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ItemType itemType;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Format format;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    // Input rows fully handled and committed; a resumed run skips this many
+    @Column(name = "committed_rows", nullable = false)
+    private long committedRows;
+
+    @Column(name = "rows_inserted", nullable = false)
+    private long rowsInserted;
+
+    @Column(name = "rows_duplicate", nullable = false)
+    private long rowsDuplicate;
+
+    @Column(name = "rows_invalid", nullable = false)
+    private long rowsInvalid;
+
+    // Start of the latest run and the committed rows it started from, for its throughput
+    @Column(name = "run_started_at", nullable = false)
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "run_start_rows", nullable = false)
+    private long runStartRows;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.novus.backend.domain.content;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Marks a deleted quote, book or movie so delta sync can tell clients to drop it. Rows are written
+ * by the content trigger (see ContentChangeFeed) and pruned after the sync retention period.
+ * {@code deleted_at} is a timestamptz stamped by the database, so it does not depend on the time
+ * zone of the session that deleted the row.
+ */
+@Entity
+@Table(name = "content_tombstones", indexes = {
+        @Index(name = "idx_content_tombstones_deleted_at_id", columnList = "deleted_at, id")
+})
+@Getter
+@Setter
+public class ContentTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ItemType itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
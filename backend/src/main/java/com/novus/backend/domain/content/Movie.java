@@ -6,7 +6,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_updated_at_id", columnList = "updated_at, id")
+})
 @Getter
 @Setter
 public class Movie extends BaseEntity {
@@ -6,7 +6,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name = "quotes")
+@Table(name = "quotes", indexes = {
+        @Index(name = "idx_quotes_updated_at_id", columnList = "updated_at, id")
+})
 @Getter
 @Setter
 public class Quote extends BaseEntity {
@@ -0,0 +1,7 @@
+package com.novus.backend.domain.interaction;
+
+/**
+ * Identifies a favorited piece of content independently of who favorited it.
+ */
+public record FavoriteItem(UserFavorite.ItemType itemType, Long itemId) {
+}
@@ -0,0 +1,42 @@
+package com.novus.backend.domain.interaction;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Favorite count and trending score of one item as last flushed by PopularityService. The counters
+ * live in memory; this table is their periodically written summary for reporting and other readers.
+ */
+@Entity
+@Table(name = "item_popularity", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"item_type", "item_id"})
+})
+@Getter
+@Setter
+public class ItemPopularity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ItemType itemType;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "favorite_count", nullable = false)
+    private long favoriteCount;
+
+    // Decayed to scored_at
+    @Column(name = "trending_score", nullable = false)
+    private double trendingScore;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
@@ -1,11 +1,15 @@
 package com.novus.backend.domain.interaction;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.novus.backend.common.entity.BaseEntity;
 import com.novus.backend.domain.user.User;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.UUID;
+
 @Entity
 @Table(name = "user_favorites", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"user_id", "item_type", "item_id"})
@@ -18,6 +22,7 @@ public class UserFavorite extends BaseEntity {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -29,6 +34,12 @@ public class UserFavorite extends BaseEntity {
     @Column(name = "item_id", nullable = false)
     private Long itemId;
 
+    // Reading the id of a lazy proxy does not initialize it
+    @JsonProperty("userId")
+    public UUID getUserId() {
+        return user == null ? null : user.getId();
+    }
+
     public enum ItemType {
         QUOTE,
         BOOK,
@@ -24,7 +24,8 @@ public class User extends BaseEntity {
     @Column(name = "display_name")
     private String displayName;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Lazy: resolving the caller only needs the id; profile reads fetch interests with an entity graph
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "user_interests", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "interest")
     private java.util.Set<String> interests = new java.util.HashSet<>();
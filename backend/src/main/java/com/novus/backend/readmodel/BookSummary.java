@@ -0,0 +1,11 @@
+package com.novus.backend.readmodel;
+
+/**
+ * What a book listing shows; leaves out the TEXT description and store link.
+ */
+public record BookSummary(Long id, String title, String author, String coverImageUrl, boolean religious) {
+
+    public static BookSummary of(BookView book) {
+        return new BookSummary(book.id(), book.title(), book.author(), book.coverImageUrl(), book.religious());
+    }
+}
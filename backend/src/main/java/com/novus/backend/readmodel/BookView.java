@@ -0,0 +1,10 @@
+package com.novus.backend.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read model of a book with every column, for detail and favorite responses.
+ */
+public record BookView(Long id, String title, String author, String description, String coverImageUrl,
+                       String amazonLink, boolean religious, LocalDateTime createdAt, LocalDateTime updatedAt) implements ContentView {
+}
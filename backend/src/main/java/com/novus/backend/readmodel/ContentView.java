@@ -0,0 +1,11 @@
+package com.novus.backend.readmodel;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Read model of any favoritable content, for responses that mix quotes, books and movies.
+ */
+@Schema(oneOf = {QuoteView.class, BookView.class, MovieView.class})
+public sealed interface ContentView permits QuoteView, BookView, MovieView {
+    Long id();
+}
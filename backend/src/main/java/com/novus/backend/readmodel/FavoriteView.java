@@ -0,0 +1,10 @@
+package com.novus.backend.readmodel;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record FavoriteView(Long id, UUID userId, ItemType itemType, Long itemId, LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+}
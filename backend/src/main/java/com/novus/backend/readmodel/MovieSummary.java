@@ -0,0 +1,8 @@
+package com.novus.backend.readmodel;
+
+/**
+ * What a movie listing shows; leaves out the TEXT description.
+ */
+public record MovieSummary(Long id, String title, String director, Integer releaseYear, String posterImageUrl,
+                           boolean religious) {
+}
@@ -0,0 +1,10 @@
+package com.novus.backend.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read model of a movie with every column, for detail and favorite responses.
+ */
+public record MovieView(Long id, String title, String description, String posterImageUrl, String director,
+                        Integer releaseYear, boolean religious, LocalDateTime createdAt, LocalDateTime updatedAt) implements ContentView {
+}
@@ -0,0 +1,10 @@
+package com.novus.backend.readmodel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable read model of a quote, selected column by column so no entity is ever managed.
+ */
+public record QuoteView(Long id, String content, String author, String category, boolean premium, boolean religious,
+                        String backgroundImageUrl, LocalDateTime createdAt, LocalDateTime updatedAt) implements ContentView {
+}
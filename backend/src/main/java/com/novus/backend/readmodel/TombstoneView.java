@@ -0,0 +1,8 @@
+package com.novus.backend.readmodel;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+import java.time.Instant;
+
+public record TombstoneView(Long id, ItemType itemType, Long itemId, Instant deletedAt) {
+}
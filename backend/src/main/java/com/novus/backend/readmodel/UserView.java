@@ -0,0 +1,22 @@
+package com.novus.backend.readmodel;
+
+import com.novus.backend.domain.user.User;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a user, safe to share between requests through the identity cache.
+ */
+public record UserView(UUID id, String keycloakId, String email, String displayName, Set<String> interests,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    /**
+     * Copies {@code user}; must run while its session is open, as interests are loaded lazily.
+     */
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getKeycloakId(), user.getEmail(), user.getDisplayName(),
+                Set.copyOf(user.getInterests()), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
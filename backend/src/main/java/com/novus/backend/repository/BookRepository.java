@@ -1,11 +1,70 @@
 package com.novus.backend.repository;
 
 import com.novus.backend.domain.content.Book;
+import com.novus.backend.readmodel.BookSummary;
+import com.novus.backend.readmodel.BookView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
-    List<Book> findByAuthorContainingIgnoreCase(String author);
+    String VIEW = "new com.novus.backend.readmodel.BookView(b.id, b.title, b.author, b.description, b.coverImageUrl, "
+            + "b.amazonLink, b.isReligious, b.createdAt, b.updatedAt)";
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Book b WHERE b.id = :id")
+    Optional<BookView> findViewById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Book b WHERE b.id IN :ids")
+    List<BookView> findViewsByIdIn(Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.readmodel.BookSummary(b.id, b.title, b.author, b.coverImageUrl, b.isReligious) "
+            + "FROM Book b WHERE b.id > :after ORDER BY b.id")
+    List<BookSummary> findSummariesAfter(long after, Limit limit);
+
+    /**
+     * Author filter for while the search index is still loading, see {@code ContentSearchIndex#idsByAuthor}.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.readmodel.BookSummary(b.id, b.title, b.author, b.coverImageUrl, b.isReligious) "
+            + "FROM Book b WHERE LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%')) AND b.id > :after ORDER BY b.id")
+    List<BookSummary> findSummariesByAuthorAfter(String author, long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Book b WHERE b.updatedAt > :since")
+    List<BookView> findViewsUpdatedAfter(LocalDateTime since);
+
+    /**
+     * Keyset page over (updatedAt, id) for delta sync; rows touched after {@code horizon} are left
+     * for the next sync.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Book b WHERE (b.updatedAt > :afterUpdatedAt "
+            + "OR (b.updatedAt = :afterUpdatedAt AND b.id > :afterId)) AND b.updatedAt <= :horizon "
+            + "ORDER BY b.updatedAt, b.id")
+    List<BookView> findViewsChangedAfter(LocalDateTime afterUpdatedAt, long afterId, LocalDateTime horizon, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM Book b ORDER BY b.id")
+    Stream<BookView> streamViews();
+
+    @Query("SELECT new com.novus.backend.repository.TableVersion(max(b.updatedAt), count(b)) FROM Book b")
+    TableVersion findTableVersion();
 }
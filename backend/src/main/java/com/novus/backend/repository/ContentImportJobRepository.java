@@ -0,0 +1,11 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.content.ContentImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ContentImportJobRepository extends JpaRepository<ContentImportJob, UUID> {
+}
@@ -0,0 +1,29 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.content.ContentTombstone;
+import com.novus.backend.readmodel.TombstoneView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ContentTombstoneRepository extends JpaRepository<ContentTombstone, Long> {
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.readmodel.TombstoneView(t.id, t.itemType, t.itemId, t.deletedAt) "
+            + "FROM ContentTombstone t WHERE (t.deletedAt > :afterDeletedAt "
+            + "OR (t.deletedAt = :afterDeletedAt AND t.id > :afterId)) AND t.deletedAt <= :horizon "
+            + "ORDER BY t.deletedAt, t.id")
+    List<TombstoneView> findViewsDeletedAfter(Instant afterDeletedAt, long afterId, Instant horizon, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ContentTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(Instant cutoff);
+}
@@ -0,0 +1,9 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+/**
+ * How many users favorite one item.
+ */
+public record ItemCount(ItemType itemType, Long itemId, Long count) {
+}
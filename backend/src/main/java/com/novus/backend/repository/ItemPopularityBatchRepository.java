@@ -0,0 +1,17 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ItemPopularityBatchRepository {
+    /**
+     * Writes the given rows in two JDBC batches, an update and an insert of the rows that did not
+     * exist yet, and returns how many rows were written.
+     */
+    int batchUpsert(Collection<Row> rows);
+
+    record Row(ItemType itemType, long itemId, long favoriteCount, double trendingScore, LocalDateTime scoredAt) {
+    }
+}
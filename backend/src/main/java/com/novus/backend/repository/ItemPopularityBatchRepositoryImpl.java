@@ -0,0 +1,59 @@
+package com.novus.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ItemPopularityBatchRepositoryImpl implements ItemPopularityBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchUpsert(Collection<Row> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Row> pending = new ArrayList<>(rows);
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE item_popularity SET favorite_count = ?, trending_score = ?, "
+                + "scored_at = ? WHERE item_type = ? AND item_id = ?", pending, pending.size(), (ps, row) -> {
+            ps.setLong(1, row.favoriteCount());
+            ps.setDouble(2, row.trendingScore());
+            ps.setTimestamp(3, Timestamp.valueOf(row.scoredAt()));
+            ps.setString(4, row.itemType().name());
+            ps.setLong(5, row.itemId());
+        })[0];
+        List<Row> missing = new ArrayList<>();
+        int written = 0;
+        for (int i = 0; i < pending.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(pending.get(i));
+            } else {
+                written++;
+            }
+        }
+        if (missing.isEmpty()) {
+            return written;
+        }
+        // Plain INSERT ... WHERE NOT EXISTS rather than ON CONFLICT DO UPDATE, which H2 does not support
+        int[] inserted = jdbcTemplate.batchUpdate("INSERT INTO item_popularity (item_type, item_id, favorite_count, "
+                + "trending_score, scored_at) SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS "
+                + "(SELECT 1 FROM item_popularity WHERE item_type = ? AND item_id = ?)", missing, missing.size(), (ps, row) -> {
+            ps.setString(1, row.itemType().name());
+            ps.setLong(2, row.itemId());
+            ps.setLong(3, row.favoriteCount());
+            ps.setDouble(4, row.trendingScore());
+            ps.setTimestamp(5, Timestamp.valueOf(row.scoredAt()));
+            ps.setString(6, row.itemType().name());
+            ps.setLong(7, row.itemId());
+        })[0];
+        for (int count : inserted) {
+            written += Math.max(count, 0);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,19 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.ItemPopularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ItemPopularityRepository extends JpaRepository<ItemPopularity, Long>, ItemPopularityBatchRepository {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ItemPopularity p WHERE p.scoredAt < :cutoff")
+    int deleteScoredBefore(LocalDateTime cutoff);
+}
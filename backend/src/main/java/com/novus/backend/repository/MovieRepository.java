@@ -1,9 +1,58 @@
 package com.novus.backend.repository;
 
 import com.novus.backend.domain.content.Movie;
+import com.novus.backend.readmodel.MovieSummary;
+import com.novus.backend.readmodel.MovieView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
+    String VIEW = "new com.novus.backend.readmodel.MovieView(m.id, m.title, m.description, m.posterImageUrl, "
+            + "m.director, m.releaseYear, m.isReligious, m.createdAt, m.updatedAt)";
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Movie m WHERE m.id = :id")
+    Optional<MovieView> findViewById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Movie m WHERE m.id IN :ids")
+    List<MovieView> findViewsByIdIn(Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.readmodel.MovieSummary(m.id, m.title, m.director, m.releaseYear, "
+            + "m.posterImageUrl, m.isReligious) FROM Movie m WHERE m.id > :after ORDER BY m.id")
+    List<MovieSummary> findSummariesAfter(long after, Limit limit);
+
+    /**
+     * Keyset page over (updatedAt, id) for delta sync; rows touched after {@code horizon} are left
+     * for the next sync.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Movie m WHERE (m.updatedAt > :afterUpdatedAt "
+            + "OR (m.updatedAt = :afterUpdatedAt AND m.id > :afterId)) AND m.updatedAt <= :horizon "
+            + "ORDER BY m.updatedAt, m.id")
+    List<MovieView> findViewsChangedAfter(LocalDateTime afterUpdatedAt, long afterId, LocalDateTime horizon, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM Movie m ORDER BY m.id")
+    Stream<MovieView> streamViews();
+
+    @Query("SELECT new com.novus.backend.repository.TableVersion(max(m.updatedAt), count(m)) FROM Movie m")
+    TableVersion findTableVersion();
 }
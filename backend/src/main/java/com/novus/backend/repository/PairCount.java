@@ -0,0 +1,9 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+/**
+ * How many users favorite both one item and another.
+ */
+public record PairCount(ItemType itemType, Long itemId, ItemType otherType, Long otherId, Long count) {
+}
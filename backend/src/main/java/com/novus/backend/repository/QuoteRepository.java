@@ -1,16 +1,81 @@
 package com.novus.backend.repository;
 
 import com.novus.backend.domain.content.Quote;
+import com.novus.backend.readmodel.QuoteView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuoteRepository extends JpaRepository<Quote, Long> {
-    @Query(value = "SELECT * FROM quotes ORDER BY RANDOM() LIMIT :limit", nativeQuery = true)
-    List<Quote> findRandomQuotes(int limit);
-    
-    List<Quote> findByAuthorContainingIgnoreCase(String author);
-    List<Quote> findByCategory(String category);
+    String VIEW = "new com.novus.backend.readmodel.QuoteView(q.id, q.content, q.author, q.category, q.isPremium, "
+            + "q.isReligious, q.backgroundImageUrl, q.createdAt, q.updatedAt)";
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE q.id = :id")
+    Optional<QuoteView> findViewById(Long id);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE q.id IN :ids")
+    List<QuoteView> findViewsByIdIn(Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE q.category = :category AND q.id > :after ORDER BY q.id")
+    List<QuoteView> findViewsByCategoryAfter(String category, long after, Limit limit);
+
+    /**
+     * Author filter for while the search index is still loading, see {@code ContentSearchIndex#idsByAuthor}.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE LOWER(q.author) LIKE LOWER(CONCAT('%', :author, '%')) "
+            + "AND q.id > :after ORDER BY q.id")
+    List<QuoteView> findViewsByAuthorAfter(String author, long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE q.updatedAt > :since")
+    List<QuoteView> findViewsUpdatedAfter(LocalDateTime since);
+
+    /**
+     * Keyset page over (updatedAt, id) for delta sync; rows touched after {@code horizon} are left
+     * for the next sync.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE (q.updatedAt > :afterUpdatedAt "
+            + "OR (q.updatedAt = :afterUpdatedAt AND q.id > :afterId)) AND q.updatedAt <= :horizon "
+            + "ORDER BY q.updatedAt, q.id")
+    List<QuoteView> findViewsChangedAfter(LocalDateTime afterUpdatedAt, long afterId, LocalDateTime horizon, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM Quote q ORDER BY q.id")
+    Stream<QuoteView> streamViews();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM Quote q WHERE q.category = :category ORDER BY q.id")
+    Stream<QuoteView> streamViewsByCategory(String category);
+
+    @Query("SELECT new com.novus.backend.repository.QuoteSamplingRow(q.id, q.category, q.isPremium, q.isReligious, q.updatedAt) FROM Quote q")
+    List<QuoteSamplingRow> findAllSamplingRows();
+
+    @Query("SELECT new com.novus.backend.repository.QuoteSamplingRow(q.id, q.category, q.isPremium, q.isReligious, q.updatedAt) FROM Quote q WHERE q.updatedAt > :since")
+    List<QuoteSamplingRow> findSamplingRowsUpdatedAfter(LocalDateTime since);
+
+    @Query("SELECT new com.novus.backend.repository.TableVersion(max(q.updatedAt), count(q)) FROM Quote q")
+    TableVersion findTableVersion();
 }
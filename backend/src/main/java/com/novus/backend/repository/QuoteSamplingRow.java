@@ -0,0 +1,9 @@
+package com.novus.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal per-quote attributes needed to build the in-memory random sampler.
+ */
+public record QuoteSamplingRow(Long id, String category, boolean premium, boolean religious, LocalDateTime updatedAt) {
+}
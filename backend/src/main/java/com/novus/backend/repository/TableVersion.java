@@ -0,0 +1,10 @@
+package com.novus.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a content table: the newest {@code updated_at} and the row count (which
+ * catches deletes).
+ */
+public record TableVersion(LocalDateTime lastModified, long count) {
+}
@@ -0,0 +1,26 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface UserFavoriteBatchRepository {
+    /**
+     * Inserts the missing favorites in one JDBC batch and returns how many rows were added.
+     */
+    Affected batchInsertIfAbsent(UUID userId, Collection<FavoriteItem> items);
+
+    /**
+     * Deletes the given favorites in one JDBC batch and returns how many rows were removed.
+     */
+    Affected batchDelete(UUID userId, Collection<FavoriteItem> items);
+
+    /**
+     * Rows affected by a batch. Drivers may report a statement as done without a row count
+     * ({@link java.sql.Statement#SUCCESS_NO_INFO}, e.g. PgJDBC with {@code reWriteBatchedInserts});
+     * each such statement counts as one row and {@code exact} is false.
+     */
+    record Affected(int rows, boolean exact) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.novus.backend.repository;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class UserFavoriteBatchRepositoryImpl implements UserFavoriteBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Affected batchInsertIfAbsent(UUID userId, Collection<FavoriteItem> items) {
+        return execute("INSERT INTO user_favorites (user_id, item_type, item_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", userId, items);
+    }
+
+    @Override
+    public Affected batchDelete(UUID userId, Collection<FavoriteItem> items) {
+        return execute("DELETE FROM user_favorites WHERE user_id = ? AND item_type = ? AND item_id = ?", userId, items);
+    }
+
+    private Affected execute(String sql, UUID userId, Collection<FavoriteItem> items) {
+        if (items.isEmpty()) {
+            return new Affected(0, true);
+        }
+        List<FavoriteItem> rows = new ArrayList<>(items);
+        int[] counts = jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setObject(1, userId);
+                ps.setString(2, rows.get(i).itemType().name());
+                ps.setLong(3, rows.get(i).itemId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        int affected = 0;
+        boolean exact = true;
+        for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                affected++;
+                exact = false;
+            } else {
+                affected += Math.max(count, 0);
+            }
+        }
+        return new Affected(affected, exact);
+    }
+}
@@ -1,14 +1,89 @@
 package com.novus.backend.repository;
 
+import com.novus.backend.domain.interaction.FavoriteItem;
 import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.readmodel.FavoriteView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long> {
-    List<UserFavorite> findByUserId(UUID userId);
-    Optional<UserFavorite> findByUserIdAndItemTypeAndItemId(UUID userId, UserFavorite.ItemType itemType, Long itemId);
+public interface UserFavoriteRepository extends JpaRepository<UserFavorite, Long>, UserFavoriteBatchRepository {
+    // f.user.id reads the foreign key column, it does not join users
+    String VIEW = "new com.novus.backend.readmodel.FavoriteView(f.id, f.user.id, f.itemType, f.itemId, f.createdAt, f.updatedAt)";
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM UserFavorite f WHERE f.user.id = :userId ORDER BY f.id")
+    List<FavoriteView> findViewsByUserId(UUID userId);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + VIEW + " FROM UserFavorite f WHERE f.user.id = :userId AND f.id < :before ORDER BY f.id DESC")
+    List<FavoriteView> findViewsByUserIdBefore(UUID userId, long before, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT f.itemId FROM UserFavorite f WHERE f.user.id = :userId AND f.itemType = :itemType")
+    List<Long> findItemIdsByUserIdAndItemType(UUID userId, UserFavorite.ItemType itemType);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.domain.interaction.FavoriteItem(f.itemType, f.itemId) "
+            + "FROM UserFavorite f WHERE f.user.id = :userId ORDER BY f.id DESC")
+    List<FavoriteItem> findItemsByUserId(UUID userId, Limit limit);
+
+    // Grouped by user, newest first within a user
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM UserFavorite f ORDER BY f.user.id, f.id DESC")
+    Stream<FavoriteView> streamViewsByUser();
+
+    String ITEM_COUNT = "new com.novus.backend.repository.ItemCount(f.itemType, f.itemId, count(f))";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + ITEM_COUNT + " FROM UserFavorite f GROUP BY f.itemType, f.itemId")
+    Stream<ItemCount> streamCountsByItem();
+
+    @Transactional(readOnly = true)
+    @Query("SELECT " + ITEM_COUNT + " FROM UserFavorite f WHERE f.itemType = :itemType AND f.itemId IN :itemIds "
+            + "GROUP BY f.itemType, f.itemId")
+    List<ItemCount> countByItemIds(UserFavorite.ItemType itemType, Collection<Long> itemIds);
+
+    // Every other item favorited by the users who favorite one of the given items
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.novus.backend.repository.PairCount(f.itemType, f.itemId, o.itemType, o.itemId, count(o)) "
+            + "FROM UserFavorite f, UserFavorite o WHERE o.user.id = f.user.id "
+            + "AND f.itemType = :itemType AND f.itemId IN :itemIds AND (o.itemType <> f.itemType OR o.itemId <> f.itemId) "
+            + "GROUP BY f.itemType, f.itemId, o.itemType, o.itemId")
+    List<PairCount> countPairsByItemIds(UserFavorite.ItemType itemType, Collection<Long> itemIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT " + VIEW + " FROM UserFavorite f WHERE f.createdAt > :since")
+    Stream<FavoriteView> streamViewsCreatedAfter(LocalDateTime since);
+
+    // The only unique constraint besides the key is (user_id, item_type, item_id)
+    @Modifying
+    @Query(value = "INSERT INTO user_favorites (user_id, item_type, item_id, created_at, updated_at) "
+            + "VALUES (:userId, :itemType, :itemId, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(UUID userId, String itemType, Long itemId);
+
+    @Modifying
+    @Query("DELETE FROM UserFavorite f WHERE f.user.id = :userId AND f.itemType = :itemType AND f.itemId = :itemId")
+    int deleteByUserIdAndItemTypeAndItemId(UUID userId, UserFavorite.ItemType itemType, Long itemId);
 }
@@ -1,12 +1,23 @@
 package com.novus.backend.repository;
 
 import com.novus.backend.domain.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByKeycloakId(String keycloakId);
+
+    // One joined select for the profile read path, and no dirty-checking snapshot
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "interests")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<User> findWithInterestsByKeycloakId(String keycloakId);
 }
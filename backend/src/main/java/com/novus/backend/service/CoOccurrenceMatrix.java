@@ -0,0 +1,241 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Sparse item-to-item co-occurrence counts over favorites, in primitive arrays.
+ * <p>
+ * Items are keyed by {@code type << 56 | id} and interned to dense slots through a
+ * {@link LongIndex}. Each slot keeps how many users favorited the item and at most
+ * {@code maxNeighbors} co-favorited items with their counts. When the list is full a new neighbor
+ * takes the place of one seen only once; if there is none it decrements every count instead of
+ * being added, dropping those that reach zero (Misra-Gries). Memory is O(items × maxNeighbors)
+ * whatever the number of users, counts are never overestimated, and one-off pairs are what gets
+ * dropped. Not thread-safe; callers serialize writes against reads.
+ */
+final class CoOccurrenceMatrix {
+
+    private static final int NO_SLOT = LongIndex.ABSENT;
+
+    private final int maxNeighbors;
+    // Item ids start at 1, so no key is 0
+    private final LongIndex slots = new LongIndex(16);
+    private int[] favorited = new int[16];
+    private int[][] neighbors = new int[16][];
+    private int[][] together = new int[16][];
+    private int[] degree = new int[16];
+
+    CoOccurrenceMatrix(int maxNeighbors) {
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    static long key(ItemType type, long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    static ItemType typeOf(long key) {
+        return ItemType.values()[(int) (key >>> 56)];
+    }
+
+    static long idOf(long key) {
+        return key & ((1L << 56) - 1);
+    }
+
+    /**
+     * Records that a user who already favorited the first {@code count} of {@code others}
+     * favorited {@code item}.
+     */
+    void add(long item, long[] others, int count) {
+        int slot = slot(item, true);
+        favorited[slot]++;
+        for (int i = 0; i < count; i++) {
+            long other = others[i];
+            if (other != item) {
+                int otherSlot = slot(other, true);
+                bump(slot, otherSlot, 1);
+                bump(otherSlot, slot, 1);
+            }
+        }
+    }
+
+    /**
+     * Reverses {@link #add}: a user who still has the first {@code count} of {@code others}
+     * removed {@code item}.
+     */
+    void remove(long item, long[] others, int count) {
+        int slot = slot(item, false);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        favorited[slot] = Math.max(0, favorited[slot] - 1);
+        for (int i = 0; i < count; i++) {
+            int otherSlot = slot(others[i], false);
+            if (otherSlot != NO_SLOT && otherSlot != slot) {
+                bump(slot, otherSlot, -1);
+                bump(otherSlot, slot, -1);
+            }
+        }
+    }
+
+    /**
+     * Replaces what is known about {@code item} with exact counts: {@code favoritedBy} users
+     * favorite it and, for the first {@code count} of {@code others}, {@code counts[i]} of them
+     * also favorite {@code others[i]}. The item is dropped from the lists of its previous neighbors
+     * and its count is set in the lists of the new ones, which keep the largest counts when full.
+     */
+    void reset(long item, int favoritedBy, long[] others, int[] counts, int count) {
+        int slot = slot(item, favoritedBy > 0);
+        if (slot == NO_SLOT) {
+            return;
+        }
+        favorited[slot] = favoritedBy;
+        for (int i = 0; i < degree[slot]; i++) {
+            unset(neighbors[slot][i], slot);
+        }
+        degree[slot] = 0;
+        for (int i = 0; i < count; i++) {
+            if (others[i] != item && counts[i] > 0) {
+                int otherSlot = slot(others[i], true);
+                set(slot, otherSlot, counts[i]);
+                set(otherSlot, slot, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Items most often favorited together with {@code item}, best first, scored by cosine
+     * similarity of their favoriting users so that globally popular items do not dominate.
+     */
+    List<Neighbor> top(long item, int limit, LongPredicate accept) {
+        int slot = slot(item, false);
+        if (slot == NO_SLOT || limit <= 0) {
+            return List.of();
+        }
+        List<Neighbor> candidates = new ArrayList<>(degree[slot]);
+        for (int i = 0; i < degree[slot]; i++) {
+            int other = neighbors[slot][i];
+            if (accept.test(slots.keyAt(other))) {
+                int count = together[slot][i];
+                double norm = Math.sqrt((double) Math.max(1, favorited[slot]) * Math.max(1, favorited[other]));
+                candidates.add(new Neighbor(slots.keyAt(other), count, count / norm));
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(Neighbor::score).reversed().thenComparingLong(Neighbor::key));
+        return candidates.size() <= limit ? candidates : List.copyOf(candidates.subList(0, limit));
+    }
+
+    int items() {
+        return slots.size();
+    }
+
+    private void bump(int slot, int other, int delta) {
+        int[] ids = neighbors[slot];
+        int[] counts = together[slot];
+        int n = degree[slot];
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == other) {
+                counts[i] += delta;
+                if (counts[i] <= 0) {
+                    ids[i] = ids[n - 1];
+                    counts[i] = counts[n - 1];
+                    degree[slot] = n - 1;
+                }
+                return;
+            }
+        }
+        if (delta <= 0) {
+            return;
+        }
+        if (n < maxNeighbors) {
+            append(slot, other, delta);
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            if (counts[i] == 1) {
+                ids[i] = other;
+                return;
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            if (--counts[i] > 0) {
+                ids[kept] = ids[i];
+                counts[kept++] = counts[i];
+            }
+        }
+        degree[slot] = kept;
+    }
+
+    private void set(int slot, int other, int count) {
+        int[] ids = neighbors[slot];
+        int[] counts = together[slot];
+        int n = degree[slot];
+        int smallest = -1;
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == other) {
+                counts[i] = count;
+                return;
+            }
+            if (smallest < 0 || counts[i] < counts[smallest]) {
+                smallest = i;
+            }
+        }
+        if (n < maxNeighbors) {
+            append(slot, other, count);
+        } else if (smallest >= 0 && counts[smallest] < count) {
+            ids[smallest] = other;
+            counts[smallest] = count;
+        }
+    }
+
+    private void unset(int slot, int other) {
+        int[] ids = neighbors[slot];
+        int n = degree[slot];
+        for (int i = 0; i < n; i++) {
+            if (ids[i] == other) {
+                ids[i] = ids[n - 1];
+                together[slot][i] = together[slot][n - 1];
+                degree[slot] = n - 1;
+                return;
+            }
+        }
+    }
+
+    private void append(int slot, int other, int count) {
+        int[] ids = neighbors[slot];
+        int[] counts = together[slot];
+        int n = degree[slot];
+        if (ids == null || n == ids.length) {
+            int capacity = ids == null ? 4 : Math.min(maxNeighbors, ids.length * 2);
+            neighbors[slot] = ids = ids == null ? new int[capacity] : Arrays.copyOf(ids, capacity);
+            together[slot] = counts = counts == null ? new int[capacity] : Arrays.copyOf(counts, capacity);
+        }
+        ids[n] = other;
+        counts[n] = count;
+        degree[slot] = n + 1;
+    }
+
+    private int slot(long key, boolean create) {
+        if (!create) {
+            return slots.indexOf(key);
+        }
+        int slot = slots.add(key);
+        if (slot == favorited.length) {
+            int capacity = favorited.length * 2;
+            favorited = Arrays.copyOf(favorited, capacity);
+            neighbors = Arrays.copyOf(neighbors, capacity);
+            together = Arrays.copyOf(together, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+        }
+        return slot;
+    }
+
+    record Neighbor(long key, int together, double score) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.novus.backend.service;
+
+import com.novus.backend.common.cache.BoundedCache;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for catalog rows and listing pages, per content type.
+ * <p>
+ * Entries never expire on their own; they are dropped by {@link ContentChangedEvent}, which the
+ * app publishes for its own writes and {@link ContentChangeFeed} publishes for writes made directly
+ * in the database. A row event evicts that row and every cached page of its type, a type-wide event
+ * clears the type. Each type carries a generation that is bumped on invalidation, and a load only
+ * stores its result if the generation did not move while it ran, so a slow read can never put back
+ * a row that was invalidated in the meantime. Missing rows are cached too, as inserts are
+ * invalidated like any other change.
+ */
+@Component
+class ContentCatalogCache {
+
+    private static final Object ABSENT = new Object();
+
+    private final Map<ItemType, Region> regions = new EnumMap<>(ItemType.class);
+
+    ContentCatalogCache(@Value("${novus.content.catalog.max-entries:20000}") int maxEntries,
+                        @Value("${novus.content.catalog.max-pages:2000}") int maxPages,
+                        MeterRegistry meterRegistry) {
+        for (ItemType type : ItemType.values()) {
+            regions.put(type, new Region(type, maxEntries, maxPages, meterRegistry));
+        }
+    }
+
+    <T> Optional<T> get(ItemType type, Long id, Function<Long, Optional<T>> loader) {
+        Region region = regions.get(type);
+        Object cached = region.items.get(id);
+        if (cached != null) {
+            region.hits.increment();
+            return cached == ABSENT ? Optional.empty() : Optional.of(cast(cached));
+        }
+        region.misses.increment();
+        long generation = region.generation.get();
+        Optional<T> loaded = loader.apply(id);
+        region.store(id, loaded.isPresent() ? loaded.get() : ABSENT, generation);
+        return loaded;
+    }
+
+    /**
+     * Returns the cached rows for {@code ids} and loads the rest with a single call to {@code loader}.
+     * Order follows the cached hits first, then the loaded rows, like {@code findAllById}.
+     */
+    <T> List<T> getAll(ItemType type, Collection<Long> ids, Function<Collection<Long>, List<T>> loader,
+                       Function<T, Long> idOf) {
+        Region region = regions.get(type);
+        List<T> result = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Object cached = region.items.get(id);
+            if (cached == null) {
+                missing.add(id);
+            } else if (cached != ABSENT) {
+                result.add(cast(cached));
+            }
+        }
+        region.hits.increment(ids.size() - missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        region.misses.increment(missing.size());
+        long generation = region.generation.get();
+        List<T> loaded = loader.apply(missing);
+        Map<Long, Object> found = new HashMap<>(missing.size() * 2);
+        for (Long id : missing) {
+            found.put(id, ABSENT);
+        }
+        for (T item : loaded) {
+            found.put(idOf.apply(item), item);
+            result.add(item);
+        }
+        found.forEach((id, value) -> region.store(id, value, generation));
+        return result;
+    }
+
+    <T> T page(ItemType type, Object key, Supplier<T> loader) {
+        Region region = regions.get(type);
+        Object cached = region.pages.get(key);
+        if (cached != null) {
+            region.hits.increment();
+            return cast(cached);
+        }
+        region.misses.increment();
+        long generation = region.generation.get();
+        T loaded = loader.get();
+        region.storePage(key, loaded, generation);
+        return loaded;
+    }
+
+    void invalidate(ItemType type, Long id) {
+        Region region = regions.get(type);
+        region.generation.incrementAndGet();
+        if (id == null) {
+            region.items.clear();
+        } else {
+            region.items.remove(id);
+        }
+        region.pages.clear();
+    }
+
+    int size(ItemType type) {
+        return regions.get(type).items.size();
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        invalidate(event.type(), event.id());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static final class Region {
+        final BoundedCache<Long, Object> items;
+        final BoundedCache<Object, Object> pages;
+        final AtomicLong generation = new AtomicLong();
+        final Counter hits;
+        final Counter misses;
+
+        Region(ItemType type, int maxEntries, int maxPages, MeterRegistry meterRegistry) {
+            this.items = new BoundedCache<>(maxEntries);
+            this.pages = new BoundedCache<>(maxPages);
+            String tag = type.name().toLowerCase();
+            this.hits = Counter.builder("novus.content.catalog.requests").tag("type", tag).tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("novus.content.catalog.requests").tag("type", tag).tag("result", "miss")
+                    .register(meterRegistry);
+        }
+
+        void store(Long id, Object value, long loadedAt) {
+            items.put(id, value);
+            // An invalidation raced with the load; drop what we just stored rather than serve it
+            if (generation.get() != loadedAt) {
+                items.remove(id, value);
+            }
+        }
+
+        void storePage(Object key, Object value, long loadedAt) {
+            pages.put(key, value);
+            if (generation.get() != loadedAt) {
+                pages.remove(key, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.TableVersion;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Turns writes made directly in Postgres (the CMS edits the content tables) into
+ * {@link ContentChangedEvent}s.
+ * <p>
+ * A row trigger on quotes, books and movies (migrations {@code V1__content_change_triggers} and
+ * {@code V2__tombstone_deleted_at_timestamptz}) sends {@code pg_notify('novus_content', '<table>:<id>')}
+ * and, for deletes, records a row in {@code content_tombstones} for delta sync; where migrations are
+ * not run, {@code novus.content.change-feed.install-triggers=true} applies those scripts on startup. A
+ * dedicated thread holds one connection of its own, outside the pool, in {@code LISTEN} and
+ * publishes an event per changed row; when many rows of one type change in a
+ * single batch the event is widened to the whole type. A scheduled poll compares max(updated_at)
+ * and the row count per table as a fallback: every poll interval while the listener is down
+ * (no Postgres, missing trigger privileges, lost connection), and once per safety interval
+ * otherwise.
+ */
+@Slf4j
+@Component
+class ContentChangeFeed {
+
+    static final String CHANNEL = "novus_content";
+
+    static final List<String> TRIGGER_SCRIPTS = List.of(
+            "db/migration/postgresql/V1__content_change_triggers.sql",
+            "db/migration/postgresql/V2__tombstone_deleted_at_timestamptz.sql");
+
+    private static final Map<String, ItemType> TABLES = Map.of(
+            "quotes", ItemType.QUOTE,
+            "books", ItemType.BOOK,
+            "movies", ItemType.MOVIE);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final QuoteRepository quoteRepository;
+    private final BookRepository bookRepository;
+    private final MovieRepository movieRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean installTriggers;
+    private final int coalesceThreshold;
+    private final Duration listenTimeout;
+    private final long safetyIntervalNanos;
+    private final Map<ItemType, TableVersion> lastSeen = new EnumMap<>(ItemType.class);
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile long lastPoll;
+    private Thread listener;
+
+    ContentChangeFeed(DataSourceProperties dataSourceProperties,
+                      JdbcTemplate jdbcTemplate,
+                      QuoteRepository quoteRepository,
+                      BookRepository bookRepository,
+                      MovieRepository movieRepository,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${novus.content.change-feed.install-triggers:false}") boolean installTriggers,
+                      @Value("${novus.content.change-feed.coalesce-threshold:16}") int coalesceThreshold,
+                      @Value("${novus.content.change-feed.listen-timeout:PT10S}") Duration listenTimeout,
+                      @Value("${novus.content.change-feed.safety-interval:PT1M}") Duration safetyInterval) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.quoteRepository = quoteRepository;
+        this.bookRepository = bookRepository;
+        this.movieRepository = movieRepository;
+        this.eventPublisher = eventPublisher;
+        this.installTriggers = installTriggers;
+        this.coalesceThreshold = coalesceThreshold;
+        this.listenTimeout = listenTimeout;
+        this.safetyIntervalNanos = safetyInterval.toNanos();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (installTriggers) {
+            try {
+                installTriggers();
+            } catch (RuntimeException e) {
+                log.warn("Could not install content change triggers, relying on polling: {}", e.getMessage());
+            }
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("content-change-feed").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    /**
+     * Applies the trigger migrations outside of Flyway. The scripts are idempotent and each is sent
+     * as one multi-statement string, which keeps the dollar-quoted bodies intact.
+     */
+    void installTriggers() {
+        for (String script : TRIGGER_SCRIPTS) {
+            try {
+                jdbcTemplate.execute(new ClassPathResource(script).getContentAsString(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        log.info("Content change triggers installed on {}", TABLES.keySet());
+    }
+
+    private void listen() {
+        long backoffMillis = 1_000;
+        while (running) {
+            // Not from the pool: the connection is held for as long as the application runs
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Datasource is not Postgres, content changes are detected by polling only");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                listening = true;
+                backoffMillis = 1_000;
+                log.info("Listening for content changes on channel {}", CHANNEL);
+                // Anything written while we were not listening is only visible to the poll
+                poll();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) listenTimeout.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Content change listener failed, retrying in {} ms: {}", backoffMillis, e.getMessage());
+            } finally {
+                listening = false;
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, 60_000);
+        }
+    }
+
+    void dispatch(PGNotification[] notifications) {
+        Map<ItemType, Set<Long>> changed = new EnumMap<>(ItemType.class);
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            ItemType type = separator < 0 ? null : TABLES.get(payload.substring(0, separator));
+            if (type == null) {
+                continue;
+            }
+            try {
+                changed.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(Long.parseLong(payload.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                changed.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(null);
+            }
+        }
+        changed.forEach((type, ids) -> {
+            if (ids.size() > coalesceThreshold || ids.contains(null)) {
+                eventPublisher.publishEvent(new ContentChangedEvent(type, null));
+            } else {
+                ids.forEach(id -> eventPublisher.publishEvent(new ContentChangedEvent(type, id)));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${novus.content.change-feed.poll-interval:PT5S}",
+            initialDelayString = "${novus.content.change-feed.poll-interval:PT5S}")
+    void scheduledPoll() {
+        if (listening && System.nanoTime() - lastPoll < safetyIntervalNanos) {
+            return;
+        }
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Content change poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes a type-wide event for every table whose version moved since the last poll.
+     */
+    void poll() {
+        pollLock.lock();
+        try {
+            lastPoll = System.nanoTime();
+            for (ItemType type : ItemType.values()) {
+                TableVersion current = switch (type) {
+                    case QUOTE -> quoteRepository.findTableVersion();
+                    case BOOK -> bookRepository.findTableVersion();
+                    case MOVIE -> movieRepository.findTableVersion();
+                };
+                TableVersion previous = lastSeen.put(type, current);
+                if (previous != null && !previous.equals(current)) {
+                    eventPublisher.publishEvent(new ContentChangedEvent(type, null));
+                }
+            }
+        } finally {
+            pollLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite;
+
+/**
+ * Published when quotes, books or movies change so in-memory views can catch up.
+ * {@code id} is {@code null} when the change is not tied to a single row.
+ */
+public record ContentChangedEvent(UserFavorite.ItemType type, Long id) {
+}
@@ -0,0 +1,538 @@
+package com.novus.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.domain.content.ContentImportJob;
+import com.novus.backend.domain.content.ContentImportJob.Format;
+import com.novus.backend.domain.content.ContentImportJob.Status;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.ContentImportJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public interface ContentImportService {
+    int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Streams rows of {@code type} from {@code input} into the catalog in batches, skipping
+     * invalid rows and rows whose natural key (quote content and author, book title and author,
+     * movie title and release year) already exists. With {@code resumeJobId} the rows that job
+     * already committed are skipped, so the same input can be sent again after a failure.
+     */
+    ImportReport importContent(ItemType type, Format format, InputStream input, UUID resumeJobId);
+
+    /**
+     * Current progress of an import. Throws {@link IllegalArgumentException} for an unknown job.
+     */
+    ImportReport getJob(UUID jobId);
+
+    /**
+     * {@code rowsPerSecond} covers the latest run of the job; {@code errors} lists the first
+     * {@value #MAX_REPORTED_ERRORS} invalid rows of that run and is empty when read back later.
+     */
+    record ImportReport(UUID jobId, ItemType itemType, Format format, Status status, long committedRows,
+                        long rowsInserted, long rowsDuplicate, long rowsInvalid, double rowsPerSecond,
+                        LocalDateTime startedAt, LocalDateTime finishedAt, String error, List<RowError> errors) {
+    }
+
+    /**
+     * {@code row} counts data rows from 1, not counting the CSV header or blank lines.
+     */
+    record RowError(long row, String message) {
+    }
+}
+
+/**
+ * Bulk import over plain JDBC batches.
+ * <p>
+ * Content entities use identity ids, which keeps Hibernate from batching inserts; this path
+ * bypasses the persistence context and sends {@code novus.import.batch-size} rows per
+ * {@code executeBatch}, letting the database assign the ids. Input is read a row at a time, so
+ * memory holds one batch plus a 64-bit hash per existing natural key (loaded once per run; a hash
+ * collision would drop a row as a duplicate, which at 64 bits does not happen in practice). Each
+ * batch commits together with the job's counters and its position in the input, which is what
+ * makes a resumed run continue exactly after the last committed row. Caches catch up through a
+ * {@link ContentChangedEvent} at the end of the run.
+ */
+@Slf4j
+@Service
+class ContentImportServiceImpl implements ContentImportService {
+
+    private static final String UPDATE_PROGRESS = "UPDATE content_import_jobs SET committed_rows = ?, rows_inserted = ?, "
+            + "rows_duplicate = ?, rows_invalid = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContentImportJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    ContentImportServiceImpl(JdbcTemplate jdbcTemplate,
+                             ContentImportJobRepository jobRepository,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${novus.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public ImportReport importContent(ItemType type, Format format, InputStream input, UUID resumeJobId) {
+        ContentImportJob job = resumeJobId == null ? newJob(type, format) : resumableJob(resumeJobId, type, format);
+        if (!running.add(job.getId())) {
+            throw new IllegalArgumentException("Import " + job.getId() + " is already running");
+        }
+        Run run = new Run(job, Table.of(type));
+        try {
+            job.setStatus(Status.RUNNING);
+            job.setRunStartedAt(LocalDateTime.now());
+            job.setRunStartRows(job.getCommittedRows());
+            job.setFinishedAt(null);
+            job.setError(null);
+            job = jobRepository.save(job);
+            run.execute(input, format);
+            job = finish(job.getId(), Status.COMPLETED, null);
+            log.info("Import {} of {} completed: {} inserted, {} duplicate, {} invalid at {} rows/s", job.getId(), type,
+                    job.getRowsInserted(), job.getRowsDuplicate(), job.getRowsInvalid(), Math.round(rowsPerSecond(job)));
+        } catch (IOException | RuntimeException e) {
+            // The job row holds what was committed; counts of a failed batch are not in it
+            job = finish(job.getId(), Status.FAILED, e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+            log.warn("Import {} of {} failed after {} rows: {}", job.getId(), type, job.getCommittedRows(), job.getError());
+        } finally {
+            running.remove(job.getId());
+            if (run.insertedThisRun > 0) {
+                eventPublisher.publishEvent(new ContentChangedEvent(type, null));
+            }
+        }
+        return report(job, run.errors);
+    }
+
+    @Override
+    public ImportReport getJob(UUID jobId) {
+        return report(jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown import " + jobId)), List.of());
+    }
+
+    private ContentImportJob newJob(ItemType type, Format format) {
+        ContentImportJob job = new ContentImportJob();
+        job.setId(UUID.randomUUID());
+        job.setItemType(type);
+        job.setFormat(format);
+        return job;
+    }
+
+    private ContentImportJob resumableJob(UUID jobId, ItemType type, Format format) {
+        ContentImportJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown import " + jobId));
+        if (job.getItemType() != type || job.getFormat() != format) {
+            throw new IllegalArgumentException("Import " + jobId + " was a " + job.getFormat() + " import of "
+                    + job.getItemType() + ", resume it with the same input");
+        }
+        if (job.getStatus() == Status.COMPLETED) {
+            throw new IllegalArgumentException("Import " + jobId + " already completed");
+        }
+        return job;
+    }
+
+    private ContentImportJob finish(UUID jobId, Status status, String error) {
+        ContentImportJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setStatus(status);
+        job.setError(error);
+        job.setFinishedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+
+    private static ImportReport report(ContentImportJob job, List<RowError> errors) {
+        return new ImportReport(job.getId(), job.getItemType(), job.getFormat(), job.getStatus(), job.getCommittedRows(),
+                job.getRowsInserted(), job.getRowsDuplicate(), job.getRowsInvalid(), rowsPerSecond(job),
+                job.getRunStartedAt(), job.getFinishedAt(), job.getError(), errors);
+    }
+
+    private static double rowsPerSecond(ContentImportJob job) {
+        LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+        if (job.getRunStartedAt() == null || end == null) {
+            return 0;
+        }
+        double seconds = Duration.between(job.getRunStartedAt(), end).toNanos() / 1e9;
+        return seconds <= 0 ? 0 : (job.getCommittedRows() - job.getRunStartRows()) / seconds;
+    }
+
+    /**
+     * One pass over the input for a job.
+     */
+    private final class Run {
+        final ContentImportJob job;
+        final Table table;
+        final List<RowError> errors = new ArrayList<>();
+        final List<Object[]> pending = new ArrayList<>();
+        final Timer batchTimer;
+        final Counter insertedCounter;
+        final Counter duplicateCounter;
+        final Counter invalidCounter;
+        long inserted;
+        long duplicate;
+        long invalid;
+        long insertedThisRun;
+
+        Run(ContentImportJob job, Table table) {
+            this.job = job;
+            this.table = table;
+            this.inserted = job.getRowsInserted();
+            this.duplicate = job.getRowsDuplicate();
+            this.invalid = job.getRowsInvalid();
+            String type = job.getItemType().name();
+            this.batchTimer = Timer.builder("novus.import.batch").description("Time to write one batch of imported rows")
+                    .tag("type", type).register(meterRegistry);
+            this.insertedCounter = rows(type, "inserted");
+            this.duplicateCounter = rows(type, "duplicate");
+            this.invalidCounter = rows(type, "invalid");
+        }
+
+        void execute(InputStream input, Format format) throws IOException {
+            LongIndex keys = existingKeys();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            RowSource source = format == Format.CSV ? csv(reader) : ndjson(reader);
+            long skip = job.getCommittedRows();
+            long row = 0;
+            Row next;
+            while ((next = source.next()) != null) {
+                row++;
+                if (row <= skip) {
+                    continue;
+                }
+                try {
+                    if (next.error() != null) {
+                        throw new IllegalArgumentException(next.error());
+                    }
+                    Object[] values = table.parser.apply(new Fields(next.fields()));
+                    long key = table.key(values);
+                    if (keys.indexOf(key) == LongIndex.ABSENT) {
+                        keys.add(key);
+                        pending.add(values);
+                    } else {
+                        duplicate++;
+                        duplicateCounter.increment();
+                    }
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                    invalidCounter.increment();
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new RowError(row, e.getMessage()));
+                    }
+                }
+                if (pending.size() >= batchSize) {
+                    commit(row);
+                }
+            }
+            commit(Math.max(row, skip));
+        }
+
+        private void commit(long position) {
+            int size = pending.size();
+            batchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                if (size > 0) {
+                    jdbcTemplate.batchUpdate(table.insertSql, pending);
+                }
+                jdbcTemplate.update(UPDATE_PROGRESS, position, inserted + size, duplicate, invalid, job.getId());
+            }));
+            inserted += size;
+            insertedThisRun += size;
+            insertedCounter.increment(size);
+            pending.clear();
+        }
+
+        private LongIndex existingKeys() {
+            LongIndex keys = new LongIndex(1024);
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(table.keySql);
+                statement.setFetchSize(1000);
+                return statement;
+            }, rs -> {
+                keys.add(Table.key(rs.getString(1), rs.getString(2)));
+            }));
+            return keys;
+        }
+
+        private Counter rows(String type, String outcome) {
+            return Counter.builder("novus.import.rows").description("Imported rows by outcome")
+                    .tag("type", type).tag("outcome", outcome).register(meterRegistry);
+        }
+    }
+
+    private RowSource csv(BufferedReader reader) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+        List<String> columns = new ArrayList<>(header.size());
+        for (String name : header) {
+            columns.add(Fields.normalizeName(name.replace("\uFEFF", "")));
+        }
+        return () -> {
+            List<String> record;
+            do {
+                record = csv.next();
+            } while (record != null && record.size() == 1 && record.get(0).isBlank());
+            if (record == null) {
+                return null;
+            }
+            if (record.size() != columns.size()) {
+                return new Row(null, "Expected " + columns.size() + " fields but found " + record.size());
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                fields.put(columns.get(i), record.get(i));
+            }
+            return new Row(fields, null);
+        };
+    }
+
+    private RowSource ndjson(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                return new Row(null, "Not valid JSON");
+            }
+            if (!node.isObject()) {
+                return new Row(null, "Expected a JSON object");
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                JsonNode value = field.getValue();
+                fields.put(Fields.normalizeName(field.getKey()), value.isNull() ? null : value.asText());
+            }
+            return new Row(fields, null);
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private record Row(Map<String, String> fields, String error) {
+    }
+
+    /**
+     * Target table of an import: the insert, how a row is validated into its parameters, and
+     * which two parameters form the natural key (selected from existing rows by {@code keySql}).
+     */
+    private enum Table {
+        QUOTE("INSERT INTO quotes (content, author, category, is_premium, is_religious, background_image_url, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                "SELECT content, author FROM quotes", 0, 1,
+                fields -> new Object[]{
+                        fields.required("content", 5000),
+                        fields.text("author", 255),
+                        fields.text("category", 255),
+                        fields.bool("premium", "isPremium"),
+                        fields.bool("religious", "isReligious"),
+                        fields.url("backgroundImageUrl")
+                }),
+        BOOK("INSERT INTO books (title, author, description, cover_image_url, amazon_link, is_religious, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                "SELECT title, author FROM books", 0, 1,
+                fields -> new Object[]{
+                        fields.required("title", 255),
+                        fields.text("author", 255),
+                        fields.text("description", 10000),
+                        fields.url("coverImageUrl"),
+                        fields.url("amazonLink"),
+                        fields.bool("religious", "isReligious")
+                }),
+        MOVIE("INSERT INTO movies (title, director, release_year, description, poster_image_url, is_religious, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                "SELECT title, release_year FROM movies", 0, 2,
+                fields -> new Object[]{
+                        fields.required("title", 255),
+                        fields.text("director", 255),
+                        fields.integer("releaseYear", 1870, 2100),
+                        fields.text("description", 10000),
+                        fields.url("posterImageUrl"),
+                        fields.bool("religious", "isReligious")
+                });
+
+        final String insertSql;
+        final String keySql;
+        final int firstKey;
+        final int secondKey;
+        final Function<Fields, Object[]> parser;
+
+        Table(String insertSql, String keySql, int firstKey, int secondKey, Function<Fields, Object[]> parser) {
+            this.insertSql = insertSql;
+            this.keySql = keySql;
+            this.firstKey = firstKey;
+            this.secondKey = secondKey;
+            this.parser = parser;
+        }
+
+        static Table of(ItemType type) {
+            return valueOf(type.name());
+        }
+
+        long key(Object[] values) {
+            return key(values[firstKey] == null ? null : values[firstKey].toString(),
+                    values[secondKey] == null ? null : values[secondKey].toString());
+        }
+
+        /**
+         * 64-bit FNV-1a over both parts, case-folded with whitespace runs collapsed, so trivially
+         * different spellings of one item count as the same.
+         */
+        static long key(String first, String second) {
+            long hash = 0xcbf29ce484222325L;
+            hash = fold(hash, first);
+            hash = (hash ^ 0x1F) * 0x100000001b3L;
+            hash = fold(hash, second);
+            return hash == 0 ? 1 : hash;
+        }
+
+        private static long fold(long hash, String value) {
+            if (value == null) {
+                return hash;
+            }
+            boolean started = false;
+            boolean space = false;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    space = started;
+                    continue;
+                }
+                if (space) {
+                    hash = (hash ^ ' ') * 0x100000001b3L;
+                    space = false;
+                }
+                started = true;
+                hash = (hash ^ Character.toLowerCase(c)) * 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * The fields of one row by normalized name, with typed, validating accessors that throw
+     * {@link IllegalArgumentException} naming the field.
+     */
+    private record Fields(Map<String, String> values) {
+
+        static String normalizeName(String name) {
+            StringBuilder normalized = new StringBuilder(name.length());
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    normalized.append(Character.toLowerCase(c));
+                }
+            }
+            return normalized.toString();
+        }
+
+        String text(String name, int maxLength) {
+            String value = values.get(normalizeName(name));
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            value = value.strip();
+            if (value.length() > maxLength) {
+                throw new IllegalArgumentException(name + " is longer than " + maxLength + " characters");
+            }
+            return value;
+        }
+
+        String required(String name, int maxLength) {
+            String value = text(name, maxLength);
+            if (value == null) {
+                throw new IllegalArgumentException(name + " is required");
+            }
+            return value;
+        }
+
+        boolean bool(String... names) {
+            for (String name : names) {
+                String value = text(name, 5);
+                if (value != null) {
+                    return switch (value.toLowerCase(Locale.ROOT)) {
+                        case "true", "yes", "1" -> true;
+                        case "false", "no", "0" -> false;
+                        default -> throw new IllegalArgumentException(name + " must be true or false");
+                    };
+                }
+            }
+            return false;
+        }
+
+        Integer integer(String name, int min, int max) {
+            String value = text(name, 11);
+            if (value == null) {
+                return null;
+            }
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed < min || parsed > max) {
+                    throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be a whole number");
+            }
+        }
+
+        String url(String name) {
+            String value = text(name, 2048);
+            if (value != null && !value.startsWith("https://") && !value.startsWith("http://")) {
+                throw new IllegalArgumentException(name + " must be an http(s) URL");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.QuoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process n-gram inverted index over quote authors/content and book titles/authors.
+ * <p>
+ * The base segment is immutable: trigram (and word-prefix) keys are packed into longs, sorted, and
+ * map to sorted doc-ordinal postings. Queries intersect the postings of their grams, verify the
+ * surviving candidates against the normalized text and keep a bounded top-k by score. Writes made
+ * since the last build land in a small delta map that shadows the base and is scanned linearly;
+ * a periodic rebuild folds it back into the base and picks up deletes. App-side writes queue a
+ * delta refresh on the task scheduler rather than running it on the writer's thread, so a write
+ * shows up in search shortly after it commits; writes arriving while one is queued share it.
+ */
+@Slf4j
+@Component
+class ContentSearchIndex {
+
+    static final int MAX_CANDIDATES = 20_000;
+
+    private static final long PREFIX_FLAG = 1L << 63;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final QuoteRepository quoteRepository;
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Delta> delta = new ConcurrentHashMap<>();
+    private volatile Segment base = Segment.build(List.of());
+    private volatile boolean ready;
+    private LocalDateTime quoteWatermark;
+    private LocalDateTime bookWatermark;
+
+    ContentSearchIndex(QuoteRepository quoteRepository,
+                       BookRepository bookRepository,
+                       TransactionTemplate transactionTemplate,
+                       TaskScheduler taskScheduler) {
+        this.quoteRepository = quoteRepository;
+        this.bookRepository = bookRepository;
+        this.taskScheduler = taskScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Ranked hits for {@code query}. Queries shorter than three characters match word prefixes only.
+     */
+    List<SearchService.SearchHit> search(String query, Set<ItemType> types, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<SearchService.SearchHit> top = new PriorityQueue<>(Comparator.comparingDouble(SearchService.SearchHit::score));
+        Segment segment = base;
+        int[] candidates = segment.candidates(q);
+        int checked = 0;
+        for (int ordinal : candidates) {
+            if (++checked > MAX_CANDIDATES) {
+                break;
+            }
+            Doc doc = segment.docs[ordinal];
+            if (types.contains(doc.type()) && !delta.containsKey(key(doc.type(), doc.id()))) {
+                offer(top, doc, q, limit);
+            }
+        }
+        for (Delta entry : delta.values()) {
+            Doc doc = entry.doc();
+            if (types.contains(doc.type())) {
+                offer(top, doc, q, limit);
+            }
+        }
+        List<SearchService.SearchHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(SearchService.SearchHit::score).reversed()
+                .thenComparing(SearchService.SearchHit::id));
+        return hits;
+    }
+
+    /**
+     * Distinct author names and book titles with a word starting with {@code prefix}.
+     */
+    List<String> suggest(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> suggestions = new LinkedHashSet<>();
+        Segment segment = base;
+        int from = lowerBound(segment.suggestKeys, p);
+        for (int i = from; i < segment.suggestKeys.length && suggestions.size() < limit; i++) {
+            if (!segment.suggestKeys[i].startsWith(p)) {
+                break;
+            }
+            suggestions.add(segment.suggestValues[i]);
+        }
+        for (Delta entry : delta.values()) {
+            Doc doc = entry.doc();
+            if (suggestions.size() >= limit) {
+                break;
+            }
+            if (doc.author() != null && wordStartsWith(doc.normAuthor(), p)) {
+                suggestions.add(doc.author());
+            }
+            if (doc.type() == ItemType.BOOK && wordStartsWith(doc.normText(), p)) {
+                suggestions.add(doc.text());
+            }
+        }
+        return suggestions.stream().limit(limit).toList();
+    }
+
+    /**
+     * Whether the first build has completed; until then every lookup comes back empty.
+     */
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of {@code type} whose author contains {@code query}, ascending. Replaces {@code LIKE '%x%'}.
+     * Ids of rows deleted since the last rebuild are still in here.
+     */
+    long[] idsByAuthor(ItemType type, String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new long[0];
+        }
+        Segment segment = base;
+        List<Long> ids = new ArrayList<>();
+        if (q.length() >= 3) {
+            for (int ordinal : segment.candidates(q)) {
+                Doc doc = segment.docs[ordinal];
+                if (doc.type() == type && doc.normAuthor().contains(q) && !delta.containsKey(key(type, doc.id()))) {
+                    ids.add(doc.id());
+                }
+            }
+        } else {
+            for (Doc doc : segment.docs) {
+                if (doc.type() == type && doc.normAuthor().contains(q) && !delta.containsKey(key(type, doc.id()))) {
+                    ids.add(doc.id());
+                }
+            }
+        }
+        for (Delta entry : delta.values()) {
+            Doc doc = entry.doc();
+            if (doc.type() == type && doc.normAuthor().contains(q)) {
+                ids.add(doc.id());
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        if (event.type() != ItemType.MOVIE && refreshQueued.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                refreshQueued.set(false);
+                refresh();
+            }, Instant.now());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Search index warm-up failed, retrying on next rebuild: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.search.refresh-interval:PT30S}",
+            initialDelayString = "${novus.search.refresh-interval:PT30S}")
+    void refresh() {
+        buildLock.lock();
+        try {
+            if (quoteWatermark == null || bookWatermark == null) {
+                return;
+            }
+            for (QuoteView quote : quoteRepository.findViewsUpdatedAfter(quoteWatermark)) {
+                putDelta(Doc.of(quote));
+                quoteWatermark = max(quoteWatermark, quote.updatedAt());
+            }
+            for (BookView book : bookRepository.findViewsUpdatedAfter(bookWatermark)) {
+                putDelta(Doc.of(book));
+                bookWatermark = max(bookWatermark, book.updatedAt());
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.search.rebuild-interval:PT10M}",
+            initialDelayString = "${novus.search.rebuild-interval:PT10M}")
+    void rebuild() {
+        buildLock.lock();
+        try {
+            long seenSequence = sequence.get();
+            List<Doc> docs = new ArrayList<>();
+            LocalDateTime[] watermarks = new LocalDateTime[2];
+            readOnlyTransaction.executeWithoutResult(status -> {
+                quoteRepository.streamViews().forEach(quote -> {
+                    docs.add(Doc.of(quote));
+                    watermarks[0] = max(watermarks[0], quote.updatedAt());
+                });
+                bookRepository.streamViews().forEach(book -> {
+                    docs.add(Doc.of(book));
+                    watermarks[1] = max(watermarks[1], book.updatedAt());
+                });
+            });
+            base = Segment.build(docs);
+            delta.values().removeIf(entry -> entry.sequence() <= seenSequence);
+            quoteWatermark = watermarks[0] == null ? EPOCH : watermarks[0];
+            bookWatermark = watermarks[1] == null ? EPOCH : watermarks[1];
+            ready = true;
+            log.info("Search index built with {} documents and {} grams", docs.size(), base.gramKeys.length);
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void putDelta(Doc doc) {
+        delta.put(key(doc.type(), doc.id()), new Delta(doc, sequence.incrementAndGet()));
+    }
+
+    private static void offer(PriorityQueue<SearchService.SearchHit> top, Doc doc, String q, int limit) {
+        double score = score(doc, q);
+        if (score <= 0) {
+            return;
+        }
+        if (top.size() < limit) {
+            top.add(doc.hit(score));
+        } else if (top.peek().score() < score) {
+            top.poll();
+            top.add(doc.hit(score));
+        }
+    }
+
+    /**
+     * Titles outrank authors, which outrank quote bodies; whole-field and word-start matches get a
+     * boost, and shorter fields win ties.
+     */
+    static double score(Doc doc, String q) {
+        double textWeight = doc.type() == ItemType.BOOK ? 2.0 : 1.0;
+        return Math.max(fieldScore(doc.normText(), q, textWeight), fieldScore(doc.normAuthor(), q, 1.5));
+    }
+
+    private static double fieldScore(String field, String q, double weight) {
+        if (field.isEmpty()) {
+            return 0;
+        }
+        int at = q.length() < 3 ? wordStartIndex(field, q) : field.indexOf(q);
+        if (at < 0) {
+            return 0;
+        }
+        double score = weight;
+        if (at == 0 || field.charAt(at - 1) == ' ') {
+            score += 1.0;
+        }
+        if (field.length() == q.length()) {
+            score += 2.0;
+        }
+        return score / (1.0 + field.length() / 200.0);
+    }
+
+    private static boolean wordStartsWith(String field, String prefix) {
+        return wordStartIndex(field, prefix) >= 0;
+    }
+
+    private static int wordStartIndex(String field, String prefix) {
+        int at = field.indexOf(prefix);
+        while (at >= 0) {
+            if (at == 0 || field.charAt(at - 1) == ' ') {
+                return at;
+            }
+            at = field.indexOf(prefix, at + 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Lower-cases, strips diacritics and collapses every run of non-alphanumerics to one space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                pendingSpace = false;
+                normalized.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    static long trigram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+
+    static long prefixGram(String s, int at, int length) {
+        long gram = PREFIX_FLAG | ((long) length << 48) | ((long) s.charAt(at) << 16);
+        return length == 2 ? gram | s.charAt(at + 1) : gram;
+    }
+
+    private static long key(ItemType type, long id) {
+        return ((long) type.ordinal() << 56) | id;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int at = Arrays.binarySearch(sorted, key);
+        return at >= 0 ? at : -at - 1;
+    }
+
+    record Doc(ItemType type, long id, String text, String author, String category, String normText, String normAuthor) {
+
+        Doc(ItemType type, long id, String text, String author, String category) {
+            this(type, id, text, author, category, normalize(text), normalize(author));
+        }
+
+        static Doc of(QuoteView quote) {
+            return new Doc(ItemType.QUOTE, quote.id(), quote.content(), quote.author(), quote.category());
+        }
+
+        static Doc of(BookView book) {
+            return new Doc(ItemType.BOOK, book.id(), book.title(), book.author(), null);
+        }
+
+        SearchService.SearchHit hit(double score) {
+            return new SearchService.SearchHit(type, id, text, author, category, score);
+        }
+    }
+
+    private record Delta(Doc doc, long sequence) {
+    }
+
+    /**
+     * Immutable postings for a set of documents. Gram keys are sorted and looked up by binary search;
+     * each posting list holds ascending doc ordinals.
+     */
+    static final class Segment {
+        final Doc[] docs;
+        final long[] gramKeys;
+        final int[][] postings;
+        final String[] suggestKeys;
+        final String[] suggestValues;
+
+        private Segment(Doc[] docs, long[] gramKeys, int[][] postings, String[] suggestKeys, String[] suggestValues) {
+            this.docs = docs;
+            this.gramKeys = gramKeys;
+            this.postings = postings;
+            this.suggestKeys = suggestKeys;
+            this.suggestValues = suggestValues;
+        }
+
+        static Segment build(List<Doc> source) {
+            Doc[] docs = source.toArray(Doc[]::new);
+            Map<Long, IntList> grams = new HashMap<>();
+            Map<String, String> suggestions = new HashMap<>();
+            for (int ordinal = 0; ordinal < docs.length; ordinal++) {
+                Doc doc = docs[ordinal];
+                addGrams(grams, doc.normText(), ordinal);
+                addGrams(grams, doc.normAuthor(), ordinal);
+                if (doc.author() != null) {
+                    addSuggestions(suggestions, doc.normAuthor(), doc.author());
+                }
+                if (doc.type() == ItemType.BOOK) {
+                    addSuggestions(suggestions, doc.normText(), doc.text());
+                }
+            }
+
+            long[] gramKeys = new long[grams.size()];
+            int i = 0;
+            for (Long gram : grams.keySet()) {
+                gramKeys[i++] = gram;
+            }
+            Arrays.sort(gramKeys);
+            int[][] postings = new int[gramKeys.length][];
+            for (i = 0; i < gramKeys.length; i++) {
+                postings[i] = grams.get(gramKeys[i]).toArray();
+            }
+
+            String[] suggestKeys = suggestions.keySet().toArray(String[]::new);
+            Arrays.sort(suggestKeys);
+            String[] suggestValues = new String[suggestKeys.length];
+            for (i = 0; i < suggestKeys.length; i++) {
+                suggestValues[i] = suggestions.get(suggestKeys[i]);
+            }
+            return new Segment(docs, gramKeys, postings, suggestKeys, suggestValues);
+        }
+
+        /**
+         * Ordinals containing every gram of {@code q}; a superset of the true matches.
+         */
+        int[] candidates(String q) {
+            List<int[]> lists = new ArrayList<>();
+            if (q.length() < 3) {
+                lists.add(postings(prefixGram(q, 0, q.length())));
+            } else {
+                for (int at = 0; at + 3 <= q.length(); at++) {
+                    lists.add(postings(trigram(q, at)));
+                }
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            int[] result = lists.get(0);
+            for (int l = 1; l < lists.size() && result.length > 0; l++) {
+                result = intersect(result, lists.get(l));
+            }
+            return result;
+        }
+
+        private int[] postings(long gram) {
+            int at = Arrays.binarySearch(gramKeys, gram);
+            return at >= 0 ? postings[at] : new int[0];
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private static void addGrams(Map<Long, IntList> grams, String field, int ordinal) {
+            for (int at = 0; at + 3 <= field.length(); at++) {
+                grams.computeIfAbsent(trigram(field, at), g -> new IntList()).addIfLast(ordinal);
+            }
+            for (int at = 0; at < field.length(); at++) {
+                if (at == 0 || field.charAt(at - 1) == ' ') {
+                    grams.computeIfAbsent(prefixGram(field, at, 1), g -> new IntList()).addIfLast(ordinal);
+                    if (at + 1 < field.length() && field.charAt(at + 1) != ' ') {
+                        grams.computeIfAbsent(prefixGram(field, at, 2), g -> new IntList()).addIfLast(ordinal);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Registers the field under every word-suffix so "aure" suggests "Marcus Aurelius".
+         */
+        private static void addSuggestions(Map<String, String> suggestions, String normalized, String display) {
+            for (int at = 0; at < normalized.length(); at++) {
+                if (at == 0 || normalized.charAt(at - 1) == ' ') {
+                    suggestions.putIfAbsent(normalized.substring(at) + '\u0000' + normalized, display);
+                }
+            }
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addIfLast(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
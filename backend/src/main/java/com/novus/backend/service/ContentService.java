@@ -1,22 +1,35 @@
 package com.novus.backend.service;
 
-import com.novus.backend.domain.content.Book;
-import com.novus.backend.domain.content.Movie;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.readmodel.BookSummary;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieSummary;
+import com.novus.backend.readmodel.MovieView;
 import com.novus.backend.repository.BookRepository;
 import com.novus.backend.repository.MovieRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface ContentService {
-    List<Book> getAllBooks();
-    List<Book> getBooksByAuthor(String author);
-    Optional<Book> getBookById(Long id);
-    
-    List<Movie> getAllMovies();
-    Optional<Movie> getMovieById(Long id);
+    CursorPage<BookSummary> getBooks(Long cursor, int limit);
+    CursorPage<BookSummary> getBooksByAuthor(String author, Long cursor, int limit);
+    Optional<BookView> getBookById(Long id);
+    List<BookView> getBooksByIds(Collection<Long> ids);
+    void streamBooks(Consumer<BookView> sink);
+
+    CursorPage<MovieSummary> getMovies(Long cursor, int limit);
+    Optional<MovieView> getMovieById(Long id);
+    List<MovieView> getMoviesByIds(Collection<Long> ids);
+    void streamMovies(Consumer<MovieView> sink);
 }
 
 @Service
@@ -25,29 +38,80 @@ class ContentServiceImpl implements ContentService {
     
     private final BookRepository bookRepository;
     private final MovieRepository movieRepository;
+    private final ContentSearchIndex searchIndex;
+    private final ContentCatalogCache catalog;
+    private final ReplicaReads replicaReads;
+
+    @Override
+    public CursorPage<BookSummary> getBooks(Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.afterCursor(cursor);
+        return replicaReads.get(() -> catalog.page(UserFavorite.ItemType.BOOK, new ListingPage(after, size), () -> CursorPage.of(
+                bookRepository.findSummariesAfter(after, Limit.of(size + 1)), size, BookSummary::id)));
+    }
+
+    @Override
+    public CursorPage<BookSummary> getBooksByAuthor(String author, Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        if (!searchIndex.isReady()) {
+            long after = CursorPage.afterCursor(cursor);
+            return replicaReads.get(() -> CursorPage.of(
+                    bookRepository.findSummariesByAuthorAfter(author, after, Limit.of(size + 1)), size, BookSummary::id));
+        }
+        return CursorPage.ofIds(searchIndex.idsByAuthor(UserFavorite.ItemType.BOOK, author), cursor, size,
+                ids -> getBooksByIds(ids).stream().map(BookSummary::of).toList(), BookSummary::id);
+    }
 
     @Override
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public Optional<BookView> getBookById(Long id) {
+        return replicaReads.get(() -> catalog.get(UserFavorite.ItemType.BOOK, id, bookRepository::findViewById));
     }
 
     @Override
-    public List<Book> getBooksByAuthor(String author) {
-        return bookRepository.findByAuthorContainingIgnoreCase(author);
+    public List<BookView> getBooksByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : replicaReads.get(() ->
+                catalog.getAll(UserFavorite.ItemType.BOOK, ids, bookRepository::findViewsByIdIn, BookView::id));
     }
 
     @Override
-    public Optional<Book> getBookById(Long id) {
-        return bookRepository.findById(id);
+    @Transactional(readOnly = true)
+    public void streamBooks(Consumer<BookView> sink) {
+        replicaReads.run(() -> {
+            try (Stream<BookView> books = bookRepository.streamViews()) {
+                books.forEach(sink);
+            }
+        });
     }
 
     @Override
-    public List<Movie> getAllMovies() {
-        return movieRepository.findAll();
+    public CursorPage<MovieSummary> getMovies(Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.afterCursor(cursor);
+        return replicaReads.get(() -> catalog.page(UserFavorite.ItemType.MOVIE, new ListingPage(after, size), () -> CursorPage.of(
+                movieRepository.findSummariesAfter(after, Limit.of(size + 1)), size, MovieSummary::id)));
     }
 
     @Override
-    public Optional<Movie> getMovieById(Long id) {
-        return movieRepository.findById(id);
+    public Optional<MovieView> getMovieById(Long id) {
+        return replicaReads.get(() -> catalog.get(UserFavorite.ItemType.MOVIE, id, movieRepository::findViewById));
+    }
+
+    @Override
+    public List<MovieView> getMoviesByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : replicaReads.get(() ->
+                catalog.getAll(UserFavorite.ItemType.MOVIE, ids, movieRepository::findViewsByIdIn, MovieView::id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamMovies(Consumer<MovieView> sink) {
+        replicaReads.run(() -> {
+            try (Stream<MovieView> movies = movieRepository.streamViews()) {
+                movies.forEach(sink);
+            }
+        });
+    }
+
+    private record ListingPage(long after, int size) {
     }
 }
@@ -0,0 +1,116 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.TableVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+public interface ContentVersionService {
+    ContentVersion getVersion(ItemType type);
+
+    /**
+     * Validator for everything in one content table. Any insert, update or delete changes it.
+     */
+    record ContentVersion(ItemType type, LocalDateTime lastModified, long count) {
+
+        public String etag(String scope) {
+            return "W/\"" + type.name().toLowerCase() + "-" + scope + "-" + lastModifiedMillis() + "-" + count + "\"";
+        }
+
+        public long lastModifiedMillis() {
+            return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+}
+
+/**
+ * Keeps the per-table version in memory so conditional requests can be answered without running the
+ * listing query. Versions are re-read at most once per {@code novus.content.version.ttl} (one
+ * aggregate query per table) and dropped immediately when the app itself writes content.
+ * <p>
+ * A re-read that finds the table moved without an event (a direct database write that
+ * {@link ContentChangeFeed} has not reported yet) publishes a type-wide {@link ContentChangedEvent}
+ * before the new version is handed out, so nothing cached from the old rows is served under it.
+ */
+@Service
+class ContentVersionServiceImpl implements ContentVersionService {
+
+    private final QuoteRepository quoteRepository;
+    private final BookRepository bookRepository;
+    private final MovieRepository movieRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlNanos;
+    private final Map<ItemType, Cached> versions = new ConcurrentHashMap<>();
+    private final Map<ItemType, ReentrantLock> refreshLocks = new EnumMap<>(ItemType.class);
+
+    ContentVersionServiceImpl(QuoteRepository quoteRepository,
+                              BookRepository bookRepository,
+                              MovieRepository movieRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${novus.content.version.ttl:PT5S}") Duration ttl) {
+        this.quoteRepository = quoteRepository;
+        this.bookRepository = bookRepository;
+        this.movieRepository = movieRepository;
+        this.eventPublisher = eventPublisher;
+        this.ttlNanos = ttl.toNanos();
+        for (ItemType type : ItemType.values()) {
+            refreshLocks.put(type, new ReentrantLock());
+        }
+    }
+
+    @Override
+    public ContentVersion getVersion(ItemType type) {
+        Cached cached = versions.get(type);
+        if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+            return cached.version();
+        }
+        ReentrantLock lock = refreshLocks.get(type);
+        // One caller refreshes; the others keep serving the previous version meanwhile
+        if (cached != null && !lock.tryLock()) {
+            return cached.version();
+        }
+        if (cached == null) {
+            lock.lock();
+        }
+        try {
+            Cached current = versions.get(type);
+            if (current != null && current != cached && System.nanoTime() - current.loadedAt() < ttlNanos) {
+                return current.version();
+            }
+            TableVersion table = switch (type) {
+                case QUOTE -> quoteRepository.findTableVersion();
+                case BOOK -> bookRepository.findTableVersion();
+                case MOVIE -> movieRepository.findTableVersion();
+            };
+            ContentVersion version = new ContentVersion(type, table.lastModified(), table.count());
+            if (current != null && !current.version().equals(version)) {
+                eventPublisher.publishEvent(new ContentChangedEvent(type, null));
+            }
+            versions.put(type, new Cached(version, System.nanoTime()));
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        versions.remove(event.type());
+    }
+
+    private record Cached(ContentVersion version, long loadedAt) {
+    }
+}
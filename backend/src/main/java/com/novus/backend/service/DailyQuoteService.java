@@ -0,0 +1,170 @@
+package com.novus.backend.service;
+
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.QuoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+public interface DailyQuoteService {
+    DailyQuote getDailyQuote(String category, ZoneId zone, boolean includeReligious, String userKey);
+
+    record DailyQuote(LocalDate date, QuoteView quote) {
+    }
+}
+
+/**
+ * Precomputes the quote of the day per (local date, category, religious filter).
+ * <p>
+ * Every UTC offset maps to one of at most three local dates at any instant, so holding editions
+ * for yesterday through the day after tomorrow (UTC) covers every timezone. Each edition is a small
+ * pool of quotes picked with a seed derived from {@code novus.quotes.daily.seed}, the date and the
+ * category; the first entry is the global quote of the day and personalised requests hash the user
+ * onto the pool. An edition is frozen once built: the hourly run only fills in missing days, so
+ * catalog changes never swap a quote that is already being shown. Selection only depends on the seed
+ * and the catalog, so a restart rebuilds the same editions unless the catalog changed in between.
+ * <p>
+ * Unknown categories are rejected against the sampler's categories without touching the database,
+ * and empty editions (a category with nothing left after the religious filter) are remembered like
+ * any other until the next hourly run retries them.
+ */
+@Slf4j
+@Service
+class DailyQuoteServiceImpl implements DailyQuoteService {
+
+    private static final String ALL_CATEGORIES = "*";
+
+    private final QuoteSampler quoteSampler;
+    private final QuoteRepository quoteRepository;
+    private final long seed;
+    private final int poolSize;
+    private final Map<EditionKey, List<QuoteView>> editions = new ConcurrentHashMap<>();
+    private final ReentrantLock computeLock = new ReentrantLock();
+
+    DailyQuoteServiceImpl(QuoteSampler quoteSampler,
+                          QuoteRepository quoteRepository,
+                          @Value("${novus.quotes.daily.seed:20240101}") long seed,
+                          @Value("${novus.quotes.daily.pool-size:16}") int poolSize) {
+        this.quoteSampler = quoteSampler;
+        this.quoteRepository = quoteRepository;
+        this.seed = seed;
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public DailyQuote getDailyQuote(String category, ZoneId zone, boolean includeReligious, String userKey) {
+        if (category != null && !quoteSampler.categories().contains(category)) {
+            throw new IllegalArgumentException("No quotes available for category: " + category);
+        }
+        LocalDate date = LocalDate.now(zone);
+        EditionKey key = new EditionKey(date, category == null ? ALL_CATEGORIES : category, includeReligious);
+        List<QuoteView> pool = editions.get(key);
+        if (pool == null) {
+            computeEditions(date, List.of(key.category()));
+            pool = editions.getOrDefault(key, List.of());
+        }
+        if (pool.isEmpty()) {
+            throw new IllegalArgumentException("No quotes available for category: " + category);
+        }
+        int index = userKey == null ? 0 : Math.floorMod(mix(userKey.hashCode(), date.toEpochDay()), pool.size());
+        return new DailyQuote(date, pool.get(index));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            precompute();
+        } catch (RuntimeException e) {
+            log.warn("Daily quote precomputation failed, editions will be built on demand: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs hourly so the next UTC day is always ready well before the first timezone reaches midnight.
+     */
+    @Scheduled(cron = "${novus.quotes.daily.precompute-cron:0 30 * * * *}", zone = "UTC")
+    void precompute() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<String> categories = new ArrayList<>(quoteSampler.categories());
+        categories.add(ALL_CATEGORIES);
+        for (LocalDate date = today.minusDays(1); !date.isAfter(today.plusDays(2)); date = date.plusDays(1)) {
+            computeEditions(date, categories);
+        }
+        editions.keySet().removeIf(key -> key.date().isBefore(today.minusDays(1)));
+        log.info("Daily quote editions ready for {} keys", editions.size());
+    }
+
+    /**
+     * Builds the editions of {@code date} that are missing or were empty; published ones are left as they are.
+     */
+    private void computeEditions(LocalDate date, List<String> categories) {
+        computeLock.lock();
+        try {
+            Map<EditionKey, long[]> picks = new HashMap<>();
+            Set<Long> ids = new HashSet<>();
+            for (String category : categories) {
+                for (boolean includeReligious : new boolean[]{true, false}) {
+                    EditionKey key = new EditionKey(date, category, includeReligious);
+                    List<QuoteView> published = editions.get(key);
+                    if (published != null && !published.isEmpty()) {
+                        continue;
+                    }
+                    String filter = ALL_CATEGORIES.equals(category) ? null : category;
+                    long[][] partitions = quoteSampler.partitions(filter, false, includeReligious);
+                    long[] pick = QuoteSampler.sample(partitions, poolSize, new SplittableRandom(key.seed(seed)));
+                    picks.put(key, pick);
+                    for (long id : pick) {
+                        ids.add(id);
+                    }
+                }
+            }
+
+            Map<Long, QuoteView> quotes = new HashMap<>(ids.size() * 2);
+            if (!ids.isEmpty()) {
+                quoteRepository.findViewsByIdIn(ids).forEach(quote -> quotes.put(quote.id(), quote));
+            }
+
+            picks.forEach((key, pick) -> {
+                List<QuoteView> pool = new ArrayList<>(pick.length);
+                for (long id : pick) {
+                    QuoteView quote = quotes.get(id);
+                    if (quote != null) {
+                        pool.add(quote);
+                    }
+                }
+                editions.put(key, List.copyOf(pool));
+            });
+        } finally {
+            computeLock.unlock();
+        }
+    }
+
+    private static long mix(long a, long b) {
+        long z = a * 0x9E3779B97F4A7C15L + b;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record EditionKey(LocalDate date, String category, boolean includeReligious) {
+        long seed(long base) {
+            return mix(mix(base, date.toEpochDay()), category.hashCode() * 2L + (includeReligious ? 1 : 0));
+        }
+    }
+}
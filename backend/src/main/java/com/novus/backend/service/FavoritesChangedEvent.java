@@ -0,0 +1,14 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after a user adds or removes favorites. When {@code exact} is false some of the listed
+ * items may already have been in (or missing from) the user's favorites, so listeners should treat
+ * the lists as the desired end state.
+ */
+public record FavoritesChangedEvent(UUID userId, List<FavoriteItem> added, List<FavoriteItem> removed, boolean exact) {
+}
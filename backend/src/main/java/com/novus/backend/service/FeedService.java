@@ -0,0 +1,286 @@
+package com.novus.backend.service;
+
+import com.novus.backend.common.cache.BoundedCache;
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.readmodel.UserView;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public interface FeedService {
+    /**
+     * A page of quotes ranked for {@code user}. The cursor is the id of the last quote of the
+     * previous page; pages of one feed never repeat a quote.
+     */
+    CursorPage<QuoteView> getFeed(UserView user, Long cursor, int limit, boolean includePremium, boolean includeReligious);
+}
+
+/**
+ * Personalised quote feed ranked in memory from the {@link QuoteSampler} category index.
+ * <p>
+ * Each category gets a weight: {@code novus.feed.interest-weight} if it is one of the user's
+ * interests, plus one per favorited quote in it. The feed gives every weighted category a share of
+ * {@code novus.feed.size} slots proportional to its weight and leaves {@code novus.feed.explore-share}
+ * for quotes from anywhere in the catalog. Each share is a seeded sample (seed = user and UTC date,
+ * so the feed is stable through the day) and the shares are interleaved by stride so favourite
+ * categories come up often without clustering. Favorited quotes are never shown.
+ * <p>
+ * The ranked ids are cached per user together with the user's favorited quote ids, loaded once
+ * and kept current from {@link FavoritesChangedEvent}s rather than re-read. Events count into a
+ * per-user change counter (striped, so users may share one), and a load that saw its counter move
+ * is discarded and repeated: its read may predate a change the event could not apply to a profile
+ * that was not cached yet. A favorite change only
+ * marks the feed stale: it is re-ranked on the next first-page request, so a client paging through
+ * the feed keeps a consistent order.
+ */
+@Service
+class FeedServiceImpl implements FeedService {
+
+    private static final int CHANGE_STRIPES = 1024;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final QuoteSampler quoteSampler;
+    private final QuoteService quoteService;
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final int feedSize;
+    private final double interestWeight;
+    private final double exploreShare;
+    private final long ttlNanos;
+    private final BoundedCache<UUID, Profile> profiles;
+    private final AtomicLongArray changes = new AtomicLongArray(CHANGE_STRIPES);
+    private final Timer ranking;
+
+    FeedServiceImpl(QuoteSampler quoteSampler,
+                    QuoteService quoteService,
+                    UserFavoriteRepository userFavoriteRepository,
+                    MeterRegistry meterRegistry,
+                    @Value("${novus.feed.size:200}") int feedSize,
+                    @Value("${novus.feed.interest-weight:3}") double interestWeight,
+                    @Value("${novus.feed.explore-share:0.2}") double exploreShare,
+                    @Value("${novus.feed.ttl:PT15M}") Duration ttl,
+                    @Value("${novus.feed.max-users:10000}") int maxUsers) {
+        this.quoteSampler = quoteSampler;
+        this.quoteService = quoteService;
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.feedSize = feedSize;
+        this.interestWeight = interestWeight;
+        this.exploreShare = exploreShare;
+        this.ttlNanos = ttl.toNanos();
+        this.profiles = new BoundedCache<>(maxUsers, profile -> System.nanoTime() - profile.loadedAt >= ttlNanos);
+        this.ranking = Timer.builder("novus.feed.ranking")
+                .description("Time to rank a personalised feed from the in-memory index").register(meterRegistry);
+        Gauge.builder("novus.feed.cache.size", profiles, BoundedCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public CursorPage<QuoteView> getFeed(UserView user, Long cursor, int limit, boolean includePremium, boolean includeReligious) {
+        int size = CursorPage.clampLimit(limit);
+        Profile profile = profile(user.id());
+        Feed feed = profile.feed;
+        if (feed == null || feed.includePremium() != includePremium || feed.includeReligious() != includeReligious
+                || (cursor == null && (feed.favoritesVersion() != profile.version.get() || !feed.interests().equals(user.interests())))) {
+            feed = rank(profile, user, includePremium, includeReligious);
+            profile.feed = feed;
+        }
+
+        int from = 0;
+        if (cursor != null) {
+            // A feed re-ranked since the previous page (expired or evicted) starts over
+            for (int i = 0; i < feed.ids().length; i++) {
+                if (feed.ids()[i] == cursor) {
+                    from = i + 1;
+                    break;
+                }
+            }
+        }
+        List<Long> ids = new ArrayList<>(size + 1);
+        for (int i = from; i < feed.ids().length && ids.size() <= size; i++) {
+            if (!profile.favorites.contains(feed.ids()[i])) {
+                ids.add(feed.ids()[i]);
+            }
+        }
+        boolean hasMore = ids.size() > size;
+        List<Long> pageIds = hasMore ? ids.subList(0, size) : ids;
+        Map<Long, QuoteView> quotes = quoteService.getQuotesByIds(pageIds).stream()
+                .collect(Collectors.toMap(QuoteView::id, Function.identity()));
+        // Quotes deleted since the feed was ranked are skipped
+        List<QuoteView> items = pageIds.stream().map(quotes::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(items, hasMore ? pageIds.get(size - 1) : null, hasMore);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onFavoritesChanged(FavoritesChangedEvent event) {
+        // Before the lookup: a profile loaded concurrently and not visible yet is reloaded instead
+        changes.incrementAndGet(stripe(event.userId()));
+        Profile profile = profiles.get(event.userId());
+        if (profile == null) {
+            return;
+        }
+        boolean changed = false;
+        for (FavoriteItem item : event.added()) {
+            changed |= item.itemType() == ItemType.QUOTE && profile.favorites.add(item.itemId());
+        }
+        for (FavoriteItem item : event.removed()) {
+            changed |= item.itemType() == ItemType.QUOTE && profile.favorites.remove(item.itemId());
+        }
+        if (changed) {
+            profile.version.incrementAndGet();
+        }
+    }
+
+    private Profile profile(UUID userId) {
+        Profile profile = profiles.get(userId);
+        long now = System.nanoTime();
+        if (profile != null && now - profile.loadedAt < ttlNanos) {
+            return profile;
+        }
+        int stripe = stripe(userId);
+        for (int attempt = 1; ; attempt++) {
+            long seen = changes.get(stripe);
+            Set<Long> favorites = ConcurrentHashMap.newKeySet();
+            favorites.addAll(userFavoriteRepository.findItemIdsByUserIdAndItemType(userId, ItemType.QUOTE));
+            Profile loaded = new Profile(favorites, now);
+            profiles.put(userId, loaded);
+            if (changes.get(stripe) == seen) {
+                return loaded;
+            }
+            profiles.remove(userId, loaded);
+            if (attempt == MAX_LOAD_ATTEMPTS) {
+                // Still changing: serve this read without caching it
+                return loaded;
+            }
+        }
+    }
+
+    private static int stripe(UUID userId) {
+        return userId.hashCode() & (CHANGE_STRIPES - 1);
+    }
+
+    private Feed rank(Profile profile, UserView user, boolean includePremium, boolean includeReligious) {
+        long start = System.nanoTime();
+        long version = profile.version.get();
+        Set<String> categories = quoteSampler.categories();
+        Map<String, Double> weights = new TreeMap<>();
+        Map<String, Integer> favoritesPerCategory = new HashMap<>();
+        for (String interest : user.interests()) {
+            for (String category : categories) {
+                if (category.equalsIgnoreCase(interest)) {
+                    weights.merge(category, interestWeight, Double::sum);
+                }
+            }
+        }
+        Set<Long> favorites = Set.copyOf(profile.favorites);
+        for (long id : favorites) {
+            String category = quoteSampler.categoryOf(id);
+            if (category != null) {
+                weights.merge(category, 1.0, Double::sum);
+                favoritesPerCategory.merge(category, 1, Integer::sum);
+            }
+        }
+        long seed = user.id().getMostSignificantBits() ^ user.id().getLeastSignificantBits()
+                ^ LocalDate.now(ZoneOffset.UTC).toEpochDay() * 0x9E3779B97F4A7C15L;
+        long[] ids = rank(weights, favoritesPerCategory, favorites,
+                category -> quoteSampler.partitions(category, includePremium, includeReligious),
+                feedSize, exploreShare, seed);
+        ranking.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Feed(ids, user.interests(), version, includePremium, includeReligious);
+    }
+
+    /**
+     * Ranks up to {@code size} ids: a share of the slots per weighted category, the rest explored
+     * from the whole catalog ({@code partitions} of {@code null}), interleaved by stride and
+     * without {@code excluded} ids. Each category is sampled with its own seed so its picks stay
+     * put when other weights change.
+     */
+    static long[] rank(Map<String, Double> weights, Map<String, Integer> excludedPerCategory, Set<Long> excluded,
+                       Function<String, long[][]> partitions, int size, double exploreShare, long seed) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        int explore = total > 0 ? (int) Math.round(size * exploreShare) : size;
+        int personal = size - explore;
+
+        List<Candidate> candidates = new ArrayList<>(size * 2);
+        Set<Long> taken = new HashSet<>(size * 2);
+        int stream = 0;
+        for (Map.Entry<String, Double> entry : weights.entrySet()) {
+            int quota = (int) Math.ceil(personal * entry.getValue() / total);
+            int oversample = excludedPerCategory.getOrDefault(entry.getKey(), 0);
+            addStream(candidates, taken, partitions.apply(entry.getKey()), quota, oversample, excluded,
+                    new SplittableRandom(seed ^ entry.getKey().hashCode()), stream++);
+        }
+        // Exploration also skips what the categories already picked, so the feed is full whenever the catalog allows
+        addStream(candidates, taken, partitions.apply(null), explore, excluded.size() + taken.size(), excluded,
+                new SplittableRandom(seed), stream);
+
+        candidates.sort(Comparator.comparingDouble(Candidate::position).thenComparingInt(Candidate::stream));
+        long[] ranked = new long[Math.min(size, candidates.size())];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = candidates.get(i).id();
+        }
+        return ranked;
+    }
+
+    private static void addStream(List<Candidate> candidates, Set<Long> taken, long[][] partitions, int quota,
+                                  int oversample, Set<Long> excluded, SplittableRandom random, int stream) {
+        if (quota <= 0) {
+            return;
+        }
+        int picked = 0;
+        for (long id : QuoteSampler.sample(partitions, quota + oversample, random)) {
+            if (picked == quota) {
+                break;
+            }
+            if (!excluded.contains(id) && taken.add(id)) {
+                // Stride scheduling: the i-th pick of a share of q slots lands at (i + 0.5) / q
+                candidates.add(new Candidate(id, (picked + 0.5) / quota, stream));
+                picked++;
+            }
+        }
+    }
+
+    private record Candidate(long id, double position, int stream) {
+    }
+
+    private record Feed(long[] ids, Set<String> interests, long favoritesVersion,
+                        boolean includePremium, boolean includeReligious) {
+    }
+
+    private static final class Profile {
+        final Set<Long> favorites;
+        final long loadedAt;
+        final AtomicLong version = new AtomicLong();
+        volatile Feed feed;
+
+        Profile(Set<Long> favorites, long loadedAt) {
+            this.favorites = favorites;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
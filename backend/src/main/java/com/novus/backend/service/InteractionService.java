@@ -1,49 +1,154 @@
 package com.novus.backend.service;
 
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.FavoriteItem;
 import com.novus.backend.domain.interaction.UserFavorite;
-import com.novus.backend.domain.user.User;
+import com.novus.backend.readmodel.ContentView;
+import com.novus.backend.readmodel.FavoriteView;
+import com.novus.backend.repository.UserFavoriteBatchRepository;
 import com.novus.backend.repository.UserFavoriteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public interface InteractionService {
-    UserFavorite addFavorite(User user, UserFavorite.ItemType itemType, Long itemId);
-    void removeFavorite(User user, UserFavorite.ItemType itemType, Long itemId);
-    List<UserFavorite> getUserFavorites(User user);
+    boolean addFavorite(UUID userId, UserFavorite.ItemType itemType, Long itemId);
+    boolean removeFavorite(UUID userId, UserFavorite.ItemType itemType, Long itemId);
+    BatchResult applyFavoriteChanges(UUID userId, List<FavoriteChange> changes);
+    List<FavoriteView> getUserFavorites(UUID userId);
+    CursorPage<HydratedFavorite> getHydratedFavorites(UUID userId, Long cursor, int limit);
+
+    record FavoriteChange(Operation op, UserFavorite.ItemType itemType, Long itemId) {
+        public enum Operation {
+            ADD,
+            REMOVE
+        }
+    }
+
+    record BatchResult(int added, int removed) {
+    }
+
+    /**
+     * A favorite together with the favorited content: the {@link ContentView} matching {@code itemType},
+     * or {@code null} if the content was deleted.
+     */
+    record HydratedFavorite(Long favoriteId, UserFavorite.ItemType itemType, Long itemId,
+                            LocalDateTime favoritedAt, ContentView item) {
+    }
 }
 
 @Service
 @RequiredArgsConstructor
 class InteractionServiceImpl implements InteractionService {
 
+    static final int MAX_BATCH_SIZE = 500;
+
     private final UserFavoriteRepository userFavoriteRepository;
+    private final QuoteService quoteService;
+    private final ContentService contentService;
+    private final ReplicaReads replicaReads;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
-    public UserFavorite addFavorite(User user, UserFavorite.ItemType itemType, Long itemId) {
-        // Check if already exists
-        return userFavoriteRepository.findByUserIdAndItemTypeAndItemId(user.getId(), itemType, itemId)
-                .orElseGet(() -> {
-                    UserFavorite favorite = new UserFavorite();
-                    favorite.setUser(user);
-                    favorite.setItemType(itemType);
-                    favorite.setItemId(itemId);
-                    return userFavoriteRepository.save(favorite);
-                });
+    public boolean addFavorite(UUID userId, UserFavorite.ItemType itemType, Long itemId) {
+        // Single INSERT ... ON CONFLICT DO NOTHING: idempotent and safe under concurrent taps
+        boolean added = userFavoriteRepository.insertIfAbsent(userId, itemType.name(), itemId) > 0;
+        if (added) {
+            eventPublisher.publishEvent(new FavoritesChangedEvent(userId, List.of(new FavoriteItem(itemType, itemId)), List.of(), true));
+        }
+        return added;
     }
 
     @Override
     @Transactional
-    public void removeFavorite(User user, UserFavorite.ItemType itemType, Long itemId) {
-        userFavoriteRepository.findByUserIdAndItemTypeAndItemId(user.getId(), itemType, itemId)
-                .ifPresent(userFavoriteRepository::delete);
+    public boolean removeFavorite(UUID userId, UserFavorite.ItemType itemType, Long itemId) {
+        boolean removed = userFavoriteRepository.deleteByUserIdAndItemTypeAndItemId(userId, itemType, itemId) > 0;
+        if (removed) {
+            eventPublisher.publishEvent(new FavoritesChangedEvent(userId, List.of(), List.of(new FavoriteItem(itemType, itemId)), true));
+        }
+        return removed;
     }
 
     @Override
-    public List<UserFavorite> getUserFavorites(User user) {
-        return userFavoriteRepository.findByUserId(user.getId());
+    @Transactional
+    public BatchResult applyFavoriteChanges(UUID userId, List<FavoriteChange> changes) {
+        if (changes.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " favorite changes per batch");
+        }
+        // Offline queues can toggle the same item several times; only the last change matters
+        Map<FavoriteItem, FavoriteChange.Operation> finalState = new LinkedHashMap<>();
+        for (FavoriteChange change : changes) {
+            if (change.op() == null || change.itemType() == null || change.itemId() == null) {
+                throw new IllegalArgumentException("Favorite change requires op, itemType and itemId");
+            }
+            finalState.put(new FavoriteItem(change.itemType(), change.itemId()), change.op());
+        }
+        List<FavoriteItem> additions = new ArrayList<>();
+        List<FavoriteItem> removals = new ArrayList<>();
+        finalState.forEach((item, op) -> (op == FavoriteChange.Operation.ADD ? additions : removals).add(item));
+
+        UserFavoriteBatchRepository.Affected added = userFavoriteRepository.batchInsertIfAbsent(userId, additions);
+        UserFavoriteBatchRepository.Affected removed = userFavoriteRepository.batchDelete(userId, removals);
+        if (added.rows() + removed.rows() > 0) {
+            // Exact when every listed item is known to have changed, i.e. none was a no-op
+            eventPublisher.publishEvent(new FavoritesChangedEvent(userId, additions, removals,
+                    added.exact() && removed.exact()
+                            && added.rows() == additions.size() && removed.rows() == removals.size()));
+        }
+        return new BatchResult(added.rows(), removed.rows());
+    }
+
+    @Override
+    public List<FavoriteView> getUserFavorites(UUID userId) {
+        return replicaReads.forUser(userId, () -> userFavoriteRepository.findViewsByUserId(userId));
+    }
+
+    @Override
+    public CursorPage<HydratedFavorite> getHydratedFavorites(UUID userId, Long cursor, int limit) {
+        return replicaReads.forUser(userId, () -> hydratedFavorites(userId, cursor, limit));
+    }
+
+    private CursorPage<HydratedFavorite> hydratedFavorites(UUID userId, Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        // Newest first, so the cursor walks ids downwards
+        List<FavoriteView> favorites = userFavoriteRepository.findViewsByUserIdBefore(
+                userId, cursor == null ? Long.MAX_VALUE : cursor, Limit.of(size + 1));
+
+        // One IN query per content type instead of one request per favorite
+        Map<UserFavorite.ItemType, Set<Long>> idsByType = new EnumMap<>(UserFavorite.ItemType.class);
+        for (FavoriteView favorite : favorites) {
+            idsByType.computeIfAbsent(favorite.itemType(), type -> new HashSet<>()).add(favorite.itemId());
+        }
+        Map<FavoriteItem, ContentView> items = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            switch (type) {
+                case QUOTE -> quoteService.getQuotesByIds(ids)
+                        .forEach(quote -> items.put(new FavoriteItem(type, quote.id()), quote));
+                case BOOK -> contentService.getBooksByIds(ids)
+                        .forEach(book -> items.put(new FavoriteItem(type, book.id()), book));
+                case MOVIE -> contentService.getMoviesByIds(ids)
+                        .forEach(movie -> items.put(new FavoriteItem(type, movie.id()), movie));
+            }
+        });
+
+        List<HydratedFavorite> hydrated = favorites.stream()
+                .map(favorite -> new HydratedFavorite(favorite.id(), favorite.itemType(), favorite.itemId(),
+                        favorite.createdAt(), items.get(new FavoriteItem(favorite.itemType(), favorite.itemId()))))
+                .toList();
+        return CursorPage.of(hydrated, size, HydratedFavorite::favoriteId);
     }
 }
@@ -0,0 +1,92 @@
+package com.novus.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing index that interns non-zero {@code long} keys to dense ints {@code 0..size-1} in
+ * insertion order, in primitive arrays. 0 marks an empty bucket, so callers must never add it.
+ * Not thread-safe.
+ */
+final class LongIndex {
+
+    static final int ABSENT = -1;
+
+    private long[] buckets;
+    private int[] bucketIndexes;
+    private long[] keys;
+    private int size;
+
+    LongIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize) * 2 - 1) << 1;
+        this.buckets = new long[capacity];
+        this.bucketIndexes = new int[capacity];
+        this.keys = new long[Math.max(16, expectedSize)];
+    }
+
+    /**
+     * The index of {@code key}, or {@link #ABSENT} if it was never added.
+     */
+    int indexOf(long key) {
+        int mask = buckets.length - 1;
+        int bucket = (int) mix(key) & mask;
+        while (buckets[bucket] != 0) {
+            if (buckets[bucket] == key) {
+                return bucketIndexes[bucket];
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * The index of {@code key}, adding it as index {@link #size()} if it is new.
+     */
+    int add(long key) {
+        int mask = buckets.length - 1;
+        int bucket = (int) mix(key) & mask;
+        while (buckets[bucket] != 0) {
+            if (buckets[bucket] == key) {
+                return bucketIndexes[bucket];
+            }
+            bucket = (bucket + 1) & mask;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int index = size++;
+        keys[index] = key;
+        buckets[bucket] = key;
+        bucketIndexes[bucket] = index;
+        if (size * 2 > buckets.length) {
+            rehash(buckets.length * 2);
+        }
+        return index;
+    }
+
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        buckets = new long[capacity];
+        bucketIndexes = new int[capacity];
+        int mask = capacity - 1;
+        for (int index = 0; index < size; index++) {
+            int bucket = (int) mix(keys[index]) & mask;
+            while (buckets[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            buckets[bucket] = keys[index];
+            bucketIndexes[bucket] = index;
+        }
+    }
+
+    private static long mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return key ^ (key >>> 32);
+    }
+}
@@ -0,0 +1,183 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Favorite counts and time-decayed trending weights per item, keyed like {@link CoOccurrenceMatrix#key}.
+ * <p>
+ * Both are striped adders, so concurrent favorites of one item update different cells instead of
+ * contending on a single field. Trending uses forward decay: a favorite at time t adds
+ * {@code 2^((t - landmark) / halfLife)} (a removal subtracts it) and the score at time now is the
+ * weight times {@code 2^(-(now - landmark) / halfLife)}. Recording is then a single add, and items
+ * rank by raw weight without decaying anything. Before weights could overflow the landmark moves
+ * forward and every weight is rescaled; an update racing that (once per 512 half-lives) may be
+ * scaled wrongly.
+ */
+final class PopularityCounters {
+
+    // Weights stay below 2^512, far from Double.MAX_VALUE
+    private static final double MAX_EXPONENT = 512;
+
+    private final double halfLifeMillis;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock rescaleLock = new ReentrantLock();
+    private volatile long landmark;
+
+    PopularityCounters(Duration halfLife, long nowMillis) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.landmark = nowMillis;
+    }
+
+    /**
+     * Adds {@code delta} favorites of {@code key} made at {@code atMillis} to its count and weight.
+     */
+    void record(long key, long delta, long atMillis) {
+        Counter counter = counter(key);
+        counter.count.add(delta);
+        counter.weight.add(delta * weightAt(atMillis));
+        counter.dirty = true;
+    }
+
+    /**
+     * Replaces the count of {@code key}, leaving its weight alone.
+     */
+    void setCount(long key, long count) {
+        Counter counter = counter(key);
+        counter.count.reset();
+        counter.count.add(count);
+        counter.dirty = true;
+    }
+
+    /**
+     * Adds a favorite made at {@code atMillis} to the weight of {@code key} only.
+     */
+    void weigh(long key, long atMillis) {
+        counter(key).weight.add(weightAt(atMillis));
+    }
+
+    long count(long key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.count.sum();
+    }
+
+    double score(long key, long nowMillis) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : score(counter, nowMillis);
+    }
+
+    /**
+     * The {@code k} items of {@code type} with the highest positive trending score, best first,
+     * through a bounded min-heap.
+     */
+    List<Ranked> top(ItemType type, int k, long nowMillis) {
+        if (k <= 0) {
+            return List.of();
+        }
+        // Weights are read once per item, they keep changing while the heap is built
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(Candidate::weight));
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            if (CoOccurrenceMatrix.typeOf(entry.getKey()) != type) {
+                continue;
+            }
+            double weight = entry.getValue().weight.sum();
+            if (weight > 0 && (heap.size() < k || weight > heap.peek().weight())) {
+                heap.add(new Candidate(entry.getKey(), weight, entry.getValue()));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Ranked> ranked = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            ranked.add(new Ranked(candidate.key(), candidate.counter().count.sum(), score(candidate.counter(), nowMillis)));
+        }
+        ranked.sort(Comparator.comparingDouble(Ranked::score).reversed().thenComparingLong(Ranked::key));
+        return ranked;
+    }
+
+    /**
+     * Snapshots of the items updated since the previous drain, clearing their dirty flag first so
+     * that an update made while draining is picked up next time.
+     */
+    List<Ranked> drainDirty(long nowMillis) {
+        List<Ranked> dirty = new ArrayList<>();
+        counters.forEach((key, counter) -> {
+            if (counter.dirty) {
+                counter.dirty = false;
+                dirty.add(new Ranked(key, counter.count.sum(), score(counter, nowMillis)));
+            }
+        });
+        return dirty;
+    }
+
+    void markDirty(Collection<Long> keys) {
+        for (long key : keys) {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                counter.dirty = true;
+            }
+        }
+    }
+
+    int items() {
+        return counters.size();
+    }
+
+    private Counter counter(long key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new Counter());
+    }
+
+    private double score(Counter counter, long nowMillis) {
+        return Math.max(0, counter.weight.sum() * Math.pow(2, -(nowMillis - landmark) / halfLifeMillis));
+    }
+
+    private double weightAt(long atMillis) {
+        double exponent = (atMillis - landmark) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(atMillis);
+            exponent = (atMillis - landmark) / halfLifeMillis;
+        }
+        return Math.pow(2, exponent);
+    }
+
+    private void rescale(long nowMillis) {
+        rescaleLock.lock();
+        try {
+            if ((nowMillis - landmark) / halfLifeMillis <= MAX_EXPONENT) {
+                return;
+            }
+            double factor = Math.pow(2, -(nowMillis - landmark) / halfLifeMillis);
+            for (Counter counter : counters.values()) {
+                counter.weight.add(counter.weight.sumThenReset() * factor);
+            }
+            landmark = nowMillis;
+        } finally {
+            rescaleLock.unlock();
+        }
+    }
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder weight = new DoubleAdder();
+        volatile boolean dirty;
+    }
+
+    private record Candidate(long key, double weight, Counter counter) {
+    }
+
+    record Ranked(long key, long count, double score) {
+    }
+}
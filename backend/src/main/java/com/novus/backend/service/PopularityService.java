@@ -0,0 +1,361 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.ContentView;
+import com.novus.backend.readmodel.FavoriteView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.ItemCount;
+import com.novus.backend.repository.ItemPopularityBatchRepository;
+import com.novus.backend.repository.ItemPopularityRepository;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public interface PopularityService {
+    /**
+     * How many users currently favorite {@code (type, itemId)} and how much it is trending.
+     */
+    Popularity getPopularity(ItemType type, Long itemId);
+
+    /**
+     * Up to {@code limit} items of {@code type} with the highest trending score, with the content
+     * inlined.
+     */
+    List<Trending> trending(ItemType type, int limit);
+
+    /**
+     * {@code trendingScore} is roughly the number of favorites received in the last half-life, net
+     * of removals, with older ones counting for exponentially less.
+     */
+    record Popularity(ItemType itemType, Long itemId, long favoriteCount, double trendingScore) {
+    }
+
+    record Trending(ItemType itemType, Long itemId, long favoriteCount, double trendingScore, ContentView item) {
+    }
+}
+
+/**
+ * Favorite counts and trending scores kept in memory ({@link PopularityCounters}) and fed by
+ * {@link FavoritesChangedEvent}s, so neither needs a {@code COUNT(*)} over user_favorites per
+ * request.
+ * <p>
+ * The counters are rebuilt from user_favorites at startup (and every
+ * {@code novus.popularity.rebuild-interval} to bound drift): one grouped count, plus the favorites
+ * of the last {@code novus.popularity.rebuild-window} for the trending weights. Changes from
+ * batches that contained no-ops are not applied blindly; the touched items are recounted from the
+ * table on the next flush. The same goes for every change that arrives while a rebuild reads the
+ * table, since the new counters may or may not include it; those recounts wait until the new
+ * counters are in place. Every {@code novus.popularity.flush-interval} the items changed since the
+ * previous flush are written behind to item_popularity in batches, and the top
+ * {@code novus.popularity.trending-size} items per type are re-ranked into the list the trending
+ * endpoint serves. The summary holds this instance's view: with several instances the counts of
+ * the last writer win until its next rebuild.
+ */
+@Slf4j
+@Service
+class PopularityServiceImpl implements PopularityService {
+
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final ItemPopularityRepository itemPopularityRepository;
+    private final QuoteService quoteService;
+    private final ContentService contentService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration halfLife;
+    private final Duration rebuildWindow;
+    private final int trendingSize;
+    private final int flushBatchSize;
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Set<Long> recount = ConcurrentHashMap.newKeySet();
+    // Written under flushLock, so a flush never applies recounts to counters about to be replaced
+    private volatile boolean building;
+    private final Timer flushTimer;
+    private final Counter flushedRows;
+    private volatile PopularityCounters counters;
+    private volatile Map<ItemType, List<PopularityCounters.Ranked>> trending = Map.of();
+    // Summary rows older than the last rebuild are for items nobody favorites any more
+    private volatile LocalDateTime pruneBefore;
+
+    PopularityServiceImpl(UserFavoriteRepository userFavoriteRepository,
+                          ItemPopularityRepository itemPopularityRepository,
+                          QuoteService quoteService,
+                          ContentService contentService,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${novus.popularity.half-life:PT24H}") Duration halfLife,
+                          @Value("${novus.popularity.rebuild-window:P7D}") Duration rebuildWindow,
+                          @Value("${novus.popularity.trending-size:100}") int trendingSize,
+                          @Value("${novus.popularity.flush-batch-size:500}") int flushBatchSize) {
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.itemPopularityRepository = itemPopularityRepository;
+        this.quoteService = quoteService;
+        this.contentService = contentService;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.halfLife = halfLife;
+        this.rebuildWindow = rebuildWindow;
+        this.trendingSize = trendingSize;
+        this.flushBatchSize = flushBatchSize;
+        this.flushTimer = Timer.builder("novus.popularity.flush")
+                .description("Time to write changed popularity counters to item_popularity").register(meterRegistry);
+        this.flushedRows = Counter.builder("novus.popularity.flushed")
+                .description("item_popularity rows written").register(meterRegistry);
+        Gauge.builder("novus.popularity.items", this, PopularityServiceImpl::items)
+                .description("Items with popularity counters").register(meterRegistry);
+    }
+
+    @Override
+    public Popularity getPopularity(ItemType type, Long itemId) {
+        PopularityCounters current = ensureBuilt();
+        long key = CoOccurrenceMatrix.key(type, itemId);
+        return new Popularity(type, itemId, current.count(key), current.score(key, System.currentTimeMillis()));
+    }
+
+    @Override
+    public List<Trending> trending(ItemType type, int limit) {
+        ensureBuilt();
+        List<PopularityCounters.Ranked> ranked = trending.getOrDefault(type, List.of());
+        ranked = ranked.subList(0, Math.min(ranked.size(), Math.clamp(limit, 1, trendingSize)));
+        Set<Long> ids = ranked.stream().map(r -> CoOccurrenceMatrix.idOf(r.key())).collect(Collectors.toSet());
+        Map<Long, ? extends ContentView> items = switch (type) {
+            case QUOTE -> quoteService.getQuotesByIds(ids).stream()
+                    .collect(Collectors.toMap(QuoteView::id, Function.identity()));
+            case BOOK -> contentService.getBooksByIds(ids).stream()
+                    .collect(Collectors.toMap(BookView::id, Function.identity()));
+            case MOVIE -> contentService.getMoviesByIds(ids).stream()
+                    .collect(Collectors.toMap(MovieView::id, Function.identity()));
+        };
+        // Items deleted since they were favorited are dropped
+        List<Trending> result = new ArrayList<>(ranked.size());
+        for (PopularityCounters.Ranked r : ranked) {
+            ContentView item = items.get(CoOccurrenceMatrix.idOf(r.key()));
+            if (item != null) {
+                result.add(new Trending(type, CoOccurrenceMatrix.idOf(r.key()), r.count(), r.score(), item));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onFavoritesChanged(FavoritesChangedEvent event) {
+        PopularityCounters current = counters;
+        if (current != null && event.exact()) {
+            long now = System.currentTimeMillis();
+            for (FavoriteItem item : event.added()) {
+                current.record(CoOccurrenceMatrix.key(item.itemType(), item.itemId()), 1, now);
+            }
+            for (FavoriteItem item : event.removed()) {
+                current.record(CoOccurrenceMatrix.key(item.itemType(), item.itemId()), -1, now);
+            }
+        }
+        // Checked after applying: a rebuild running or finished meanwhile may not have seen the change
+        if (!event.exact() || building || counters != current) {
+            markForRecount(event);
+        }
+    }
+
+    private void markForRecount(FavoritesChangedEvent event) {
+        event.added().forEach(item -> recount.add(CoOccurrenceMatrix.key(item.itemType(), item.itemId())));
+        event.removed().forEach(item -> recount.add(CoOccurrenceMatrix.key(item.itemType(), item.itemId())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Popularity counters warm-up failed, will build lazily: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.popularity.rebuild-interval:P1D}",
+            initialDelayString = "${novus.popularity.rebuild-interval:P1D}")
+    void rebuild() {
+        buildLock.lock();
+        try {
+            build();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.popularity.flush-interval:PT30S}",
+            initialDelayString = "${novus.popularity.flush-interval:PT30S}")
+    void flush() {
+        PopularityCounters current;
+        flushLock.lock();
+        try {
+            current = counters;
+            if (current == null) {
+                return;
+            }
+            flushTimer.record(() -> flush(current));
+        } finally {
+            flushLock.unlock();
+        }
+        rankTrending(current);
+    }
+
+    private void flush(PopularityCounters current) {
+        if (!building) {
+            applyRecounts(current);
+        }
+        long now = System.currentTimeMillis();
+        LocalDateTime scoredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        List<PopularityCounters.Ranked> dirty = current.drainDirty(now);
+        for (int from = 0; from < dirty.size(); from += flushBatchSize) {
+            List<PopularityCounters.Ranked> batch = dirty.subList(from, Math.min(dirty.size(), from + flushBatchSize));
+            List<ItemPopularityBatchRepository.Row> rows = batch.stream()
+                    .map(r -> new ItemPopularityBatchRepository.Row(CoOccurrenceMatrix.typeOf(r.key()),
+                            CoOccurrenceMatrix.idOf(r.key()), r.count(), r.score(), scoredAt))
+                    .toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> flushedRows.increment(itemPopularityRepository.batchUpsert(rows)));
+            } catch (RuntimeException e) {
+                // Retried on the next flush
+                current.markDirty(dirty.subList(from, dirty.size()).stream().map(PopularityCounters.Ranked::key).toList());
+                log.warn("Popularity flush failed after {} of {} items: {}", from, dirty.size(), e.getMessage());
+                return;
+            }
+        }
+        LocalDateTime cutoff = pruneBefore;
+        if (cutoff != null) {
+            int pruned = itemPopularityRepository.deleteScoredBefore(cutoff);
+            pruneBefore = null;
+            if (pruned > 0) {
+                log.info("Pruned {} stale item_popularity rows", pruned);
+            }
+        }
+    }
+
+    private void applyRecounts(PopularityCounters current) {
+        if (recount.isEmpty()) {
+            return;
+        }
+        Map<ItemType, Set<Long>> idsByType = new EnumMap<>(ItemType.class);
+        for (Long key : recount) {
+            recount.remove(key);
+            idsByType.computeIfAbsent(CoOccurrenceMatrix.typeOf(key), t -> new HashSet<>()).add(CoOccurrenceMatrix.idOf(key));
+        }
+        idsByType.forEach((type, ids) -> {
+            Map<Long, Long> counts = new HashMap<>();
+            for (ItemCount count : userFavoriteRepository.countByItemIds(type, ids)) {
+                counts.put(count.itemId(), count.count());
+            }
+            for (long id : ids) {
+                current.setCount(CoOccurrenceMatrix.key(type, id), counts.getOrDefault(id, 0L));
+            }
+        });
+    }
+
+    private void rankTrending(PopularityCounters current) {
+        long now = System.currentTimeMillis();
+        Map<ItemType, List<PopularityCounters.Ranked>> ranked = new EnumMap<>(ItemType.class);
+        for (ItemType type : ItemType.values()) {
+            ranked.put(type, current.top(type, trendingSize, now));
+        }
+        trending = ranked;
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        ZoneId zone = ZoneId.systemDefault();
+        PopularityCounters built = new PopularityCounters(halfLife, now.atZone(zone).toInstant().toEpochMilli());
+        long[] favorites = {0};
+        setBuilding(true);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ItemCount> counts = userFavoriteRepository.streamCountsByItem()) {
+                    counts.forEach(count -> {
+                        built.setCount(CoOccurrenceMatrix.key(count.itemType(), count.itemId()), count.count());
+                        favorites[0] += count.count();
+                    });
+                }
+                try (Stream<FavoriteView> recent = userFavoriteRepository.streamViewsCreatedAfter(now.minus(rebuildWindow))) {
+                    recent.forEach(favorite -> built.weigh(CoOccurrenceMatrix.key(favorite.itemType(), favorite.itemId()),
+                            favorite.createdAt().atZone(zone).toInstant().toEpochMilli()));
+                }
+            });
+        } catch (RuntimeException e) {
+            setBuilding(false);
+            throw e;
+        }
+        // Recounts marked while the table was read now apply to the new counters
+        flushLock.lock();
+        try {
+            counters = built;
+            building = false;
+        } finally {
+            flushLock.unlock();
+        }
+        pruneBefore = now;
+        rankTrending(built);
+        log.info("Popularity counters built from {} favorites over {} items in {} ms",
+                favorites[0], built.items(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void setBuilding(boolean value) {
+        flushLock.lock();
+        try {
+            building = value;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private PopularityCounters ensureBuilt() {
+        PopularityCounters current = counters;
+        if (current != null) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            if (counters == null) {
+                build();
+            }
+            return counters;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private int items() {
+        PopularityCounters current = counters;
+        return current == null ? 0 : current.items();
+    }
+}
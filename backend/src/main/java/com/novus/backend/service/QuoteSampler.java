@@ -0,0 +1,505 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.QuoteSamplingRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+/**
+ * In-memory random sampler over quote ids.
+ * <p>
+ * Quote ids are kept in primitive arrays partitioned by category and by the premium/religious
+ * flags, so a filtered sample never has to look at rows it would discard. Drawing k quotes is a
+ * sparse Fisher-Yates shuffle over the selected partitions: O(k) time, uniform, without replacement.
+ * The snapshot is immutable and swapped atomically; writers derive the next one from deltas polled
+ * on {@code updated_at} (immediately after app-side writes, see {@link ContentChangedEvent}), with a
+ * periodic full rebuild to pick up deletes made outside the app. A delta is spliced into the sorted
+ * arrays and only the partitions it touches are copied, so a single upsert costs a binary search and
+ * one array copy rather than a re-sort. Deltas applied while a rebuild reads the table are replayed
+ * onto its result, so none is lost to the swap.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+class QuoteSampler {
+
+    static final int PREMIUM = 1;
+    static final int RELIGIOUS = 2;
+    static final int BUCKETS = 4;
+
+    private final QuoteRepository quoteRepository;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // Deltas applied since the running rebuild started reading, guarded by writeLock; null when none runs
+    private List<Delta> journal;
+
+    long[] sample(int limit, String category, boolean includePremium, boolean includeReligious) {
+        if (limit <= 0) {
+            return new long[0];
+        }
+        return sample(partitions(category, includePremium, includeReligious), limit, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns the id partitions matching the filter. Each partition is sorted by id, so the
+     * concatenation is stable for a given catalog and can be used for seeded selection.
+     */
+    long[][] partitions(String category, boolean includePremium, boolean includeReligious) {
+        Snapshot current = snapshot();
+        long[][] buckets = category == null ? current.all : current.byCategory.get(category);
+        if (buckets == null) {
+            return new long[0][];
+        }
+        return select(buckets, includePremium, includeReligious);
+    }
+
+    /**
+     * Category of quote {@code id}, or {@code null} if it has none or is not in the snapshot.
+     */
+    String categoryOf(long id) {
+        Snapshot current = snapshot();
+        int index = Arrays.binarySearch(current.ids, id);
+        return index < 0 ? null : current.categories[index];
+    }
+
+    Set<String> categories() {
+        return snapshot().byCategory.keySet();
+    }
+
+    int size() {
+        return snapshot().ids.length;
+    }
+
+    void remove(long... ids) {
+        apply(List.of(), ids);
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        if (event.type() == UserFavorite.ItemType.QUOTE && snapshot != null) {
+            refresh();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Quote sampler warm-up failed, will load lazily: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.quotes.sampler.refresh-interval:PT30S}",
+            initialDelayString = "${novus.quotes.sampler.refresh-interval:PT30S}")
+    void refresh() {
+        Snapshot current = snapshot;
+        if (current == null || current.watermark == null) {
+            rebuild();
+            return;
+        }
+        List<QuoteSamplingRow> changed = quoteRepository.findSamplingRowsUpdatedAfter(current.watermark);
+        if (!changed.isEmpty()) {
+            log.debug("Applying {} changed quotes to sampler", changed.size());
+            apply(changed, new long[0]);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.quotes.sampler.rebuild-interval:PT10M}",
+            initialDelayString = "${novus.quotes.sampler.rebuild-interval:PT10M}")
+    void rebuild() {
+        rebuildLock.lock();
+        try {
+            setJournal(new ArrayList<>());
+            Snapshot rebuilt;
+            try {
+                rebuilt = Snapshot.of(quoteRepository.findAllSamplingRows());
+                writeLock.lock();
+                try {
+                    // The rows may have been read before these deltas were committed
+                    for (Delta delta : journal) {
+                        rebuilt = rebuilt.merge(delta.changed(), delta.removed());
+                    }
+                    snapshot = rebuilt;
+                } finally {
+                    writeLock.unlock();
+                }
+            } finally {
+                setJournal(null);
+            }
+            log.info("Quote sampler loaded {} quotes", rebuilt.ids.length);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = Snapshot.of(quoteRepository.findAllSamplingRows());
+            }
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void apply(List<QuoteSamplingRow> changed, long[] removed) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.merge(changed, removed);
+            }
+            if (journal != null) {
+                journal.add(new Delta(changed, removed));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void setJournal(List<Delta> journal) {
+        writeLock.lock();
+        try {
+            this.journal = journal;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    static long[][] select(long[][] buckets, boolean includePremium, boolean includeReligious) {
+        List<long[]> selected = new ArrayList<>(BUCKETS);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if ((bucket & PREMIUM) != 0 && !includePremium) {
+                continue;
+            }
+            if ((bucket & RELIGIOUS) != 0 && !includeReligious) {
+                continue;
+            }
+            selected.add(buckets[bucket]);
+        }
+        return selected.toArray(long[][]::new);
+    }
+
+    /**
+     * Draws up to {@code limit} distinct ids uniformly from the concatenation of {@code partitions}.
+     * Only the positions touched by the shuffle are materialised, so the cost is O(limit).
+     */
+    static long[] sample(long[][] partitions, int limit, RandomGenerator random) {
+        int n = 0;
+        for (long[] partition : partitions) {
+            n += partition.length;
+        }
+        int k = Math.min(limit, n);
+        long[] result = new long[k];
+        Displacements displaced = new Displacements(k);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = displaced.get(j);
+            displaced.put(j, displaced.get(i));
+            result[i] = idAt(partitions, atJ);
+        }
+        return result;
+    }
+
+    private static long idAt(long[][] partitions, int position) {
+        for (long[] partition : partitions) {
+            if (position < partition.length) {
+                return partition[position];
+            }
+            position -= partition.length;
+        }
+        throw new IndexOutOfBoundsException(position);
+    }
+
+    static int bucketOf(boolean premium, boolean religious) {
+        return (premium ? PREMIUM : 0) | (religious ? RELIGIOUS : 0);
+    }
+
+    private record Delta(List<QuoteSamplingRow> changed, long[] removed) {
+    }
+
+    /**
+     * Positions moved by the sparse shuffle, as an open-addressing int map; an absent position holds itself.
+     */
+    private static final class Displacements {
+        private final int[] keys;
+        private final int[] values;
+        private final int mask;
+
+        Displacements(int expected) {
+            int capacity = Math.max(4, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1);
+            this.keys = new int[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(keys, -1);
+        }
+
+        int get(int position) {
+            for (int slot = slot(position); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == position) {
+                    return values[slot];
+                }
+                if (keys[slot] < 0) {
+                    return position;
+                }
+            }
+        }
+
+        void put(int position, int value) {
+            for (int slot = slot(position); ; slot = (slot + 1) & mask) {
+                if (keys[slot] == position || keys[slot] < 0) {
+                    keys[slot] = position;
+                    values[slot] = value;
+                    return;
+                }
+            }
+        }
+
+        private int slot(int position) {
+            int hash = position * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    /**
+     * Immutable columnar copy of the sampling rows (sorted by id) plus the derived partitions.
+     * Snapshots derived by {@link #merge} share every partition array the delta did not touch.
+     */
+    static final class Snapshot {
+        /**
+         * Deltas with up to this many ids patch the partitions; larger ones re-partition in one pass.
+         */
+        static final int PATCH_LIMIT = 64;
+
+        final long[] ids;
+        final String[] categories;
+        final byte[] buckets;
+        final LocalDateTime watermark;
+        final long[][] all;
+        final Map<String, long[][]> byCategory;
+
+        private Snapshot(long[] ids, String[] categories, byte[] buckets, LocalDateTime watermark,
+                         long[][] all, Map<String, long[][]> byCategory) {
+            this.ids = ids;
+            this.categories = categories;
+            this.buckets = buckets;
+            this.watermark = watermark;
+            this.all = all;
+            this.byCategory = byCategory;
+        }
+
+        static Snapshot of(List<QuoteSamplingRow> rows) {
+            List<QuoteSamplingRow> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(QuoteSamplingRow::id));
+            int n = sorted.size();
+            long[] ids = new long[n];
+            String[] categories = new String[n];
+            byte[] buckets = new byte[n];
+            Map<String, String> interned = new HashMap<>();
+            LocalDateTime watermark = null;
+            for (int i = 0; i < n; i++) {
+                QuoteSamplingRow row = sorted.get(i);
+                ids[i] = row.id();
+                categories[i] = intern(interned, row.category());
+                buckets[i] = (byte) bucketOf(row.premium(), row.religious());
+                watermark = later(watermark, row.updatedAt());
+            }
+            return partitioned(ids, categories, buckets, watermark);
+        }
+
+        /**
+         * Returns a new snapshot with {@code changed} rows inserted or replaced and {@code removed} ids dropped.
+         */
+        Snapshot merge(List<QuoteSamplingRow> changed, long[] removed) {
+            // Latest state per touched id, null once removed
+            Map<Long, QuoteSamplingRow> latest = new HashMap<>((changed.size() + removed.length) * 2);
+            LocalDateTime mark = watermark;
+            for (QuoteSamplingRow row : changed) {
+                latest.put(row.id(), row);
+                mark = later(mark, row.updatedAt());
+            }
+            for (long id : removed) {
+                latest.put(id, null);
+            }
+            long[] touched = new long[latest.size()];
+            int t = 0;
+            for (long id : latest.keySet()) {
+                touched[t++] = id;
+            }
+            Arrays.sort(touched);
+
+            // Splice the touched ids into the columns, copying the untouched runs between them
+            int n = ids.length;
+            long[] newIds = new long[n + touched.length];
+            String[] newCategories = new String[newIds.length];
+            byte[] newBuckets = new byte[newIds.length];
+            Map<String, String> interned = new HashMap<>(byCategory.size() * 2);
+            byCategory.keySet().forEach(category -> interned.put(category, category));
+            int size = 0;
+            int from = 0;
+            for (long id : touched) {
+                int at = Arrays.binarySearch(ids, from, n, id);
+                int runEnd = at >= 0 ? at : -at - 1;
+                size = copyRun(from, runEnd, newIds, newCategories, newBuckets, size);
+                from = at >= 0 ? at + 1 : runEnd;
+                QuoteSamplingRow row = latest.get(id);
+                if (row != null) {
+                    newIds[size] = id;
+                    newCategories[size] = intern(interned, row.category());
+                    newBuckets[size] = (byte) bucketOf(row.premium(), row.religious());
+                    size++;
+                }
+            }
+            size = copyRun(from, n, newIds, newCategories, newBuckets, size);
+            newIds = Arrays.copyOf(newIds, size);
+            newCategories = Arrays.copyOf(newCategories, size);
+            newBuckets = Arrays.copyOf(newBuckets, size);
+            if (touched.length > PATCH_LIMIT) {
+                return partitioned(newIds, newCategories, newBuckets, mark);
+            }
+
+            long[][] newAll = all.clone();
+            Map<String, long[][]> newByCategory = new HashMap<>(byCategory);
+            Set<String> copied = new HashSet<>();
+            for (long id : touched) {
+                int old = Arrays.binarySearch(ids, id);
+                if (old >= 0) {
+                    newAll[buckets[old]] = without(newAll[buckets[old]], id);
+                    if (categories[old] != null) {
+                        long[][] partitions = writable(newByCategory, categories[old], copied);
+                        partitions[buckets[old]] = without(partitions[buckets[old]], id);
+                    }
+                }
+                int at = Arrays.binarySearch(newIds, id);
+                if (at >= 0) {
+                    newAll[newBuckets[at]] = with(newAll[newBuckets[at]], id);
+                    if (newCategories[at] != null) {
+                        long[][] partitions = writable(newByCategory, newCategories[at], copied);
+                        partitions[newBuckets[at]] = with(partitions[newBuckets[at]], id);
+                    }
+                }
+            }
+            newByCategory.values().removeIf(Snapshot::isEmpty);
+            return new Snapshot(newIds, newCategories, newBuckets, mark, newAll, newByCategory);
+        }
+
+        private int copyRun(int from, int to, long[] newIds, String[] newCategories, byte[] newBuckets, int size) {
+            int length = to - from;
+            System.arraycopy(ids, from, newIds, size, length);
+            System.arraycopy(categories, from, newCategories, size, length);
+            System.arraycopy(buckets, from, newBuckets, size, length);
+            return size + length;
+        }
+
+        private static Snapshot partitioned(long[] ids, String[] categories, byte[] buckets, LocalDateTime watermark) {
+            int[] allCounts = new int[BUCKETS];
+            Map<String, int[]> categoryCounts = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                allCounts[buckets[i]]++;
+                if (categories[i] != null) {
+                    categoryCounts.computeIfAbsent(categories[i], c -> new int[BUCKETS])[buckets[i]]++;
+                }
+            }
+            long[][] all = allocate(allCounts);
+            Map<String, long[][]> byCategory = new HashMap<>(categoryCounts.size() * 2);
+            categoryCounts.forEach((category, counts) -> byCategory.put(category, allocate(counts)));
+
+            int[] allFill = new int[BUCKETS];
+            Map<String, int[]> categoryFill = new HashMap<>(categoryCounts.size() * 2);
+            for (int i = 0; i < ids.length; i++) {
+                int bucket = buckets[i];
+                all[bucket][allFill[bucket]++] = ids[i];
+                if (categories[i] != null) {
+                    int[] fill = categoryFill.computeIfAbsent(categories[i], c -> new int[BUCKETS]);
+                    byCategory.get(categories[i])[bucket][fill[bucket]++] = ids[i];
+                }
+            }
+            return new Snapshot(ids, categories, buckets, watermark, all, byCategory);
+        }
+
+        // Copies a category's partition table once per merge, so shared tables are never written
+        private static long[][] writable(Map<String, long[][]> byCategory, String category, Set<String> copied) {
+            long[][] partitions = byCategory.get(category);
+            if (copied.add(category)) {
+                partitions = partitions == null ? allocate(new int[BUCKETS]) : partitions.clone();
+                byCategory.put(category, partitions);
+            }
+            return partitions;
+        }
+
+        private static long[] with(long[] partition, long id) {
+            int at = Arrays.binarySearch(partition, id);
+            if (at >= 0) {
+                return partition;
+            }
+            int insertAt = -at - 1;
+            long[] result = new long[partition.length + 1];
+            System.arraycopy(partition, 0, result, 0, insertAt);
+            result[insertAt] = id;
+            System.arraycopy(partition, insertAt, result, insertAt + 1, partition.length - insertAt);
+            return result;
+        }
+
+        private static long[] without(long[] partition, long id) {
+            int at = Arrays.binarySearch(partition, id);
+            if (at < 0) {
+                return partition;
+            }
+            long[] result = new long[partition.length - 1];
+            System.arraycopy(partition, 0, result, 0, at);
+            System.arraycopy(partition, at + 1, result, at, partition.length - at - 1);
+            return result;
+        }
+
+        private static boolean isEmpty(long[][] partitions) {
+            for (long[] partition : partitions) {
+                if (partition.length > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String intern(Map<String, String> interned, String category) {
+            return category == null ? null : interned.computeIfAbsent(category, c -> c);
+        }
+
+        private static LocalDateTime later(LocalDateTime watermark, LocalDateTime updatedAt) {
+            return updatedAt != null && (watermark == null || updatedAt.isAfter(watermark)) ? updatedAt : watermark;
+        }
+
+        private static long[][] allocate(int[] counts) {
+            long[][] partitions = new long[BUCKETS][];
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                partitions[bucket] = new long[counts[bucket]];
+            }
+            return partitions;
+        }
+    }
+}
@@ -1,18 +1,34 @@
 package com.novus.backend.service;
 
+import com.novus.backend.common.response.CursorPage;
 import com.novus.backend.domain.content.Quote;
+import com.novus.backend.domain.interaction.UserFavorite;
+import com.novus.backend.readmodel.QuoteView;
 import com.novus.backend.repository.QuoteRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface QuoteService {
-    List<Quote> getRandomQuotes(int limit);
-    List<Quote> getQuotesByAuthor(String author);
-    List<Quote> getQuotesByCategory(String category);
-    Optional<Quote> getQuoteById(Long id);
+    List<QuoteView> getRandomQuotes(int limit);
+    List<QuoteView> getRandomQuotes(int limit, String category, boolean includePremium, boolean includeReligious);
+    CursorPage<QuoteView> getQuotesByAuthor(String author, Long cursor, int limit);
+    CursorPage<QuoteView> getQuotesByCategory(String category, Long cursor, int limit);
+    Optional<QuoteView> getQuoteById(Long id);
+    List<QuoteView> getQuotesByIds(Collection<Long> ids);
+    void streamQuotes(String category, Consumer<QuoteView> sink);
     Quote saveQuote(Quote quote);
 }
 
@@ -20,30 +36,92 @@ public interface QuoteService {
 @RequiredArgsConstructor
 class QuoteServiceImpl implements QuoteService {
 
+    static final int MAX_RANDOM_LIMIT = 100;
+
     private final QuoteRepository quoteRepository;
+    private final QuoteSampler quoteSampler;
+    private final ContentSearchIndex searchIndex;
+    private final ContentCatalogCache catalog;
+    private final ReplicaReads replicaReads;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public List<QuoteView> getRandomQuotes(int limit) {
+        return getRandomQuotes(limit, null, true, true);
+    }
+
+    @Override
+    public List<QuoteView> getRandomQuotes(int limit, String category, boolean includePremium, boolean includeReligious) {
+        long[] ids = quoteSampler.sample(Math.min(limit, MAX_RANDOM_LIMIT), category, includePremium, includeReligious);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, QuoteView> byId = new HashMap<>(ids.length * 2);
+        for (QuoteView quote : getQuotesByIds(Arrays.stream(ids).boxed().toList())) {
+            byId.put(quote.id(), quote);
+        }
+        // Keep the sampled order; ids that vanished were deleted outside the app
+        List<QuoteView> quotes = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            QuoteView quote = byId.get(id);
+            if (quote != null) {
+                quotes.add(quote);
+            } else {
+                quoteSampler.remove(id);
+            }
+        }
+        return quotes;
+    }
+
+    @Override
+    public CursorPage<QuoteView> getQuotesByAuthor(String author, Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        if (!searchIndex.isReady()) {
+            long after = CursorPage.afterCursor(cursor);
+            return replicaReads.get(() -> CursorPage.of(
+                    quoteRepository.findViewsByAuthorAfter(author, after, Limit.of(size + 1)), size, QuoteView::id));
+        }
+        return CursorPage.ofIds(searchIndex.idsByAuthor(UserFavorite.ItemType.QUOTE, author), cursor, size,
+                this::getQuotesByIds, QuoteView::id);
+    }
 
     @Override
-    public List<Quote> getRandomQuotes(int limit) {
-        return quoteRepository.findRandomQuotes(limit);
+    public CursorPage<QuoteView> getQuotesByCategory(String category, Long cursor, int limit) {
+        int size = CursorPage.clampLimit(limit);
+        long after = CursorPage.afterCursor(cursor);
+        return replicaReads.get(() -> catalog.page(UserFavorite.ItemType.QUOTE, new CategoryPage(category, after, size), () -> CursorPage.of(
+                quoteRepository.findViewsByCategoryAfter(category, after, Limit.of(size + 1)),
+                size, QuoteView::id)));
     }
 
     @Override
-    public List<Quote> getQuotesByAuthor(String author) {
-        return quoteRepository.findByAuthorContainingIgnoreCase(author);
+    public Optional<QuoteView> getQuoteById(Long id) {
+        return replicaReads.get(() -> catalog.get(UserFavorite.ItemType.QUOTE, id, quoteRepository::findViewById));
     }
 
     @Override
-    public List<Quote> getQuotesByCategory(String category) {
-        return quoteRepository.findByCategory(category);
+    public List<QuoteView> getQuotesByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : replicaReads.get(() ->
+                catalog.getAll(UserFavorite.ItemType.QUOTE, ids, quoteRepository::findViewsByIdIn, QuoteView::id));
     }
 
     @Override
-    public Optional<Quote> getQuoteById(Long id) {
-        return quoteRepository.findById(id);
+    @Transactional(readOnly = true)
+    public void streamQuotes(String category, Consumer<QuoteView> sink) {
+        replicaReads.run(() -> {
+            try (Stream<QuoteView> quotes = category == null ? quoteRepository.streamViews() : quoteRepository.streamViewsByCategory(category)) {
+                quotes.forEach(sink);
+            }
+        });
     }
 
     @Override
     public Quote saveQuote(Quote quote) {
-        return quoteRepository.save(quote);
+        Quote saved = quoteRepository.save(quote);
+        eventPublisher.publishEvent(new ContentChangedEvent(UserFavorite.ItemType.QUOTE, saved.getId()));
+        return saved;
+    }
+
+    private record CategoryPage(String category, long after, int size) {
     }
 }
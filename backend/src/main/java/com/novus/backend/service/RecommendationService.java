@@ -0,0 +1,362 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.ContentView;
+import com.novus.backend.readmodel.FavoriteView;
+import com.novus.backend.repository.ItemCount;
+import com.novus.backend.repository.PairCount;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+public interface RecommendationService {
+    /**
+     * Items most often favorited by users who also favorited {@code (type, itemId)}, restricted to
+     * {@code types} (all types when empty or null), with the content inlined.
+     */
+    List<AlsoFavorited> alsoFavorited(ItemType type, Long itemId, Set<ItemType> types, int limit);
+
+    record AlsoFavorited(ItemType itemType, Long itemId, int favoritedTogether, double score, ContentView item) {
+    }
+}
+
+/**
+ * "Users who liked this also liked" from an in-memory {@link CoOccurrenceMatrix} over
+ * user_favorites.
+ * <p>
+ * The matrix is built once by streaming all favorites grouped by user (only the newest
+ * {@code novus.recommendations.max-user-items} of a user count, which bounds the pairs a heavy user
+ * contributes) and then updated in place on every {@link FavoritesChangedEvent}: the user's current
+ * favorites are read once and the changed items are paired with them. Batches that contained no-op
+ * changes cannot be applied exactly; the items they touched are recounted from the table instead,
+ * every {@code novus.recommendations.refresh-interval}, and their rows replaced with the exact
+ * counts. The same goes for every change that arrives while a rebuild reads the table, since the
+ * new matrix may or may not include it; those recounts wait until the new matrix is in place.
+ * Recounts ignore the per-user cap and concurrent changes by one user can drift the pair counts;
+ * the periodic rebuild bounds both.
+ */
+@Slf4j
+@Service
+class RecommendationServiceImpl implements RecommendationService {
+
+    static final int MAX_RESULTS = 50;
+
+    private final UserFavoriteRepository userFavoriteRepository;
+    private final QuoteService quoteService;
+    private final ContentService contentService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxNeighbors;
+    private final int maxUserItems;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final ReentrantLock recountLock = new ReentrantLock();
+    private final Set<Long> recount = ConcurrentHashMap.newKeySet();
+    // Written under recountLock, so recounts are never applied to a matrix about to be replaced
+    private volatile boolean building;
+    // Replaced under the write lock; read without it only to notice a swap
+    private volatile CoOccurrenceMatrix matrix;
+
+    RecommendationServiceImpl(UserFavoriteRepository userFavoriteRepository,
+                              QuoteService quoteService,
+                              ContentService contentService,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${novus.recommendations.max-neighbors:64}") int maxNeighbors,
+                              @Value("${novus.recommendations.max-user-items:200}") int maxUserItems) {
+        this.userFavoriteRepository = userFavoriteRepository;
+        this.quoteService = quoteService;
+        this.contentService = contentService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxNeighbors = maxNeighbors;
+        this.maxUserItems = maxUserItems;
+        Gauge.builder("novus.recommendations.items", this, RecommendationServiceImpl::items)
+                .description("Items in the co-occurrence matrix").register(meterRegistry);
+    }
+
+    @Override
+    public List<AlsoFavorited> alsoFavorited(ItemType type, Long itemId, Set<ItemType> types, int limit) {
+        Set<ItemType> scope = types == null || types.isEmpty() ? EnumSet.allOf(ItemType.class) : EnumSet.copyOf(types);
+        long self = CoOccurrenceMatrix.key(type, itemId);
+        List<CoOccurrenceMatrix.Neighbor> neighbors;
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            neighbors = matrix.top(self, Math.min(limit, MAX_RESULTS),
+                    key -> key != self && scope.contains(CoOccurrenceMatrix.typeOf(key)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // One multi-get per content type; items deleted since they were favorited are dropped
+        Map<ItemType, Set<Long>> idsByType = new EnumMap<>(ItemType.class);
+        for (CoOccurrenceMatrix.Neighbor neighbor : neighbors) {
+            idsByType.computeIfAbsent(CoOccurrenceMatrix.typeOf(neighbor.key()), t -> new HashSet<>())
+                    .add(CoOccurrenceMatrix.idOf(neighbor.key()));
+        }
+        Map<FavoriteItem, ContentView> items = new HashMap<>();
+        idsByType.forEach((itemType, ids) -> {
+            switch (itemType) {
+                case QUOTE -> quoteService.getQuotesByIds(ids)
+                        .forEach(quote -> items.put(new FavoriteItem(itemType, quote.id()), quote));
+                case BOOK -> contentService.getBooksByIds(ids)
+                        .forEach(book -> items.put(new FavoriteItem(itemType, book.id()), book));
+                case MOVIE -> contentService.getMoviesByIds(ids)
+                        .forEach(movie -> items.put(new FavoriteItem(itemType, movie.id()), movie));
+            }
+        });
+        List<AlsoFavorited> result = new ArrayList<>(neighbors.size());
+        for (CoOccurrenceMatrix.Neighbor neighbor : neighbors) {
+            FavoriteItem item = new FavoriteItem(CoOccurrenceMatrix.typeOf(neighbor.key()), CoOccurrenceMatrix.idOf(neighbor.key()));
+            ContentView content = items.get(item);
+            if (content != null) {
+                result.add(new AlsoFavorited(item.itemType(), item.itemId(), neighbor.together(), neighbor.score(), content));
+            }
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onFavoritesChanged(FavoritesChangedEvent event) {
+        CoOccurrenceMatrix applied = event.exact() ? apply(event) : null;
+        // Checked after applying: a rebuild running or finished meanwhile may not have seen the change
+        if (!event.exact() || building || applied == null || matrix != applied) {
+            markForRecount(event);
+        }
+    }
+
+    private void markForRecount(FavoritesChangedEvent event) {
+        event.added().forEach(item -> recount.add(CoOccurrenceMatrix.key(item.itemType(), item.itemId())));
+        event.removed().forEach(item -> recount.add(CoOccurrenceMatrix.key(item.itemType(), item.itemId())));
+    }
+
+    /**
+     * Applies an exact change to the current matrix and returns it, or {@code null} if there is none yet.
+     */
+    private CoOccurrenceMatrix apply(FavoritesChangedEvent event) {
+        long[] added = keys(event.added());
+        long[] removed = keys(event.removed());
+        // The user's favorites after the change, minus what it added, is what the changed items
+        // were (or are now) favorited together with
+        Set<Long> addedSet = new HashSet<>();
+        for (long key : added) {
+            addedSet.add(key);
+        }
+        List<FavoriteItem> current = userFavoriteRepository.findItemsByUserId(event.userId(), Limit.of(maxUserItems));
+        long[] others = new long[current.size() + removed.length + added.length];
+        int base = 0;
+        for (FavoriteItem item : current) {
+            long key = CoOccurrenceMatrix.key(item.itemType(), item.itemId());
+            if (!addedSet.contains(key)) {
+                others[base++] = key;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            CoOccurrenceMatrix target = matrix;
+            if (target == null) {
+                return null;
+            }
+            // Pairs among the removed items are undone once each: r[i] against r[i+1..]
+            for (int i = removed.length - 1; i >= 0; i--) {
+                target.remove(removed[i], others, base + (removed.length - 1 - i));
+                others[base + (removed.length - 1 - i)] = removed[i];
+            }
+            // Likewise pairs among the added items are counted once: a[i] against a[0..i)
+            for (int i = 0; i < added.length; i++) {
+                target.add(added[i], others, base + i);
+                others[base + i] = added[i];
+            }
+            return target;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Recommendation matrix warm-up failed, will build lazily: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.recommendations.refresh-interval:PT1M}",
+            initialDelayString = "${novus.recommendations.refresh-interval:PT1M}")
+    void applyRecounts() {
+        recountLock.lock();
+        try {
+            CoOccurrenceMatrix current = matrix;
+            if (building || current == null || recount.isEmpty()) {
+                return;
+            }
+            Map<ItemType, Set<Long>> idsByType = new EnumMap<>(ItemType.class);
+            for (Long key : recount) {
+                recount.remove(key);
+                idsByType.computeIfAbsent(CoOccurrenceMatrix.typeOf(key), t -> new HashSet<>()).add(CoOccurrenceMatrix.idOf(key));
+            }
+            Map<Long, Integer> favoritedBy = new HashMap<>();
+            Map<Long, List<PairCount>> pairs = new HashMap<>();
+            idsByType.forEach((type, ids) -> {
+                for (long id : ids) {
+                    favoritedBy.put(CoOccurrenceMatrix.key(type, id), 0);
+                }
+                for (ItemCount count : userFavoriteRepository.countByItemIds(type, ids)) {
+                    favoritedBy.put(CoOccurrenceMatrix.key(type, count.itemId()), count.count().intValue());
+                }
+                for (PairCount pair : userFavoriteRepository.countPairsByItemIds(type, ids)) {
+                    pairs.computeIfAbsent(CoOccurrenceMatrix.key(type, pair.itemId()), k -> new ArrayList<>()).add(pair);
+                }
+            });
+            lock.writeLock().lock();
+            try {
+                favoritedBy.forEach((key, count) -> {
+                    List<PairCount> together = pairs.getOrDefault(key, List.of());
+                    long[] others = new long[together.size()];
+                    int[] counts = new int[together.size()];
+                    for (int i = 0; i < others.length; i++) {
+                        others[i] = CoOccurrenceMatrix.key(together.get(i).otherType(), together.get(i).otherId());
+                        counts[i] = together.get(i).count().intValue();
+                    }
+                    current.reset(key, count, others, counts, others.length);
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            recountLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.recommendations.rebuild-interval:PT6H}",
+            initialDelayString = "${novus.recommendations.rebuild-interval:PT6H}")
+    void rebuild() {
+        buildLock.lock();
+        try {
+            build();
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        CoOccurrenceMatrix built = new CoOccurrenceMatrix(maxNeighbors);
+        long[] userItems = new long[maxUserItems];
+        int[] count = {0};
+        UUID[] user = {null};
+        int[] favorites = {0};
+        setBuilding(true);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<FavoriteView> stream = userFavoriteRepository.streamViewsByUser()) {
+                    stream.forEach(favorite -> {
+                        if (!favorite.userId().equals(user[0])) {
+                            user[0] = favorite.userId();
+                            count[0] = 0;
+                        }
+                        if (count[0] < maxUserItems) {
+                            long key = CoOccurrenceMatrix.key(favorite.itemType(), favorite.itemId());
+                            built.add(key, userItems, count[0]);
+                            userItems[count[0]++] = key;
+                            favorites[0]++;
+                        }
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            setBuilding(false);
+            throw e;
+        }
+        // Recounts marked while the table was read now apply to the new matrix
+        recountLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                matrix = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            building = false;
+        } finally {
+            recountLock.unlock();
+        }
+        log.info("Recommendation matrix built from {} favorites over {} items in {} ms",
+                favorites[0], built.items(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void setBuilding(boolean value) {
+        recountLock.lock();
+        try {
+            building = value;
+        } finally {
+            recountLock.unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built()) {
+            return;
+        }
+        buildLock.lock();
+        try {
+            if (!built()) {
+                build();
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private boolean built() {
+        lock.readLock().lock();
+        try {
+            return matrix != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int items() {
+        lock.readLock().lock();
+        try {
+            return matrix == null ? 0 : matrix.items();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long[] keys(List<FavoriteItem> items) {
+        long[] keys = new long[items.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = CoOccurrenceMatrix.key(items.get(i).itemType(), items.get(i).itemId());
+        }
+        return keys;
+    }
+}
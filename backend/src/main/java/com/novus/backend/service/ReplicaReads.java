@@ -0,0 +1,88 @@
+package com.novus.backend.service;
+
+import com.novus.backend.config.ReplicaRouting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Marks the reads that may be served by the read replica (see {@link ReplicaRouting}), with
+ * read-your-writes on top of it.
+ * <p>
+ * Content reads stay on the primary for {@code stickyFor} after any content change, and a user's
+ * own reads for {@code stickyFor} after their favorites changed, so neither reads back the state
+ * from before the write or caches it. The window opens when the change is published, ahead of its
+ * commit. Content changes made elsewhere arrive through {@link ContentChangeFeed} and count the
+ * same; favorite writes are only known to the instance that took them, so a user who lands on
+ * another instance within the window may see a lagging list. With no replica configured every
+ * read simply runs.
+ */
+@Component
+class ReplicaReads {
+
+    private final boolean enabled;
+    private final long stickyForNanos;
+    private final Map<UUID, Long> userPinnedUntil = new ConcurrentHashMap<>();
+    private volatile long contentPinnedUntil = System.nanoTime();
+
+    ReplicaReads(@Value("${novus.datasource.replica.url:}") String replicaUrl,
+                 @Value("${novus.datasource.replica.sticky-for:PT5S}") Duration stickyFor) {
+        this.enabled = !replicaUrl.isBlank();
+        this.stickyForNanos = stickyFor.toNanos();
+    }
+
+    /**
+     * Runs a content read, on the replica unless content changed within the window.
+     */
+    <T> T get(Supplier<T> read) {
+        return enabled ? ReplicaRouting.read(!pinned(contentPinnedUntil), read) : read.get();
+    }
+
+    void run(Runnable read) {
+        get(() -> {
+            read.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a read of the user's own data, on the primary within the window after their last write.
+     */
+    <T> T forUser(UUID userId, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        Long until = userPinnedUntil.get(userId);
+        return ReplicaRouting.read(until == null || !pinned(until), () -> get(read));
+    }
+
+    @EventListener
+    void onFavoritesChanged(FavoritesChangedEvent event) {
+        if (enabled) {
+            userPinnedUntil.put(event.userId(), System.nanoTime() + stickyForNanos);
+        }
+    }
+
+    @EventListener
+    void onContentChanged(ContentChangedEvent event) {
+        if (enabled) {
+            contentPinnedUntil = System.nanoTime() + stickyForNanos;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${novus.datasource.replica.sticky-for:PT5S}")
+    void prune() {
+        userPinnedUntil.values().removeIf(until -> !pinned(until));
+    }
+
+    private static boolean pinned(long until) {
+        return until - System.nanoTime() > 0;
+    }
+}
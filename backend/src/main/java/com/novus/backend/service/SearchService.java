@@ -0,0 +1,40 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public interface SearchService {
+    List<SearchHit> search(String query, Set<ItemType> types, int limit);
+    List<String> suggest(String prefix, int limit);
+
+    record SearchHit(ItemType type, long id, String text, String author, String category, double score) {
+    }
+}
+
+@Service
+@RequiredArgsConstructor
+class SearchServiceImpl implements SearchService {
+
+    static final int MAX_HITS = 50;
+    static final int MAX_SUGGESTIONS = 20;
+    private static final Set<ItemType> SEARCHABLE = EnumSet.of(ItemType.QUOTE, ItemType.BOOK);
+
+    private final ContentSearchIndex searchIndex;
+
+    @Override
+    public List<SearchHit> search(String query, Set<ItemType> types, int limit) {
+        Set<ItemType> scope = types == null || types.isEmpty() ? SEARCHABLE : EnumSet.copyOf(types);
+        scope.retainAll(SEARCHABLE);
+        return searchIndex.search(query, scope, Math.min(limit, MAX_HITS));
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        return searchIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+}
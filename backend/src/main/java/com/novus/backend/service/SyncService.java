@@ -0,0 +1,260 @@
+package com.novus.backend.service;
+
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.readmodel.TombstoneView;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.ContentTombstoneRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+public interface SyncService {
+    int DEFAULT_LIMIT = 500;
+    int MAX_LIMIT = 1000;
+
+    /**
+     * Returns up to {@code limit} changes since {@code token}, or the whole catalog when the token
+     * is null. Throws {@link IllegalArgumentException} for a token this server did not issue.
+     */
+    SyncBatch changes(String token, int limit);
+
+    /**
+     * One page of a delta sync. Keep requesting with {@code nextToken} while {@code hasMore} is set;
+     * the last page's token is the one to store for the next sync. When {@code reset} is set the
+     * stored token was too old to compute a delta from and the client should drop its cache before
+     * applying this batch, which then starts a full sync.
+     */
+    record SyncBatch(List<QuoteView> quotes, List<BookView> books, List<MovieView> movies,
+                     List<TombstoneView> deleted, String nextToken, boolean hasMore, boolean reset) {
+    }
+}
+
+/**
+ * Delta sync over quotes, books and movies using {@code updated_at} and the tombstones written by
+ * the content trigger (see ContentChangeFeed).
+ * <p>
+ * A sync session covers changes in {@code (since, horizon]}. The horizon is fixed when the session
+ * starts, {@code novus.sync.settle} behind the clock so that transactions still in flight (whose
+ * {@code updated_at} was stamped before they committed) are visible by the time it is read. Each
+ * table is walked in (updated_at, id) order with a keyset cursor carried in the token, so pages
+ * neither skip nor repeat rows when content is written between requests: a row updated mid-session
+ * moves past the horizon and is delivered by the next sync. The final page hands back a token whose
+ * {@code since} is the horizon.
+ * <p>
+ * Session bounds are local times in this service's zone, the zone Hibernate stamps
+ * {@code updated_at} in. Tombstones carry an absolute {@code deleted_at}, so they are compared
+ * after converting the bounds through that same zone.
+ */
+@Slf4j
+@Service
+class SyncServiceImpl implements SyncService {
+
+    private final QuoteRepository quoteRepository;
+    private final BookRepository bookRepository;
+    private final MovieRepository movieRepository;
+    private final ContentTombstoneRepository tombstoneRepository;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+    private final Clock clock;
+
+    @Autowired
+    SyncServiceImpl(QuoteRepository quoteRepository,
+                    BookRepository bookRepository,
+                    MovieRepository movieRepository,
+                    ContentTombstoneRepository tombstoneRepository,
+                    @Value("${novus.sync.settle:PT5S}") Duration settle,
+                    @Value("${novus.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this(quoteRepository, bookRepository, movieRepository, tombstoneRepository, settle, tombstoneRetention,
+                Clock.systemDefaultZone());
+    }
+
+    SyncServiceImpl(QuoteRepository quoteRepository,
+                    BookRepository bookRepository,
+                    MovieRepository movieRepository,
+                    ContentTombstoneRepository tombstoneRepository,
+                    Duration settle,
+                    Duration tombstoneRetention,
+                    Clock clock) {
+        this.quoteRepository = quoteRepository;
+        this.bookRepository = bookRepository;
+        this.movieRepository = movieRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+        this.clock = clock;
+    }
+
+    @Override
+    public SyncBatch changes(String token, int limit) {
+        int remaining = limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        SyncToken cursor = token == null || token.isBlank() ? null : SyncToken.decode(token);
+        // Tombstones older than the retention period are gone, so the delta would miss deletes
+        boolean reset = cursor != null && !cursor.since().equals(SyncToken.FULL)
+                && cursor.since().isBefore(now.minus(tombstoneRetention));
+        if (cursor == null || reset) {
+            cursor = SyncToken.start(SyncToken.FULL, now.minus(settle));
+        } else if (cursor.phase() == Phase.QUOTES && cursor.afterId() == Long.MAX_VALUE
+                && cursor.afterTimestamp().equals(cursor.since())) {
+            // A stored token from a finished session: open a new one up to the current horizon
+            LocalDateTime horizon = now.minus(settle);
+            cursor = SyncToken.start(cursor.since(), horizon.isAfter(cursor.since()) ? horizon : cursor.since());
+        }
+
+        List<QuoteView> quotes = List.of();
+        List<BookView> books = List.of();
+        List<MovieView> movies = List.of();
+        List<TombstoneView> deleted = List.of();
+        while (cursor.phase() != null) {
+            if (remaining == 0) {
+                return new SyncBatch(quotes, books, movies, deleted, cursor.encode(), true, reset);
+            }
+            Page<?> page = switch (cursor.phase()) {
+                case QUOTES -> next(cursor, remaining, QuoteView::updatedAt, QuoteView::id,
+                        quoteRepository::findViewsChangedAfter);
+                case BOOKS -> next(cursor, remaining, BookView::updatedAt, BookView::id,
+                        bookRepository::findViewsChangedAfter);
+                case MOVIES -> next(cursor, remaining, MovieView::updatedAt, MovieView::id,
+                        movieRepository::findViewsChangedAfter);
+                // Nothing to delete on a device that is starting from an empty cache
+                case DELETES -> cursor.since().equals(SyncToken.FULL)
+                        ? new Page<>(List.of(), cursor.nextPhase())
+                        : next(cursor, remaining, tombstone -> local(tombstone.deletedAt()), TombstoneView::id,
+                        (afterDeletedAt, afterId, horizon, pageLimit) -> tombstoneRepository.findViewsDeletedAfter(
+                                instant(afterDeletedAt), afterId, instant(horizon), pageLimit));
+            };
+            switch (cursor.phase()) {
+                case QUOTES -> quotes = cast(page.rows());
+                case BOOKS -> books = cast(page.rows());
+                case MOVIES -> movies = cast(page.rows());
+                case DELETES -> deleted = cast(page.rows());
+            }
+            remaining -= page.rows().size();
+            cursor = page.next();
+        }
+        return new SyncBatch(quotes, books, movies, deleted,
+                SyncToken.start(cursor.horizon(), cursor.horizon()).encode(), false, reset);
+    }
+
+    private static <T> Page<T> next(SyncToken cursor, int remaining,
+                                    Function<T, LocalDateTime> timestampOf, Function<T, Long> idOf,
+                                    KeysetQuery<T> query) {
+        List<T> fetched = query.find(cursor.afterTimestamp(), cursor.afterId(), cursor.horizon(), Limit.of(remaining + 1));
+        if (fetched.size() <= remaining) {
+            return new Page<>(fetched, cursor.nextPhase());
+        }
+        List<T> rows = new ArrayList<>(fetched.subList(0, remaining));
+        T last = rows.get(remaining - 1);
+        return new Page<>(rows, cursor.after(timestampOf.apply(last), idOf.apply(last)));
+    }
+
+    private LocalDateTime local(Instant instant) {
+        return LocalDateTime.ofInstant(instant, clock.getZone());
+    }
+
+    private Instant instant(LocalDateTime local) {
+        return local.atZone(clock.getZone()).toInstant();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<?> rows) {
+        return (List<T>) rows;
+    }
+
+    @Scheduled(fixedDelayString = "${novus.sync.tombstone-prune-interval:PT1H}",
+            initialDelayString = "${novus.sync.tombstone-prune-interval:PT1H}")
+    void pruneTombstones() {
+        int pruned = tombstoneRepository.deleteOlderThan(clock.instant().minus(tombstoneRetention));
+        if (pruned > 0) {
+            log.info("Pruned {} content tombstones older than {}", pruned, tombstoneRetention);
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeysetQuery<T> {
+        List<T> find(LocalDateTime afterTimestamp, long afterId, LocalDateTime horizon, Limit limit);
+    }
+
+    private record Page<T>(List<T> rows, SyncToken next) {
+    }
+
+    enum Phase {
+        QUOTES, BOOKS, MOVIES, DELETES
+    }
+
+    /**
+     * Position within a sync session: the session window {@code (since, horizon]}, the table being
+     * walked and the last (timestamp, id) returned from it. A null phase means the session is done.
+     */
+    record SyncToken(LocalDateTime since, LocalDateTime horizon, Phase phase, LocalDateTime afterTimestamp, long afterId) {
+
+        static final LocalDateTime FULL = LocalDateTime.of(1970, 1, 1, 0, 0);
+        private static final String PREFIX = "v1.";
+
+        static SyncToken start(LocalDateTime since, LocalDateTime horizon) {
+            return new SyncToken(since, horizon, Phase.QUOTES, since, Long.MAX_VALUE);
+        }
+
+        SyncToken after(LocalDateTime timestamp, long id) {
+            return new SyncToken(since, horizon, phase, timestamp, id);
+        }
+
+        SyncToken nextPhase() {
+            Phase next = phase.ordinal() + 1 < Phase.values().length ? Phase.values()[phase.ordinal() + 1] : null;
+            return new SyncToken(since, horizon, next, since, Long.MAX_VALUE);
+        }
+
+        String encode() {
+            String raw = micros(since) + "|" + micros(horizon) + "|" + phase.ordinal() + "|"
+                    + micros(afterTimestamp) + "|" + afterId;
+            return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static SyncToken decode(String token) {
+            if (!token.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Unrecognised sync token");
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.substring(PREFIX.length())), StandardCharsets.US_ASCII);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 5) {
+                    throw new IllegalArgumentException("Malformed sync token");
+                }
+                SyncToken decoded = new SyncToken(timestamp(parts[0]), timestamp(parts[1]),
+                        Phase.values()[Integer.parseInt(parts[2])], timestamp(parts[3]), Long.parseLong(parts[4]));
+                if (decoded.horizon().isBefore(decoded.since())) {
+                    throw new IllegalArgumentException("Malformed sync token");
+                }
+                return decoded;
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Malformed sync token", e);
+            }
+        }
+
+        private static long micros(LocalDateTime timestamp) {
+            return ChronoUnit.MICROS.between(FULL, timestamp);
+        }
+
+        private static LocalDateTime timestamp(String micros) {
+            return FULL.plus(Long.parseLong(micros), ChronoUnit.MICROS);
+        }
+    }
+}
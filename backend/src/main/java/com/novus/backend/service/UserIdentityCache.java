@@ -0,0 +1,59 @@
+package com.novus.backend.service;
+
+import com.novus.backend.common.cache.BoundedCache;
+import com.novus.backend.readmodel.UserView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded keycloakId → user cache so authenticated requests can resolve the local user without a
+ * query. Entries expire after a TTL as a safety net; {@link UserService} evicts explicitly whenever
+ * it writes a user. A put never replaces an entry with a newer {@code updatedAt}, so a read that
+ * loaded the row before a concurrent write committed cannot put the old row back.
+ */
+@Component
+class UserIdentityCache {
+
+    private final BoundedCache<String, Entry> entries;
+    private final long ttlNanos;
+
+    UserIdentityCache(@Value("${novus.users.identity-cache.max-entries:50000}") int maxEntries,
+                      @Value("${novus.users.identity-cache.ttl:PT10M}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new BoundedCache<>(maxEntries, entry -> System.nanoTime() - entry.loadedAt() > ttlNanos);
+    }
+
+    UserView get(String keycloakId) {
+        Entry entry = entries.get(keycloakId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt() > ttlNanos) {
+            entries.remove(keycloakId, entry);
+            return null;
+        }
+        return entry.user();
+    }
+
+    void put(UserView user) {
+        if (user.keycloakId() == null) {
+            return;
+        }
+        entries.merge(user.keycloakId(), new Entry(user, System.nanoTime()),
+                (cached, loaded) -> isNewer(cached.user(), loaded.user()) ? cached : loaded);
+    }
+
+    void evict(String keycloakId) {
+        entries.remove(keycloakId);
+    }
+
+    private static boolean isNewer(UserView cached, UserView loaded) {
+        return cached.updatedAt() != null
+                && (loaded.updatedAt() == null || cached.updatedAt().isAfter(loaded.updatedAt()));
+    }
+
+    private record Entry(UserView user, long loadedAt) {
+    }
+}
@@ -1,18 +1,23 @@
 package com.novus.backend.service;
 
 import com.novus.backend.domain.user.User;
+import com.novus.backend.readmodel.UserView;
 import com.novus.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface UserService {
-    User syncUser(String keycloakId, String email, String displayName);
-    User getUserByKeycloakId(String keycloakId);
+    UserView syncUser(String keycloakId, String email, String displayName);
+    UserView getProfile(String keycloakId, String email, String displayName);
+    UserView getUserByKeycloakId(String keycloakId);
+    UUID getUserIdByKeycloakId(String keycloakId);
 }
 
 @Slf4j
@@ -21,10 +26,53 @@ public interface UserService {
 class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache identityCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
-    public User syncUser(String keycloakId, String email, String displayName) {
+    public UserView syncUser(String keycloakId, String email, String displayName) {
+        identityCache.evict(keycloakId);
+        // Copied inside the transaction, where the lazy interests can still be read
+        UserView user = transactionTemplate.execute(status -> UserView.of(upsert(keycloakId, email, displayName)));
+        identityCache.put(user);
+        return user;
+    }
+
+    @Override
+    public UserView getProfile(String keycloakId, String email, String displayName) {
+        // Only write when the token carries profile data we have not stored yet
+        UserView current = find(keycloakId).orElse(null);
+        if (current != null
+                && (email == null || Objects.equals(email, current.email()))
+                && (displayName == null || Objects.equals(displayName, current.displayName()))) {
+            return current;
+        }
+        return syncUser(keycloakId, email, displayName);
+    }
+
+    @Override
+    public UserView getUserByKeycloakId(String keycloakId) {
+        // This is used internally, we ensure the user exists via sync usually
+        return find(keycloakId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found for ID: " + keycloakId));
+    }
+
+    @Override
+    public UUID getUserIdByKeycloakId(String keycloakId) {
+        return getUserByKeycloakId(keycloakId).id();
+    }
+
+    private Optional<UserView> find(String keycloakId) {
+        UserView cached = identityCache.get(keycloakId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<UserView> user = userRepository.findWithInterestsByKeycloakId(keycloakId).map(UserView::of);
+        user.ifPresent(identityCache::put);
+        return user;
+    }
+
+    private User upsert(String keycloakId, String email, String displayName) {
         return userRepository.findByKeycloakId(keycloakId)
                 .map(existingUser -> {
                     boolean updated = false;
@@ -51,11 +99,4 @@ class UserServiceImpl implements UserService {
                     return userRepository.save(newUser);
                 });
     }
-
-    @Override
-    public User getUserByKeycloakId(String keycloakId) {
-        // This is used internally, we ensure the user exists via sync usually
-        return userRepository.findByKeycloakId(keycloakId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found for ID: " + keycloakId));
-    }
 }
@@ -0,0 +1,28 @@
+-- Row triggers behind ContentChangeFeed: every change to quotes, books and movies is announced on
+-- the novus_content channel as '<table>:<id>', and deletes leave a row in content_tombstones for
+-- delta sync. The tables themselves are created by Hibernate, which runs first (see MigrationConfig).
+
+CREATE OR REPLACE FUNCTION novus_notify_content_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO content_tombstones (item_type, item_id, deleted_at)
+            VALUES (TG_ARGV[0], OLD.id, LOCALTIMESTAMP);
+        PERFORM pg_notify('novus_content', TG_TABLE_NAME || ':' || OLD.id);
+    ELSE
+        PERFORM pg_notify('novus_content', TG_TABLE_NAME || ':' || NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS novus_content_change ON quotes;
+CREATE TRIGGER novus_content_change AFTER INSERT OR UPDATE OR DELETE ON quotes
+    FOR EACH ROW EXECUTE FUNCTION novus_notify_content_change('QUOTE');
+
+DROP TRIGGER IF EXISTS novus_content_change ON books;
+CREATE TRIGGER novus_content_change AFTER INSERT OR UPDATE OR DELETE ON books
+    FOR EACH ROW EXECUTE FUNCTION novus_notify_content_change('BOOK');
+
+DROP TRIGGER IF EXISTS novus_content_change ON movies;
+CREATE TRIGGER novus_content_change AFTER INSERT OR UPDATE OR DELETE ON movies
+    FOR EACH ROW EXECUTE FUNCTION novus_notify_content_change('MOVIE');
@@ -0,0 +1,27 @@
+-- deleted_at used to be LOCALTIMESTAMP, i.e. wall-clock time in the deleting session's TimeZone,
+-- which differs between the application (JVM zone) and the CMS. Store an absolute timestamptz
+-- instead. Existing rows are read in this session's zone, the one the application wrote them in.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'content_tombstones'
+                 AND column_name = 'deleted_at' AND data_type = 'timestamp without time zone') THEN
+        ALTER TABLE content_tombstones
+            ALTER COLUMN deleted_at TYPE timestamptz USING deleted_at AT TIME ZONE current_setting('TimeZone');
+    END IF;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION novus_notify_content_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        INSERT INTO content_tombstones (item_type, item_id, deleted_at)
+            VALUES (TG_ARGV[0], OLD.id, clock_timestamp());
+        PERFORM pg_notify('novus_content', TG_TABLE_NAME || ':' || OLD.id);
+    ELSE
+        PERFORM pg_notify('novus_content', TG_TABLE_NAME || ':' || NEW.id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,89 @@
+package com.novus.backend.bench;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency samples and error count for one endpoint of a load run. Samples go to a per-thread
+ * fixed-size buffer, so recording never contends; samples past a buffer's capacity are dropped.
+ * {@link #summarize} is meant to be called once the recording threads have finished.
+ */
+public final class LatencyRecorder {
+
+    private static final int BUFFER_CAPACITY = 1 << 16;
+
+    private final String name;
+    private final List<Buffer> buffers = new ArrayList<>();
+    private final ThreadLocal<Buffer> local = ThreadLocal.withInitial(this::newBuffer);
+    private final AtomicLong errors = new AtomicLong();
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void record(long nanos) {
+        local.get().add(nanos);
+    }
+
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    public Summary summarize(Duration measured) {
+        long[] all;
+        synchronized (buffers) {
+            all = buffers.stream().flatMapToLong(buffer -> Arrays.stream(buffer.values, 0, buffer.size)).toArray();
+        }
+        Arrays.sort(all);
+        return new Summary(name, all.length, errors.get(), all.length / (double) measured.toMillis() * 1000,
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    public static void printHeader() {
+        System.out.printf("%-36s %9s %10s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+    }
+
+    private Buffer newBuffer() {
+        Buffer buffer = new Buffer();
+        synchronized (buffers) {
+            buffers.add(buffer);
+        }
+        return buffer;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.max(0, Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1))] / 1e6;
+    }
+
+    public record Summary(String name, long requests, long errors, double throughput,
+                          double p50, double p90, double p99, double p999, double max) {
+
+        public void print() {
+            System.out.printf("%-36s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n",
+                    name, requests, throughput, p50, p90, p99, p999, max, errors);
+        }
+    }
+
+    private static final class Buffer {
+        final long[] values = new long[BUFFER_CAPACITY];
+        int size;
+
+        void add(long nanos) {
+            if (size < values.length) {
+                values[size++] = nanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.novus.backend.bench;
+
+import com.novus.backend.load.LoadTokens;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load driver with a weighted traffic mix modelled on the mobile app: mostly random quotes,
+ * catalog browsing and favorite toggles. Each worker acts as one seeded user with its own token.
+ * Start the backend with {@link com.novus.backend.load.LoadTestApplication}, then:
+ *
+ * <pre>
+ * java -cp target/test-classes com.novus.backend.bench.LoadDriver --base-url=http://localhost:8080 \
+ *     --concurrency=200 --duration=PT2M --warmup=PT20S [--rate=2000] [--users=1000] [--quotes=20000]
+ * </pre>
+ *
+ * Without {@code --rate} the run is closed-loop: every worker sends its next request as soon as
+ * the previous one returns. With {@code --rate} requests are scheduled at fixed intervals
+ * and latency is measured from the scheduled start, so a slow server is not hidden by coordinated
+ * omission. Id ranges and the secret must match the seeding settings of the server.
+ */
+public final class LoadDriver {
+
+    private static final String[] CATEGORIES = {"motivation", "success", "love", "wisdom", "life", "happiness"};
+    private static final String[] QUERIES = {"courage", "dream", "hope", "light", "journey", "patience"};
+    private static final String[] ZONES = {"Z", "Europe/Istanbul", "America/New_York", "Asia/Tokyo", "+05:30"};
+
+    private final String baseUrl;
+    private final Map<String, String> options;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final List<Operation> operations = new ArrayList<>();
+    private final Map<String, LatencyRecorder> recorders = new HashMap<>();
+    private int totalWeight;
+
+    private LoadDriver(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = option("base-url", "http://localhost:8080");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Unrecognised argument " + arg + ", expected --name=value");
+                System.exit(2);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    private void run() throws InterruptedException {
+        int concurrency = Integer.parseInt(option("concurrency", "100"));
+        Duration duration = Duration.parse(option("duration", "PT60S"));
+        Duration warmup = Duration.parse(option("warmup", "PT15S"));
+        double rate = Double.parseDouble(option("rate", "0"));
+        int users = Integer.parseInt(option("users", "1000"));
+        int quotes = Integer.parseInt(option("quotes", "20000"));
+        int books = Integer.parseInt(option("books", "5000"));
+        int movies = Integer.parseInt(option("movies", "5000"));
+        String secret = option("secret", LoadTokens.DEFAULT_SECRET);
+        defineMix(quotes, books, movies);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long intervalNanos = rate > 0 ? (long) (concurrency * 1e9 / rate) : 0;
+        Instant tokenExpiry = Instant.now().plus(warmup).plus(duration).plusSeconds(3600);
+        System.out.printf("Driving %s with %d workers for %s after %s warm-up (%s)%n", baseUrl, concurrency, duration,
+                warmup, rate > 0 ? "open loop at " + rate + " req/s" : "closed loop");
+
+        CountDownLatch done = new CountDownLatch(concurrency);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    try {
+                        Session session = new Session(LoadTokens.mint(secret, worker % users, tokenExpiry),
+                                new SplittableRandom(worker * 0x9E3779B97F4A7C15L));
+                        // Spread open-loop workers over one interval so they do not fire in lockstep
+                        long intended = start + (intervalNanos == 0 ? 0 : intervalNanos * worker / concurrency);
+                        while (true) {
+                            long now = System.nanoTime();
+                            if (intervalNanos > 0) {
+                                if (intended > now) {
+                                    LockSupport.parkNanos(intended - now);
+                                }
+                            } else {
+                                intended = now;
+                            }
+                            if (intended >= end) {
+                                break;
+                            }
+                            call(pick(session.random), session, intended, intended >= measureFrom);
+                            intended += intervalNanos;
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        for (Operation operation : operations) {
+            summaries.add(recorders.get(operation.name).summarize(duration));
+        }
+        summaries.sort((a, b) -> Long.compare(b.requests(), a.requests()));
+        LatencyRecorder.printHeader();
+        summaries.forEach(LatencyRecorder.Summary::print);
+        long requests = summaries.stream().mapToLong(LatencyRecorder.Summary::requests).sum();
+        long errors = summaries.stream().mapToLong(LatencyRecorder.Summary::errors).sum();
+        System.out.printf("total: %d requests, %.1f req/s, %d errors%n", requests,
+                requests / (double) duration.toMillis() * 1000, errors);
+    }
+
+    private void defineMix(int quotes, int books, int movies) {
+        define("GET /quotes/random", 35, (s, r) -> get("/api/v1/quotes/random?limit=10", null));
+        define("GET /quotes/random?category", 5, (s, r) -> get("/api/v1/quotes/random?limit=10&category="
+                + CATEGORIES[r.nextInt(CATEGORIES.length)], null));
+        define("GET /quotes/daily", 5, (s, r) -> get("/api/v1/quotes/daily?personalized=true&tz="
+                + ZONES[r.nextInt(ZONES.length)].replace("+", "%2B"), s.token));
+        define("GET /quotes?category", 5, (s, r) -> get("/api/v1/quotes?category="
+                + CATEGORIES[r.nextInt(CATEGORIES.length)], null));
+        define("GET /content/books", 8, (s, r) -> get("/api/v1/content/books?cursor=" + r.nextInt(Math.max(1, books)), null));
+        define("GET /content/books/{id}", 8, (s, r) -> get("/api/v1/content/books/" + (1 + r.nextInt(Math.max(1, books))), null));
+        define("GET /content/movies", 5, (s, r) -> get("/api/v1/content/movies?cursor=" + r.nextInt(Math.max(1, movies)), null));
+        define("GET /content/movies/{id}", 5, (s, r) -> get("/api/v1/content/movies/" + (1 + r.nextInt(Math.max(1, movies))), null));
+        define("POST /favorites/{type}/{id}", 8, (s, r) -> {
+            long id = 1 + r.nextInt(Math.max(1, quotes));
+            s.favorited.push(id);
+            return send("POST", "/api/v1/favorites/QUOTE/" + id, s.token);
+        });
+        define("DELETE /favorites/{type}/{id}", 7, (s, r) -> {
+            long id = s.favorited.isEmpty() ? 1 + r.nextInt(Math.max(1, quotes)) : s.favorited.pop();
+            return send("DELETE", "/api/v1/favorites/QUOTE/" + id, s.token);
+        });
+        define("GET /favorites/hydrated", 5, (s, r) -> get("/api/v1/favorites/hydrated?limit=20", s.token));
+        define("GET /search", 4, (s, r) -> get("/api/v1/search?q=" + QUERIES[r.nextInt(QUERIES.length)], null));
+    }
+
+    private void define(String name, int weight, RequestFactory factory) {
+        operations.add(new Operation(name, weight, factory));
+        recorders.put(name, new LatencyRecorder(name));
+        totalWeight += weight;
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void call(Operation operation, Session session, long intended, boolean measured) {
+        LatencyRecorder recorder = recorders.get(operation.name);
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(operation.factory.create(session, session.random),
+                    HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (Exception e) {
+            failed = true;
+        }
+        if (measured) {
+            recorder.record(System.nanoTime() - intended);
+            if (failed) {
+                recorder.error();
+            }
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        return token == null ? request.build() : request.header("Authorization", "Bearer " + token).build();
+    }
+
+    private HttpRequest send(String method, String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token)
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private record Operation(String name, int weight, RequestFactory factory) {
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create(Session session, SplittableRandom random);
+    }
+
+    private static final class Session {
+        final String token;
+        final SplittableRandom random;
+        final Deque<Long> favorited = new ArrayDeque<>();
+
+        Session(String token, SplittableRandom random) {
+            this.token = token;
+            this.random = random;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.novus.backend.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop driver for comparing the platform- and virtual-thread execution modes on the
+ * random-quote and favorites endpoints. Start the backend once with
+ * {@code NOVUS_VIRTUAL_THREADS=false} and once with {@code true}, then run against each:
+ *
+ * <pre>
+ * java -cp target/test-classes com.novus.backend.bench.ThreadModeBenchmark \
+ *     http://localhost:8080 &lt;bearer-token&gt; [concurrency=200] [seconds=60] [warmupSeconds=15] [maxQuoteId=1000]
+ * </pre>
+ *
+ * Each worker alternates {@code GET /api/v1/quotes/random}, {@code POST} and {@code DELETE}
+ * {@code /api/v1/favorites/QUOTE/{id}} and {@code GET /api/v1/favorites}. Throughput, latency
+ * percentiles and error counts are printed per endpoint; latencies recorded during warm-up are discarded.
+ */
+public final class ThreadModeBenchmark {
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: ThreadModeBenchmark <baseUrl> <token> [concurrency] [seconds] [warmupSeconds] [maxQuoteId]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 60);
+        Duration warmup = Duration.ofSeconds(args.length > 4 ? Long.parseLong(args[4]) : 15);
+        long maxQuoteId = args.length > 5 ? Long.parseLong(args[5]) : 1000;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        List<Endpoint> endpoints = List.of(
+                new Endpoint("GET /quotes/random", id -> get(baseUrl + "/api/v1/quotes/random?limit=10", token)),
+                new Endpoint("POST /favorites/QUOTE/{id}", id -> send("POST", baseUrl + "/api/v1/favorites/QUOTE/" + id, token)),
+                new Endpoint("DELETE /favorites/QUOTE/{id}", id -> send("DELETE", baseUrl + "/api/v1/favorites/QUOTE/" + id, token)),
+                new Endpoint("GET /favorites", id -> get(baseUrl + "/api/v1/favorites", token)));
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.execute(() -> {
+                    try {
+                        for (int step = 0; System.nanoTime() < end; step++) {
+                            Endpoint endpoint = endpoints.get(step % endpoints.size());
+                            long id = 1 + ThreadLocalRandom.current().nextLong(maxQuoteId);
+                            endpoint.call(client, id, System.nanoTime() >= warmupEnd);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+
+        LatencyRecorder.printHeader();
+        for (Endpoint endpoint : endpoints) {
+            endpoint.report(duration);
+        }
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private static HttpRequest send(String method, String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + token)
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private interface RequestFactory {
+        HttpRequest create(long id);
+    }
+
+    private static final class Endpoint {
+        private final RequestFactory factory;
+        private final LatencyRecorder recorder;
+
+        Endpoint(String name, RequestFactory factory) {
+            this.factory = factory;
+            this.recorder = new LatencyRecorder(name);
+        }
+
+        void call(HttpClient client, long id, boolean measured) {
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = client.send(factory.create(id), HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (Exception e) {
+                failed = true;
+            }
+            if (measured) {
+                recorder.record(System.nanoTime() - start);
+                if (failed) {
+                    recorder.error();
+                }
+            }
+        }
+
+        void report(Duration duration) {
+            recorder.summarize(duration).print();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.novus.backend.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTests {
+
+	@Test
+	void insertAtTheBoundDropsStaleEntriesFirst() {
+		BoundedCache<Integer, String> cache = new BoundedCache<>(10, value -> value.startsWith("stale"));
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, i < 3 ? "stale" + i : "fresh" + i);
+		}
+
+		cache.put(10, "fresh10");
+
+		assertThat(cache.size()).isEqualTo(8);
+		for (int i = 0; i < 3; i++) {
+			assertThat(cache.get(i)).isNull();
+		}
+		assertThat(cache.get(10)).isEqualTo("fresh10");
+	}
+
+	@Test
+	void insertAtTheBoundTrimsToNinetyPercent() {
+		BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+		for (int i = 0; i < 100; i++) {
+			cache.computeIfAbsent(i, key -> key);
+		}
+
+		cache.computeIfAbsent(100, key -> key);
+
+		assertThat(cache.size()).isEqualTo(91);
+		assertThat(cache.get(100)).isEqualTo(100);
+	}
+}
@@ -0,0 +1,77 @@
+package com.novus.backend.common.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTests {
+
+	@Test
+	void extraRowOnlySignalsAnotherPage() {
+		CursorPage<Long> page = CursorPage.of(List.of(3L, 5L, 8L), 2, id -> id);
+
+		assertThat(page.items()).containsExactly(3L, 5L);
+		assertThat(page.nextCursor()).isEqualTo(5L);
+		assertThat(page.hasMore()).isTrue();
+	}
+
+	@Test
+	void exactlyFullLastPageHasNoCursor() {
+		CursorPage<Long> page = CursorPage.of(List.of(3L, 5L), 2, id -> id);
+
+		assertThat(page.items()).containsExactly(3L, 5L);
+		assertThat(page.nextCursor()).isNull();
+		assertThat(page.hasMore()).isFalse();
+		assertThat(CursorPage.of(List.<Long>of(), 2, id -> id).hasMore()).isFalse();
+	}
+
+	@Test
+	void idPagesKeepLoadingPastDeletedRows() {
+		long[] ids = {1, 2, 3, 4, 5, 6, 7};
+		Set<Long> deleted = Set.of(2L, 3L, 4L);
+		List<List<Long>> loads = new ArrayList<>();
+
+		CursorPage<Long> page = CursorPage.ofIds(ids, null, 2, slice -> {
+			loads.add(slice);
+			return slice.stream().filter(id -> !deleted.contains(id)).sorted(Comparator.reverseOrder()).toList();
+		}, id -> id);
+
+		assertThat(page.items()).containsExactly(1L, 5L);
+		assertThat(page.nextCursor()).isEqualTo(5L);
+		assertThat(page.hasMore()).isTrue();
+		assertThat(loads).containsExactly(List.of(1L, 2L, 3L), List.of(4L, 5L), List.of(6L));
+	}
+
+	@Test
+	void idPageEndsWhenOnlyDeletedRowsAreLeft() {
+		CursorPage<Long> page = CursorPage.ofIds(new long[]{1, 2, 3}, 1L, 5, slice -> List.of(), id -> id);
+
+		assertThat(page.items()).isEmpty();
+		assertThat(page.hasMore()).isFalse();
+	}
+
+	@Test
+	void limitIsClamped() {
+		assertThat(CursorPage.clampLimit(0)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+		assertThat(CursorPage.clampLimit(-5)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+		assertThat(CursorPage.clampLimit(1)).isEqualTo(1);
+		assertThat(CursorPage.clampLimit(10_000)).isEqualTo(CursorPage.MAX_LIMIT);
+	}
+
+	@Test
+	void sliceStartsStrictlyAfterTheCursor() {
+		long[] ids = {2, 4, 6, 8};
+
+		assertThat(CursorPage.sliceAfter(ids, null, 2)).containsExactly(2, 4);
+		assertThat(CursorPage.sliceAfter(ids, 4L, 2)).containsExactly(6, 8);
+		// A cursor whose row was deleted in the meantime still resumes at the next id
+		assertThat(CursorPage.sliceAfter(ids, 5L, 3)).containsExactly(6, 8);
+		assertThat(CursorPage.sliceAfter(ids, 8L, 2)).isEmpty();
+		assertThat(CursorPage.sliceAfter(ids, 100L, 2)).isEmpty();
+	}
+}
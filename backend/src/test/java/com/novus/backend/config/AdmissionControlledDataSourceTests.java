@@ -0,0 +1,61 @@
+package com.novus.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlledDataSourceTests {
+
+	private final AtomicInteger closed = new AtomicInteger();
+
+	@Test
+	void admitsUpToPermitsAndReleasesOnClose() throws SQLException {
+		AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target(), 2, Duration.ofMillis(50));
+
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+		assertThat(dataSource.getActivePermits()).isEqualTo(2);
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+		first.close();
+		first.close();
+		assertThat(closed).hasValue(2);
+		assertThat(dataSource.getActivePermits()).isEqualTo(1);
+
+		dataSource.getConnection().close();
+		second.close();
+		assertThat(dataSource.getActivePermits()).isZero();
+	}
+
+	@Test
+	void failedBorrowDoesNotLeakAPermit() throws SQLException {
+		DataSource target = mock(DataSource.class);
+		when(target.getConnection()).thenThrow(new SQLException("down"));
+		AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(target, 1, Duration.ofMillis(50));
+
+		assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+		assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+		assertThat(dataSource.getActivePermits()).isZero();
+	}
+
+	private DataSource target() throws SQLException {
+		DataSource target = mock(DataSource.class);
+		when(target.getConnection()).thenAnswer(invocation -> {
+			Connection connection = mock(Connection.class);
+			doAnswer(close -> closed.incrementAndGet()).when(connection).close();
+			return connection;
+		});
+		return target;
+	}
+}
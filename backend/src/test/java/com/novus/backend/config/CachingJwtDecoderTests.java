@@ -0,0 +1,79 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingJwtDecoderTests {
+
+	private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+	private final AtomicInteger verifications = new AtomicInteger();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void repeatedTokenIsVerifiedOnce() {
+		CachingJwtDecoder decoder = decoder(Clock.fixed(NOW, ZoneOffset.UTC), NOW.plusSeconds(300));
+
+		Jwt first = decoder.decode("token-a");
+		Jwt second = decoder.decode("token-a");
+		decoder.decode("token-b");
+
+		assertThat(second).isSameAs(first);
+		assertThat(verifications).hasValue(2);
+		assertThat(meterRegistry.get("novus.jwt.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredEntriesAreVerifiedAgain() {
+		MutableClock clock = new MutableClock(NOW);
+		CachingJwtDecoder decoder = decoder(clock, NOW.plusSeconds(30));
+
+		decoder.decode("token-a");
+		clock.now = NOW.plusSeconds(31);
+		decoder.decode("token-a");
+
+		assertThat(verifications).hasValue(2);
+	}
+
+	private CachingJwtDecoder decoder(Clock clock, Instant expiresAt) {
+		JwtDecoder delegate = token -> {
+			verifications.incrementAndGet();
+			return Jwt.withTokenValue(token).header("alg", "none").subject("user")
+					.issuedAt(NOW).expiresAt(expiresAt).build();
+		};
+		return new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry, clock);
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingFilterTests {
+
+	private static final byte[] TOO_MANY = "{\"success\":false}".getBytes();
+	private static final byte[] BUSY = "{\"success\":false,\"busy\":true}".getBytes();
+
+	@Test
+	void rejectsClientsOverTheirRateWithRetryAfter() throws Exception {
+		LoadSheddingFilter filter = filter(new ClientRateLimiter(1, 2, 100), 10);
+
+		assertThat(get(filter, "/api/v1/quotes/random", "10.0.0.1").getStatus()).isEqualTo(200);
+		assertThat(get(filter, "/api/v1/quotes/random", "10.0.0.1").getStatus()).isEqualTo(200);
+		MockHttpServletResponse rejected = get(filter, "/api/v1/quotes/random", "10.0.0.1");
+
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+		assertThat(rejected.getContentAsByteArray()).isEqualTo(TOO_MANY);
+		assertThat(get(filter, "/api/v1/quotes/random", "10.0.0.2").getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void shedsRequestsOverTheRouteLimit() throws Exception {
+		LoadSheddingFilter filter = filter(null, 1);
+		MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+		MockHttpServletRequest outer = request("/api/v1/content/books/1", "10.0.0.1");
+
+		filter.doFilter(outer, new MockHttpServletResponse(), new MockFilterChain() {
+			@Override
+			public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+				try {
+					// Same route, other id: shares the limit of 1 held by the outer request
+					nested[0] = get(filter, "/api/v1/content/books/2", "10.0.0.2");
+					nested[1] = get(filter, "/api/v1/content/movies/2", "10.0.0.2");
+				} catch (IOException | ServletException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+
+		assertThat(nested[0].getStatus()).isEqualTo(503);
+		assertThat(nested[0].getHeader("Retry-After")).isEqualTo("1");
+		assertThat(nested[0].getContentAsByteArray()).isEqualTo(BUSY);
+		assertThat(nested[1].getStatus()).isEqualTo(200);
+		assertThat(get(filter, "/api/v1/content/books/2", "10.0.0.2").getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void leavesOtherRoutesAndMethodsAlone() throws Exception {
+		LoadSheddingFilter filter = filter(new ClientRateLimiter(1, 1, 100), 10);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(get(filter, "/api/v1/favorites", "10.0.0.1").getStatus()).isEqualTo(200);
+			MockHttpServletRequest post = request("/api/v1/quotes", "10.0.0.1");
+			post.setMethod("POST");
+			MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(post, response, new MockFilterChain());
+			assertThat(response.getStatus()).isEqualTo(200);
+		}
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesAndRecovers() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5);
+		long fast = TimeUnit.MILLISECONDS.toNanos(10);
+		saturate(limit, fast, 200);
+		int steady = limit.getLimit();
+		assertThat(steady).isGreaterThan(20);
+
+		saturate(limit, fast * 10, 30);
+		int overloaded = limit.getLimit();
+		assertThat(overloaded).isLessThan(steady / 2);
+
+		saturate(limit, fast, 200);
+		assertThat(limit.getLimit()).isGreaterThan(overloaded);
+	}
+
+	// Completes rounds of requests with every permit in use
+	private static void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int acquired = 0;
+			while (limit.tryAcquire()) {
+				acquired++;
+			}
+			for (int i = 0; i < acquired; i++) {
+				limit.release(rttNanos);
+			}
+		}
+	}
+
+	private static LoadSheddingFilter filter(ClientRateLimiter rateLimiter, int routeLimit) {
+		return new LoadSheddingFilter(
+				List.of(PathPatternParser.defaultInstance.parse("/api/v1/quotes/**"),
+						PathPatternParser.defaultInstance.parse("/api/v1/content/**")),
+				rateLimiter, () -> new AdaptiveConcurrencyLimit(routeLimit, routeLimit, routeLimit, 1.5),
+				10, 1, TOO_MANY, BUSY, new SimpleMeterRegistry());
+	}
+
+	private static MockHttpServletResponse get(LoadSheddingFilter filter, String uri, String client)
+			throws IOException, ServletException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request(uri, client), response, new MockFilterChain());
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String uri, String client) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		request.setRemoteAddr(client);
+		return request;
+	}
+}
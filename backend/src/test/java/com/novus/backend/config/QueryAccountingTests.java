@@ -0,0 +1,49 @@
+package com.novus.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryAccountingTests {
+
+	@Test
+	void fingerprintDropsValuesAndCollapsesParameterLists() {
+		assertThat(QueryAccounting.fingerprint("select q1_0.id from quotes q1_0 where q1_0.id in (?,?, ?)\n  and q1_0.category = 'it''s'"))
+				.isEqualTo("select q1_0.id from quotes q1_0 where q1_0.id in (?+) and q1_0.category = ?");
+		assertThat(QueryAccounting.fingerprint("SELECT * FROM books LIMIT 21 OFFSET 40"))
+				.isEqualTo("SELECT * FROM books LIMIT ? OFFSET ?");
+		assertThat(QueryAccounting.fingerprint("select b1_0.id from books b1_0 where b1_0.id=?"))
+				.isEqualTo(QueryAccounting.fingerprint("select  b1_0.id from books b1_0 where b1_0.id=?"));
+	}
+
+	@Test
+	void statementsCountTowardsEveryOpenScope() {
+		JdbcTemplate jdbc = new JdbcTemplate(new StatementAccountingDataSource(h2(), Duration.ofSeconds(1)));
+		jdbc.execute("CREATE TABLE items (id BIGINT PRIMARY KEY)");
+
+		try (QueryAccounting.Scope outer = QueryAccounting.open()) {
+			jdbc.update("INSERT INTO items (id) VALUES (?)", 1L);
+			try (QueryAccounting.Scope inner = QueryAccounting.open()) {
+				for (long id = 1; id <= 3; id++) {
+					jdbc.queryForList("SELECT id FROM items WHERE id = ?", id);
+				}
+				assertThat(inner.stats().statements()).isEqualTo(3);
+				assertThat(inner.stats().mostRepeated()).isEqualTo(Map.entry("SELECT id FROM items WHERE id = ?", 3));
+			}
+			assertThat(outer.stats().statements()).isEqualTo(4);
+			assertThat(outer.stats().count("INSERT INTO items")).isEqualTo(1);
+		}
+		assertThat(QueryAccounting.active()).isFalse();
+	}
+
+	private static JdbcDataSource h2() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:query-accounting;DB_CLOSE_DELAY=-1");
+		return dataSource;
+	}
+}
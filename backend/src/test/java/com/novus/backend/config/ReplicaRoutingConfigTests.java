@@ -0,0 +1,103 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicaRoutingConfigTests {
+
+	private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+	private final List<Connection> held = new ArrayList<>();
+	private ReplicaRouting routing;
+
+	@AfterEach
+	void close() throws Exception {
+		for (Connection connection : held) {
+			connection.close();
+		}
+		if (routing != null) {
+			routing.close();
+		}
+	}
+
+	@Test
+	void virtualThreadsAdmitThePrimaryAndTheReplicaSeparately() throws SQLException {
+		routing = routing(new MockEnvironment()
+				.withProperty("spring.threads.virtual.enabled", "true")
+				.withProperty("novus.jdbc.admission.timeout", "PT0.1S"));
+		DataSource dataSource = routing.getDataSource();
+		routing.checkLag();
+		assertThat(routing.isReplicaUsable()).isTrue();
+
+		for (int i = 0; i < 3; i++) {
+			held.add(borrow(dataSource));
+		}
+		assertThatThrownBy(() -> borrow(dataSource).close()).isInstanceOf(SQLTransientConnectionException.class);
+
+		// The primary's permits are all taken, the replica's are not
+		for (int i = 0; i < 2; i++) {
+			Connection replica = readOnly(dataSource);
+			assertThat(replica.getMetaData().getURL()).startsWith("jdbc:h2:mem:routing-replica");
+			held.add(replica);
+		}
+		assertThat(routing.isReplicaUsable()).isTrue();
+	}
+
+	@Test
+	void platformThreadsLeaveThePoolsUnwrapped() throws SQLException {
+		routing = routing(new MockEnvironment());
+
+		assertThat(routing.getDataSource().isWrapperFor(AdmissionControlledDataSource.class)).isFalse();
+	}
+
+	private ReplicaRouting routing(MockEnvironment environment) {
+		// Boot's conversions (e.g. PT0.1S to Duration), as in the application's environment
+		environment.setConversionService(new ApplicationConversionService());
+		environment.withProperty("spring.datasource.hikari.maximum-pool-size", "3")
+				.withProperty("novus.datasource.replica.hikari.maximum-pool-size", "2");
+		DataSourceProperties properties = new DataSourceProperties();
+		properties.setUrl("jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1");
+		properties.setUsername("sa");
+		properties.setPassword("");
+		return new ReplicaRoutingConfig().replicaRouting(properties, environment, new SimpleMeterRegistry(),
+				REPLICA_URL, "sa", "", Duration.ofSeconds(1), "SELECT 0");
+	}
+
+	// The routing data source is lazy; a statement makes it take the pooled connection
+	private static Connection borrow(DataSource dataSource) throws SQLException {
+		Connection connection = dataSource.getConnection();
+		connection.createStatement().close();
+		return connection;
+	}
+
+	private static Connection readOnly(DataSource dataSource) {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try {
+			return ReplicaRouting.read(true, () -> {
+				try {
+					return borrow(dataSource);
+				} catch (SQLException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.novus.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadingConfigTests {
+
+	@Test
+	void admissionWrapsOnlyThePrimaryPoolAndTakesItsSize() {
+		BeanPostProcessor postProcessor = ThreadingConfig.jdbcAdmissionPostProcessor(new MockEnvironment());
+		HikariDataSource primary = pool(7);
+		HikariDataSource other = pool(3);
+		DriverManagerDataSource unpooled = new DriverManagerDataSource();
+
+		Object wrapped = postProcessor.postProcessAfterInitialization(primary, "dataSource");
+		assertThat(wrapped).isInstanceOfSatisfying(AdmissionControlledDataSource.class,
+				admission -> assertThat(admission.getMaxPermits()).isEqualTo(7));
+		assertThat(postProcessor.postProcessAfterInitialization(wrapped, "dataSource")).isSameAs(wrapped);
+		assertThat(postProcessor.postProcessAfterInitialization(other, "reportingDataSource")).isSameAs(other);
+		assertThat(postProcessor.postProcessAfterInitialization(unpooled, "dataSource")).isSameAs(unpooled);
+	}
+
+	@Test
+	void admissionTakesHikarisDefaultSizeWhenThePoolSizeIsUnset() {
+		BeanPostProcessor postProcessor = ThreadingConfig.jdbcAdmissionPostProcessor(new MockEnvironment());
+
+		assertThat(postProcessor.postProcessAfterInitialization(new HikariDataSource(), "dataSource"))
+				.isInstanceOfSatisfying(AdmissionControlledDataSource.class,
+						admission -> assertThat(admission.getMaxPermits()).isEqualTo(10));
+	}
+
+	@Test
+	void admissionFindsThePoolBehindOtherWrappers() {
+		BeanPostProcessor postProcessor = ThreadingConfig.jdbcAdmissionPostProcessor(
+				new MockEnvironment().withProperty("novus.jdbc.admission.permits", "4"));
+		StatementAccountingDataSource accounted = new StatementAccountingDataSource(pool(7), Duration.ofMillis(200));
+
+		assertThat(postProcessor.postProcessAfterInitialization(accounted, "dataSource"))
+				.isInstanceOfSatisfying(AdmissionControlledDataSource.class,
+						admission -> assertThat(admission.getMaxPermits()).isEqualTo(4));
+	}
+
+	@Test
+	void admissionLeavesTheReplicaRouterToItsPools() {
+		BeanPostProcessor postProcessor = ThreadingConfig.jdbcAdmissionPostProcessor(
+				new MockEnvironment().withProperty("novus.datasource.replica.url", "jdbc:postgresql://replica/novus"));
+		HikariDataSource primary = pool(7);
+
+		assertThat(postProcessor.postProcessAfterInitialization(primary, "dataSource")).isSameAs(primary);
+	}
+
+	private static HikariDataSource pool(int size) {
+		HikariDataSource pool = new HikariDataSource();
+		pool.setMaximumPoolSize(size);
+		return pool;
+	}
+}
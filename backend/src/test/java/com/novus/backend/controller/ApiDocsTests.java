@@ -0,0 +1,89 @@
+package com.novus.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.BackendApplication;
+import com.novus.backend.load.LoadProfileConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The generated OpenAPI document, so response types the mobile client is generated from stay
+ * described (same context as {@link EndpointQueryCountTests}).
+ */
+@SpringBootTest(classes = {BackendApplication.class, LoadProfileConfig.class}, properties = {
+		"novus.load.seed.quotes=300",
+		"novus.load.seed.books=50",
+		"novus.load.seed.movies=50",
+		"novus.load.seed.users=5",
+		"novus.load.seed.favorites-per-user=30"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("load")
+class ApiDocsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private JsonNode apiDocs;
+
+	@BeforeEach
+	void loadApiDocs() throws Exception {
+		apiDocs = objectMapper.readTree(mockMvc.perform(get("/v3/api-docs").with(httpBasic("load", "load")))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray());
+	}
+
+	@Test
+	void hydratedFavoriteItemIsOneOfTheContentViews() {
+		JsonNode item = apiDocs.at("/components/schemas/HydratedFavorite/properties/item");
+
+		assertThat(refs(schema(item).path("oneOf")))
+				.containsExactlyInAnyOrder("QuoteView", "BookView", "MovieView");
+	}
+
+	@Test
+	void cachedContentResponsesDescribeTheirEnvelope() {
+		assertThat(data("/api/v1/content/books/{id}").path("$ref").asText()).endsWith("/BookView");
+		assertThat(data("/api/v1/content/movies/{id}").path("$ref").asText()).endsWith("/MovieView");
+		assertThat(data("/api/v1/quotes/{id}").path("$ref").asText()).endsWith("/QuoteView");
+		assertThat(schema(data("/api/v1/content/books")).at("/properties/items/items/$ref").asText()).endsWith("/BookView");
+		assertThat(schema(data("/api/v1/quotes")).at("/properties/items/items/$ref").asText()).endsWith("/QuoteView");
+		assertThat(apiDocs.at("/paths/~1api~1v1~1quotes~1{id}/get/responses/304").isMissingNode()).isFalse();
+	}
+
+	private JsonNode data(String path) {
+		JsonNode content = apiDocs.path("paths").path(path).path("get").path("responses").path("200").path("content");
+		assertThat(content.has("application/cbor")).isTrue();
+		return schema(content.path("application/json").path("schema")).path("properties").path("data");
+	}
+
+	private JsonNode schema(JsonNode node) {
+		String ref = node.path("$ref").asText();
+		return ref.isEmpty() ? node : apiDocs.at("/components/schemas/" + ref.substring(ref.lastIndexOf('/') + 1));
+	}
+
+	private static List<String> refs(JsonNode schemas) {
+		List<String> names = new ArrayList<>();
+		schemas.forEach(schema -> {
+			String ref = schema.path("$ref").asText();
+			names.add(ref.substring(ref.lastIndexOf('/') + 1));
+		});
+		return names;
+	}
+}
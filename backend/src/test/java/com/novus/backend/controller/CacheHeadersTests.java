@@ -0,0 +1,94 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.BackendApplication;
+import com.novus.backend.load.LoadProfileConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache-Control per public route (see WebConfig) and revalidation headers, on the embedded load profile (same context as
+ * {@link EndpointQueryCountTests}).
+ */
+@SpringBootTest(classes = {BackendApplication.class, LoadProfileConfig.class}, properties = {
+		"novus.load.seed.quotes=300",
+		"novus.load.seed.books=50",
+		"novus.load.seed.movies=50",
+		"novus.load.seed.users=5",
+		"novus.load.seed.favorites-per-user=30"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("load")
+class CacheHeadersTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void dailyQuoteIsPrivate() throws Exception {
+		assertThat(cacheControl("/api/v1/quotes/daily")).isEqualTo("max-age=300, private");
+	}
+
+	@Test
+	void randomQuotesAreNotStored() throws Exception {
+		assertThat(cacheControl("/api/v1/quotes/random")).isEqualTo("no-store");
+		assertThat(cacheControl("/api/v1/quotes")).isEqualTo("no-store");
+	}
+
+	@Test
+	void contentIsPublic() throws Exception {
+		assertThat(cacheControl("/api/v1/quotes/1")).isEqualTo("max-age=60, public");
+		assertThat(cacheControl("/api/v1/quotes?category=wisdom")).isEqualTo("max-age=60, public");
+		assertThat(cacheControl("/api/v1/content/books/1")).isEqualTo("max-age=60, public");
+	}
+
+	@Test
+	void notModifiedVariesLikeTheFullResponse() throws Exception {
+		MockHttpServletResponse full = mockMvc.perform(get("/api/v1/content/books/1"))
+				.andExpect(status().isOk()).andReturn().getResponse();
+		String etag = full.getHeader(HttpHeaders.ETAG);
+		assertThat(etag).isNotNull();
+
+		MockHttpServletResponse revalidated = mockMvc.perform(get("/api/v1/content/books/1")
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified()).andReturn().getResponse();
+
+		assertThat(String.join(", ", revalidated.getHeaders(HttpHeaders.VARY)))
+				.isEqualTo(String.join(", ", full.getHeaders(HttpHeaders.VARY)))
+				.isEqualTo("Accept, Accept-Encoding");
+	}
+
+	@Test
+	void itemsCarryTheirOwnValidators() throws Exception {
+		MockHttpServletResponse first = mockMvc.perform(get("/api/v1/content/books/1"))
+				.andExpect(status().isOk()).andReturn().getResponse();
+		MockHttpServletResponse second = mockMvc.perform(get("/api/v1/content/books/2"))
+				.andExpect(status().isOk()).andReturn().getResponse();
+		MockHttpServletResponse list = mockMvc.perform(get("/api/v1/content/books"))
+				.andExpect(status().isOk()).andReturn().getResponse();
+
+		assertThat(first.getHeader(HttpHeaders.ETAG)).startsWith("W/\"book-1-")
+				.isNotEqualTo(second.getHeader(HttpHeaders.ETAG))
+				.isNotEqualTo(list.getHeader(HttpHeaders.ETAG));
+		// Another item's validator does not match
+		mockMvc.perform(get("/api/v1/content/books/2").header(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG)))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/content/books/1")
+						.header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+				.andExpect(status().isNotModified());
+	}
+
+	private String cacheControl(String uri) throws Exception {
+		return mockMvc.perform(get(uri)).andExpect(status().isOk()).andReturn().getResponse()
+				.getHeaders(HttpHeaders.CACHE_CONTROL).stream().reduce((a, b) -> a + " | " + b).orElse(null);
+	}
+}
@@ -0,0 +1,102 @@
+package com.novus.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.BackendApplication;
+import com.novus.backend.load.LoadProfileConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursor pagination and NDJSON streams over the embedded load profile catalog (same context as
+ * {@link EndpointQueryCountTests}).
+ */
+@SpringBootTest(classes = {BackendApplication.class, LoadProfileConfig.class}, properties = {
+		"novus.load.seed.quotes=300",
+		"novus.load.seed.books=50",
+		"novus.load.seed.movies=50",
+		"novus.load.seed.users=5",
+		"novus.load.seed.favorites-per-user=30"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("load")
+class ContentListingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void cursorPagesCoverTheListingOnceInIdOrder() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		String cursor = "";
+		for (int pages = 0; ; pages++) {
+			assertThat(pages).isLessThan(10);
+			JsonNode page = json(get("/api/v1/content/books?limit=7" + cursor)).path("data");
+			page.path("items").forEach(item -> ids.add(item.path("id").asLong()));
+			if (!page.path("hasMore").asBoolean()) {
+				assertThat(page.path("nextCursor").isNull()).isTrue();
+				break;
+			}
+			assertThat(page.path("items")).hasSize(7);
+			assertThat(page.path("nextCursor").asLong()).isEqualTo(ids.get(ids.size() - 1));
+			cursor = "&cursor=" + page.path("nextCursor").asLong();
+		}
+
+		assertThat(ids).hasSize(50).doesNotHaveDuplicates().isSorted();
+	}
+
+	@Test
+	void cursorPastTheLastRowIsAnEmptyPage() throws Exception {
+		JsonNode page = json(get("/api/v1/content/movies?cursor=" + Long.MAX_VALUE)).path("data");
+
+		assertThat(page.path("items")).isEmpty();
+		assertThat(page.path("hasMore").asBoolean()).isFalse();
+	}
+
+	@Test
+	void streamsWriteOneDocumentPerLine() throws Exception {
+		assertThat(ndjson("/api/v1/content/books/stream")).hasSize(50);
+		assertThat(ndjson("/api/v1/content/movies/stream")).hasSize(50);
+
+		List<JsonNode> quotes = ndjson("/api/v1/quotes/stream");
+		assertThat(quotes).hasSize(300);
+		assertThat(quotes).extracting(quote -> quote.path("id").asLong()).doesNotHaveDuplicates().isSorted();
+
+		List<JsonNode> wisdom = ndjson("/api/v1/quotes/stream?category=wisdom");
+		assertThat(wisdom).isNotEmpty().hasSizeLessThan(300)
+				.allSatisfy(quote -> assertThat(quote.path("category").asText()).isEqualTo("wisdom"));
+	}
+
+	private JsonNode json(RequestBuilder request) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(request).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+	}
+
+	private List<JsonNode> ndjson(String uri) throws Exception {
+		MvcResult result = mockMvc.perform(get(uri)).andExpect(request().asyncStarted()).andReturn();
+		result.getAsyncResult();
+		assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+		List<JsonNode> documents = new ArrayList<>();
+		for (String line : result.getResponse().getContentAsString().split("\n")) {
+			documents.add(objectMapper.readTree(line));
+		}
+		return documents;
+	}
+}
@@ -0,0 +1,108 @@
+package com.novus.backend.controller;
+
+import com.novus.backend.BackendApplication;
+import com.novus.backend.config.QueryAccounting;
+import com.novus.backend.load.LoadProfileConfig;
+import com.novus.backend.load.LoadTokens;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements per endpoint on the embedded load profile, so a change that
+ * adds queries to a hot path (or an N+1) fails here instead of in production.
+ */
+// LoadProfileConfig comes after the application so its jwtDecoder replaces the Keycloak one
+@SpringBootTest(classes = {BackendApplication.class, LoadProfileConfig.class}, properties = {
+		"novus.load.seed.quotes=300",
+		"novus.load.seed.books=50",
+		"novus.load.seed.movies=50",
+		"novus.load.seed.users=5",
+		"novus.load.seed.favorites-per-user=30"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("load")
+class EndpointQueryCountTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void bookByIdIsServedFromCachesOnceLoaded() throws Exception {
+		statements(get("/api/v1/content/books/7"));
+
+		assertThat(statements(get("/api/v1/content/books/7"))).isZero();
+	}
+
+	@Test
+	void randomQuotesLoadMissingRowsInOneQuery() throws Exception {
+		assertThat(statements(get("/api/v1/quotes/random?limit=20"))).isLessThanOrEqualTo(1);
+	}
+
+	@Test
+	void quotesByCategoryPageIsOneQueryThenCached() throws Exception {
+		assertThat(statements(get("/api/v1/quotes?category=wisdom"))).isLessThanOrEqualTo(2);
+		assertThat(statements(get("/api/v1/quotes?category=wisdom"))).isZero();
+	}
+
+	@Test
+	void hydratedFavoritesDoNotQueryPerItem() throws Exception {
+		String token = LoadTokens.mint(LoadTokens.DEFAULT_SECRET, 1, Instant.now().plusSeconds(300));
+		statements(get("/api/v1/favorites/hydrated?limit=30").header("Authorization", "Bearer " + token));
+
+		// One page query plus at most one batch per content type
+		assertThat(statements(get("/api/v1/favorites/hydrated?limit=30").header("Authorization", "Bearer " + token)))
+				.isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void profileAndFavoritesAreOneQueryEach() throws Exception {
+		String token = "Bearer " + LoadTokens.mint(LoadTokens.DEFAULT_SECRET, 2, Instant.now().plusSeconds(300));
+
+		// Resolving the caller loads the user and its interests in one joined select
+		assertThat(statements(get("/api/v1/users/me").header("Authorization", token))).isEqualTo(1);
+		assertThat(statements(get("/api/v1/favorites").header("Authorization", token))).isEqualTo(1);
+	}
+
+	@Test
+	void feedIsRankedInMemory() throws Exception {
+		String token = "Bearer " + LoadTokens.mint(LoadTokens.DEFAULT_SECRET, 3, Instant.now().plusSeconds(300));
+		statements(get("/api/v1/users/me").header("Authorization", token));
+
+		// Favorited quote ids once, then only the page's quotes that are not cached yet
+		assertThat(statements(get("/api/v1/feed").header("Authorization", token))).isLessThanOrEqualTo(2);
+		assertThat(statements(get("/api/v1/feed").header("Authorization", token))).isZero();
+	}
+
+	@Test
+	void alsoFavoritedIsServedFromMemory() throws Exception {
+		statements(get("/api/v1/recommendations/QUOTE/1"));
+
+		assertThat(statements(get("/api/v1/recommendations/QUOTE/1"))).isZero();
+	}
+
+	@Test
+	void trendingAndCountsAreServedFromMemory() throws Exception {
+		statements(get("/api/v1/popularity/trending/QUOTE"));
+
+		assertThat(statements(get("/api/v1/popularity/trending/QUOTE"))).isZero();
+		assertThat(statements(get("/api/v1/popularity/QUOTE/1"))).isZero();
+	}
+
+	private int statements(RequestBuilder request) throws Exception {
+		try (QueryAccounting.Scope scope = QueryAccounting.open()) {
+			mockMvc.perform(request).andExpect(status().isOk());
+			return scope.stats().statements();
+		}
+	}
+}
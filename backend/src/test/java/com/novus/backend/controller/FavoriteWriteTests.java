@@ -0,0 +1,132 @@
+package com.novus.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.BackendApplication;
+import com.novus.backend.config.QueryAccounting;
+import com.novus.backend.load.LoadProfileConfig;
+import com.novus.backend.load.LoadTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Favorite toggles and offline batches on the embedded load profile (same context as
+ * {@link EndpointQueryCountTests}); load user 4 is left to these tests.
+ */
+@SpringBootTest(classes = {BackendApplication.class, LoadProfileConfig.class}, properties = {
+		"novus.load.seed.quotes=300",
+		"novus.load.seed.books=50",
+		"novus.load.seed.movies=50",
+		"novus.load.seed.users=5",
+		"novus.load.seed.favorites-per-user=30"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("load")
+class FavoriteWriteTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final String token = "Bearer " + LoadTokens.mint(LoadTokens.DEFAULT_SECRET, 4, Instant.now().plusSeconds(300));
+
+	@BeforeEach
+	void clearFavorites() throws Exception {
+		List<Map<String, Object>> removals = new ArrayList<>();
+		for (JsonNode favorite : perform(get("/api/v1/favorites")).path("data")) {
+			removals.add(change("REMOVE", favorite.path("itemType").asText(), favorite.path("itemId").asLong()));
+		}
+		perform(post("/api/v1/favorites/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(removals)));
+	}
+
+	@Test
+	void togglesAreOneIdempotentStatementEach() throws Exception {
+		assertThat(writes(post("/api/v1/favorites/QUOTE/11"))).isEqualTo(1);
+		JsonNode again = perform(post("/api/v1/favorites/QUOTE/11"));
+		assertThat(again.path("message").asText()).isEqualTo("Already in favorites");
+		assertThat(again.path("data").path("itemType").asText()).isEqualTo("QUOTE");
+		assertThat(again.path("data").path("itemId").asLong()).isEqualTo(11);
+
+		assertThat(writes(delete("/api/v1/favorites/QUOTE/11"))).isEqualTo(1);
+		assertThat(perform(delete("/api/v1/favorites/QUOTE/11")).path("data").asText()).isEqualTo("Not in favorites");
+		assertThat(perform(get("/api/v1/favorites")).path("data")).isEmpty();
+	}
+
+	@Test
+	void batchKeepsTheLastChangePerItem() throws Exception {
+		perform(post("/api/v1/favorites/BOOK/3"));
+
+		JsonNode result = perform(post("/api/v1/favorites/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(List.of(
+						change("ADD", "QUOTE", 21),
+						change("ADD", "QUOTE", 22),
+						change("REMOVE", "QUOTE", 22),
+						change("ADD", "MOVIE", 5),
+						change("REMOVE", "BOOK", 3),
+						change("REMOVE", "BOOK", 4)))));
+
+		assertThat(result.path("data").path("added").asInt()).isEqualTo(2);
+		assertThat(result.path("data").path("removed").asInt()).isEqualTo(1);
+		List<String> favorites = new ArrayList<>();
+		perform(get("/api/v1/favorites")).path("data")
+				.forEach(favorite -> favorites.add(favorite.path("itemType").asText() + favorite.path("itemId").asLong()));
+		assertThat(favorites).containsExactlyInAnyOrder("QUOTE21", "MOVIE5");
+	}
+
+	@Test
+	void batchesOverTheCapAreRejected() throws Exception {
+		List<Map<String, Object>> changes = new ArrayList<>();
+		for (int i = 1; i <= 501; i++) {
+			changes.add(change("ADD", "QUOTE", i));
+		}
+
+		mockMvc.perform(post("/api/v1/favorites/batch").header("Authorization", token)
+						.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(changes)))
+				.andExpect(status().isBadRequest());
+		assertThat(perform(get("/api/v1/favorites")).path("data")).isEmpty();
+
+		JsonNode result = perform(post("/api/v1/favorites/batch").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsBytes(changes.subList(0, 500))));
+		assertThat(result.path("data").path("added").asInt()).isEqualTo(500);
+	}
+
+	private JsonNode perform(MockHttpServletRequestBuilder request) throws Exception {
+		return objectMapper.readTree(mockMvc.perform(request.header("Authorization", token))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsByteArray());
+	}
+
+	// Listeners may read (e.g. the user's other favorites for recommendations); only writes are counted
+	private int writes(MockHttpServletRequestBuilder request) throws Exception {
+		try (QueryAccounting.Scope scope = QueryAccounting.open()) {
+			perform(request);
+			return scope.stats().byFingerprint().entrySet().stream()
+					.filter(statement -> !statement.getKey().regionMatches(true, 0, "select", 0, 6))
+					.mapToInt(Map.Entry::getValue).sum();
+		}
+	}
+
+	private static Map<String, Object> change(String op, String itemType, long itemId) {
+		return Map.of("op", op, "itemType", itemType, "itemId", itemId);
+	}
+}
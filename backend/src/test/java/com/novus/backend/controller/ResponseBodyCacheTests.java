@@ -0,0 +1,125 @@
+package com.novus.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.service.ContentChangedEvent;
+import com.novus.backend.service.ContentVersionService.ContentVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBodyCacheTests {
+
+	private final ResponseBodyCache cache = new ResponseBodyCache(new ObjectMapper(),
+			new MappingJackson2CborHttpMessageConverter(), new SimpleMeterRegistry(), true, 64, 100);
+	private final AtomicInteger serializations = new AtomicInteger();
+	private final ContentVersion v1 = new ContentVersion(ItemType.BOOK, LocalDateTime.of(2024, 1, 1, 0, 0), 10);
+	private final ContentVersion v2 = new ContentVersion(ItemType.BOOK, LocalDateTime.of(2024, 1, 2, 0, 0), 10);
+
+	@Test
+	void bodyIsSerializedOncePerVersionWithoutTimestamp() {
+		ResponseEntity<byte[]> first = cache.serve(request(null), v1, "id1", () -> data("short"));
+		ResponseEntity<byte[]> second = cache.serve(request(null), v1, "id1", () -> data("short"));
+
+		assertThat(serializations).hasValue(1);
+		assertThat(second.getBody()).isSameAs(first.getBody());
+		assertThat(new String(first.getBody(), StandardCharsets.UTF_8))
+				.isEqualTo("{\"success\":true,\"message\":\"Success\",\"data\":\"short\"}");
+
+		cache.serve(request(null), v2, "id1", () -> data("short"));
+		assertThat(serializations).hasValue(2);
+	}
+
+	@Test
+	void contentChangeDropsTheBodiesOfItsType() {
+		ContentVersion quotes = new ContentVersion(ItemType.QUOTE, LocalDateTime.of(2024, 1, 1, 0, 0), 10);
+		cache.serve(request(null), v1, "list", () -> data("books"));
+		cache.serve(request(null), quotes, "list", () -> data("quotes"));
+
+		cache.onContentChanged(new ContentChangedEvent(ItemType.BOOK, 7L));
+		cache.serve(request(null), v1, "list", () -> data("books"));
+		cache.serve(request(null), quotes, "list", () -> data("quotes"));
+
+		assertThat(serializations).hasValue(3);
+	}
+
+	@Test
+	void bodyReadWhileContentChangedIsServedButNotKept() {
+		ResponseEntity<byte[]> stale = cache.serve(request(null), v2, "list", () -> {
+			cache.onContentChanged(new ContentChangedEvent(ItemType.BOOK, null));
+			return data("old rows");
+		});
+		ResponseEntity<byte[]> fresh = cache.serve(request(null), v2, "list", () -> data("new rows"));
+
+		assertThat(new String(stale.getBody(), StandardCharsets.UTF_8)).contains("old rows");
+		assertThat(new String(fresh.getBody(), StandardCharsets.UTF_8)).contains("new rows");
+	}
+
+	@Test
+	void largeBodiesAreServedGzippedToClientsThatAcceptIt() throws IOException {
+		String large = "x".repeat(500);
+		ResponseEntity<byte[]> plain = cache.serve(request(null), v1, "list", () -> data(large));
+		ResponseEntity<byte[]> gzipped = cache.serve(request("br;q=1.0, gzip"), v1, "list", () -> data(large));
+
+		assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+		assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+		assertThat(gzipped.getHeaders().getVary()).contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+		assertThat(new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody())).readAllBytes()).isEqualTo(plain.getBody());
+	}
+
+	@Test
+	void cborIsEncodedSeparatelyForClientsThatPreferIt() {
+		ResponseEntity<byte[]> json = cache.serve(request(null), v1, "id1", () -> data("short"));
+		MockHttpServletRequest cborRequest = new MockHttpServletRequest("GET", "/api/v1/content/books/1");
+		cborRequest.addHeader(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5");
+		ResponseEntity<byte[]> cbor = cache.serve(new ServletWebRequest(cborRequest), v1, "id1", () -> data("short"));
+
+		assertThat(serializations).hasValue(2);
+		assertThat(cbor.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+		assertThat(cbor.getBody()).hasSizeLessThan(json.getBody().length);
+	}
+
+	@Test
+	void formatFollowsAcceptQuality() {
+		assertThat(ResponseBodyCache.Format.negotiate(null)).isEqualTo(ResponseBodyCache.Format.JSON);
+		assertThat(ResponseBodyCache.Format.negotiate("*/*")).isEqualTo(ResponseBodyCache.Format.JSON);
+		assertThat(ResponseBodyCache.Format.negotiate("application/cbor")).isEqualTo(ResponseBodyCache.Format.CBOR);
+		assertThat(ResponseBodyCache.Format.negotiate("application/json;q=0.8, application/cbor")).isEqualTo(ResponseBodyCache.Format.CBOR);
+		assertThat(ResponseBodyCache.Format.negotiate("application/json, application/cbor")).isEqualTo(ResponseBodyCache.Format.JSON);
+		assertThat(ResponseBodyCache.Format.negotiate("*/*;q=0.1, application/cbor")).isEqualTo(ResponseBodyCache.Format.CBOR);
+	}
+
+	@Test
+	void gzipWithZeroQualityIsRefused() {
+		assertThat(ResponseBodyCache.acceptsGzip("gzip, deflate")).isTrue();
+		assertThat(ResponseBodyCache.acceptsGzip("gzip;q=0")).isFalse();
+		assertThat(ResponseBodyCache.acceptsGzip("deflate")).isFalse();
+	}
+
+	private String data(String value) {
+		serializations.incrementAndGet();
+		return value;
+	}
+
+	private static ServletWebRequest request(String acceptEncoding) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/content/books");
+		if (acceptEncoding != null) {
+			request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		return new ServletWebRequest(request);
+	}
+}
@@ -0,0 +1,159 @@
+package com.novus.backend.load;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Fills the embedded database before the application reports ready, so the quote sampler, search
+ * index and daily editions warm up on the seeded catalog. Everything is derived from one random
+ * seed: the same settings always produce the same rows, ids and user subjects
+ * ({@link LoadTokens#subject}).
+ */
+@Slf4j
+public class LoadDataSeeder implements ApplicationRunner {
+
+    static final String[] CATEGORIES = {"motivation", "success", "love", "wisdom", "life", "happiness", "faith",
+            "work", "friendship", "courage", "mindfulness", "leadership"};
+    private static final String[] WORDS = {"courage", "dream", "journey", "light", "patience", "habit", "focus",
+            "kindness", "growth", "purpose", "today", "strength", "truth", "change", "hope", "effort", "wonder",
+            "silence", "river", "mountain", "morning", "promise", "balance", "heart"};
+    private static final int BATCH_SIZE = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int quotes;
+    private final int books;
+    private final int movies;
+    private final int users;
+    private final int favoritesPerUser;
+    private final long randomSeed;
+
+    public LoadDataSeeder(JdbcTemplate jdbcTemplate, int quotes, int books, int movies, int users,
+                          int favoritesPerUser, long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.quotes = quotes;
+        this.books = books;
+        this.movies = movies;
+        this.users = users;
+        this.favoritesPerUser = favoritesPerUser;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        insert("INSERT INTO quotes (content, author, category, is_premium, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", quotes, i -> new Object[]{
+                sentence(random, 8 + random.nextInt(18)), "Author " + random.nextInt(Math.max(1, quotes / 20)),
+                CATEGORIES[random.nextInt(CATEGORIES.length)], random.nextInt(10) == 0, random.nextInt(8) == 0, now, now});
+        insert("INSERT INTO books (title, author, description, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", books, i -> new Object[]{
+                sentence(random, 2 + random.nextInt(5)), "Author " + random.nextInt(Math.max(1, books / 4)),
+                sentence(random, 40 + random.nextInt(60)), random.nextInt(10) == 0, now, now});
+        insert("INSERT INTO movies (title, director, release_year, description, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", movies, i -> new Object[]{
+                sentence(random, 1 + random.nextInt(4)), "Director " + random.nextInt(Math.max(1, movies / 5)),
+                1950 + random.nextInt(75), sentence(random, 40 + random.nextInt(60)), random.nextInt(12) == 0, now, now});
+
+        insert("INSERT INTO users (id, keycloak_id, email, display_name, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                users, i -> new Object[]{userId(i), LoadTokens.subject(i), LoadTokens.subject(i) + "@example.com",
+                        "Load User " + i, now, now});
+        List<Object[]> interests = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Set<String> picked = new HashSet<>();
+            for (int k = 1 + random.nextInt(3); picked.size() < k; ) {
+                picked.add(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            }
+            for (String interest : picked) {
+                interests.add(new Object[]{userId(i), interest});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_interests (user_id, interest) VALUES (?, ?)", interests, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setObject(1, row[0]);
+                    ps.setString(2, (String) row[1]);
+                });
+
+        List<Object[]> favorites = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Set<String> seen = new HashSet<>();
+            for (int f = 0; f < favoritesPerUser; f++) {
+                int roll = random.nextInt(10);
+                ItemType type = roll < 7 ? ItemType.QUOTE : roll < 9 ? ItemType.BOOK : ItemType.MOVIE;
+                int max = type == ItemType.QUOTE ? quotes : type == ItemType.BOOK ? books : movies;
+                if (max == 0) {
+                    continue;
+                }
+                long itemId = 1 + skewed(random, max);
+                if (seen.add(type + ":" + itemId)) {
+                    favorites.add(new Object[]{userId(i), type.name(), itemId, now, now});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user_favorites (user_id, item_type, item_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", favorites, BATCH_SIZE, (ps, row) -> {
+            for (int c = 0; c < row.length; c++) {
+                ps.setObject(c + 1, row[c]);
+            }
+        });
+
+        log.info("Seeded {} quotes, {} books, {} movies, {} users and {} favorites in {} ms", quotes, books, movies,
+                users, favorites.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    UUID userId(int user) {
+        return new UUID(randomSeed, user);
+    }
+
+    private void insert(String sql, int count, RowFactory rows) {
+        List<Object[]> batch = new ArrayList<>(Math.min(count, BATCH_SIZE));
+        for (int i = 0; i < count; i++) {
+            batch.add(rows.row(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    /**
+     * Favors low ids, so a minority of items collects most favorites, like real popularity.
+     */
+    private static long skewed(SplittableRandom random, int max) {
+        double u = random.nextDouble();
+        return Math.min(max - 1, (long) (max * u * u * u));
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(int index);
+    }
+}
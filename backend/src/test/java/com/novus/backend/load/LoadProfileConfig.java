@@ -0,0 +1,48 @@
+package com.novus.backend.load;
+
+import com.novus.backend.config.CachingJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Beans that replace external dependencies under the {@code load} profile: tokens are verified
+ * against the shared HMAC secret of {@link LoadTokens} instead of the Keycloak JWKS, behind the same
+ * verified-token cache production uses.
+ */
+@TestConfiguration
+@Profile("load")
+public class LoadProfileConfig {
+
+    // Replaces SecurityConfig#jwtDecoder by name (overriding is enabled in application-load.properties)
+    @Bean
+    JwtDecoder jwtDecoder(@Value("${novus.load.jwt-secret}") String secret,
+                              @Value("${novus.security.jwt-cache.max-entries:10000}") int maxEntries,
+                              @Value("${novus.security.jwt-cache.max-ttl:PT5M}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        NimbusJwtDecoder verifying = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+        return new CachingJwtDecoder(verifying, maxEntries, maxTtl, meterRegistry);
+    }
+
+    @Bean
+    LoadDataSeeder loadDataSeeder(JdbcTemplate jdbcTemplate,
+                                  @Value("${novus.load.seed.quotes}") int quotes,
+                                  @Value("${novus.load.seed.books}") int books,
+                                  @Value("${novus.load.seed.movies}") int movies,
+                                  @Value("${novus.load.seed.users}") int users,
+                                  @Value("${novus.load.seed.favorites-per-user}") int favoritesPerUser,
+                                  @Value("${novus.load.seed.random-seed}") long randomSeed) {
+        return new LoadDataSeeder(jdbcTemplate, quotes, books, movies, users, favoritesPerUser, randomSeed);
+    }
+}
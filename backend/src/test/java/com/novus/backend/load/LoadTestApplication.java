@@ -0,0 +1,29 @@
+package com.novus.backend.load;
+
+import com.novus.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Runs the backend with the {@code load} profile: embedded H2 database seeded by
+ * {@link LoadDataSeeder} and HMAC tokens from {@link LoadTokens} instead of Keycloak.
+ *
+ * <pre>
+ * mvn spring-boot:test-run -Dspring-boot.run.main-class=com.novus.backend.load.LoadTestApplication
+ * </pre>
+ *
+ * Seed sizes and the rest of the profile live in {@code application-load.properties} and can be
+ * overridden with {@code -Dspring-boot.run.arguments="--novus.load.seed.quotes=100000"}. Drive it
+ * with {@link com.novus.backend.bench.LoadDriver}.
+ */
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication.from(BackendApplication::main)
+                .with(LoadProfileConfig.class)
+                .withAdditionalProfiles("load")
+                .run(args);
+    }
+}
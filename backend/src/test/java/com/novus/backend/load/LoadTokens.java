@@ -0,0 +1,44 @@
+package com.novus.backend.load;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Local stand-in for the Keycloak issuer: HS256 tokens signed with a shared secret, carrying the
+ * claims the backend reads ({@code sub}, {@code email}, {@code name}, {@code realm_access.roles}).
+ * Plain JDK only, so the load driver runs without the application classpath.
+ */
+public final class LoadTokens {
+
+    public static final String DEFAULT_SECRET = "novus-load-profile-secret-change-me-0123456789";
+    public static final String ISSUER = "http://localhost/realms/novus-load";
+
+    private LoadTokens() {
+    }
+
+    public static String subject(int user) {
+        return "load-user-" + user;
+    }
+
+    public static String mint(String secret, int user, Instant expiresAt) {
+        Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+        String header = base64.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = base64.encodeToString(("{\"sub\":\"" + subject(user) + "\",\"iss\":\"" + ISSUER + "\""
+                + ",\"email\":\"" + subject(user) + "@example.com\",\"name\":\"Load User " + user + "\""
+                + ",\"realm_access\":{\"roles\":[\"user\"]}"
+                + ",\"iat\":" + Instant.now().getEpochSecond() + ",\"exp\":" + expiresAt.getEpochSecond() + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        String signingInput = header + "." + payload;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return signingInput + "." + base64.encodeToString(mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CoOccurrenceMatrixTests {
+
+	private static final long QUOTE_1 = CoOccurrenceMatrix.key(ItemType.QUOTE, 1);
+	private static final long QUOTE_2 = CoOccurrenceMatrix.key(ItemType.QUOTE, 2);
+	private static final long BOOK_1 = CoOccurrenceMatrix.key(ItemType.BOOK, 1);
+	private static final long MOVIE_1 = CoOccurrenceMatrix.key(ItemType.MOVIE, 1);
+
+	private final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(8);
+
+	@Test
+	void keysRoundTripTypeAndId() {
+		long key = CoOccurrenceMatrix.key(ItemType.MOVIE, 123_456_789L);
+
+		assertThat(CoOccurrenceMatrix.typeOf(key)).isEqualTo(ItemType.MOVIE);
+		assertThat(CoOccurrenceMatrix.idOf(key)).isEqualTo(123_456_789L);
+	}
+
+	@Test
+	void countsItemsFavoritedTogether() {
+		favorite(QUOTE_1, QUOTE_2, BOOK_1);
+		favorite(QUOTE_1, BOOK_1);
+		favorite(QUOTE_1, MOVIE_1);
+
+		List<CoOccurrenceMatrix.Neighbor> top = matrix.top(QUOTE_1, 10, key -> true);
+
+		assertThat(top).extracting(CoOccurrenceMatrix.Neighbor::key).containsExactly(BOOK_1, QUOTE_2, MOVIE_1);
+		assertThat(top.get(0).together()).isEqualTo(2);
+		assertThat(matrix.top(QUOTE_1, 10, key -> CoOccurrenceMatrix.typeOf(key) == ItemType.QUOTE))
+				.extracting(CoOccurrenceMatrix.Neighbor::key).containsExactly(QUOTE_2);
+	}
+
+	@Test
+	void removalUndoesAddition() {
+		favorite(QUOTE_1, QUOTE_2);
+		matrix.add(BOOK_1, new long[]{QUOTE_1, QUOTE_2}, 2);
+
+		matrix.remove(BOOK_1, new long[]{QUOTE_1, QUOTE_2}, 2);
+
+		assertThat(matrix.top(QUOTE_1, 10, key -> true)).extracting(CoOccurrenceMatrix.Neighbor::key).containsExactly(QUOTE_2);
+		assertThat(matrix.top(BOOK_1, 10, key -> true)).isEmpty();
+	}
+
+	@Test
+	void neighborListsStayBoundedAndKeepFrequentPairs() {
+		for (int user = 0; user < 200; user++) {
+			favorite(QUOTE_1, QUOTE_2);
+		}
+		for (long id = 100; id < 400; id++) {
+			favorite(QUOTE_1, CoOccurrenceMatrix.key(ItemType.BOOK, id));
+		}
+
+		List<CoOccurrenceMatrix.Neighbor> top = matrix.top(QUOTE_1, 100, key -> true);
+
+		assertThat(top).hasSizeLessThanOrEqualTo(8);
+		assertThat(top.get(0).key()).isEqualTo(QUOTE_2);
+		// One-off books only displace each other
+		assertThat(top.get(0).together()).isEqualTo(200);
+	}
+
+	@Test
+	void fullListsDecayWhenNoNeighborIsAOneOff() {
+		for (long id = 1; id <= 8; id++) {
+			long book = CoOccurrenceMatrix.key(ItemType.BOOK, id);
+			favorite(QUOTE_1, book);
+			favorite(QUOTE_1, book);
+		}
+		favorite(QUOTE_1, MOVIE_1);
+
+		assertThat(matrix.top(QUOTE_1, 100, key -> true)).hasSize(8)
+				.allSatisfy(neighbor -> assertThat(neighbor.together()).isEqualTo(1))
+				.extracting(CoOccurrenceMatrix.Neighbor::key).doesNotContain(MOVIE_1);
+	}
+
+	@Test
+	void resetReplacesAnItemsPairsWithExactCounts() {
+		favorite(QUOTE_1, QUOTE_2);
+		favorite(QUOTE_1, QUOTE_2);
+		favorite(QUOTE_1, MOVIE_1);
+
+		// Recounted: QUOTE_1 is now favorited with QUOTE_2 once and with BOOK_1 three times
+		matrix.reset(QUOTE_1, 4, new long[]{QUOTE_2, BOOK_1}, new int[]{1, 3}, 2);
+
+		assertThat(matrix.top(QUOTE_1, 10, key -> true))
+				.extracting(CoOccurrenceMatrix.Neighbor::key, CoOccurrenceMatrix.Neighbor::together)
+				.containsExactly(tuple(BOOK_1, 3), tuple(QUOTE_2, 1));
+		assertThat(matrix.top(MOVIE_1, 10, key -> true)).isEmpty();
+		assertThat(matrix.top(QUOTE_2, 10, key -> true)).extracting(CoOccurrenceMatrix.Neighbor::together).containsExactly(1);
+	}
+
+	// One user favoriting the items in order, as the matrix is built
+	private void favorite(long... items) {
+		for (int i = 0; i < items.length; i++) {
+			matrix.add(items[i], items, i);
+		}
+	}
+}
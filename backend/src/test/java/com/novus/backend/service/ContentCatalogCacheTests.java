@@ -0,0 +1,80 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentCatalogCacheTests {
+
+	private final ContentCatalogCache cache = new ContentCatalogCache(100, 10, new SimpleMeterRegistry());
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void rowsAreLoadedOnceUntilInvalidated() {
+		assertThat(cache.get(ItemType.BOOK, 1L, this::load)).contains("book-1");
+		assertThat(cache.get(ItemType.BOOK, 1L, this::load)).contains("book-1");
+		assertThat(loads).hasValue(1);
+
+		cache.onContentChanged(new ContentChangedEvent(ItemType.BOOK, 1L));
+		cache.get(ItemType.BOOK, 1L, this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void missingRowsAreCachedUntilTheTypeChanges() {
+		assertThat(cache.get(ItemType.QUOTE, 7L, id -> { loads.incrementAndGet(); return Optional.empty(); })).isEmpty();
+		assertThat(cache.get(ItemType.QUOTE, 7L, this::load)).isEmpty();
+
+		cache.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, null));
+		assertThat(cache.get(ItemType.QUOTE, 7L, this::load)).contains("book-7");
+	}
+
+	@Test
+	void batchLoadsOnlyMissingIds() {
+		cache.get(ItemType.MOVIE, 1L, this::load);
+		List<List<Long>> requested = new ArrayList<>();
+
+		List<String> rows = cache.getAll(ItemType.MOVIE, List.of(1L, 2L, 3L), ids -> {
+			requested.add(List.copyOf(ids));
+			return ids.stream().filter(id -> id != 3L).map(id -> "book-" + id).toList();
+		}, row -> Long.parseLong(row.substring(5)));
+
+		assertThat(rows).containsExactly("book-1", "book-2");
+		assertThat(requested).containsExactly(List.of(2L, 3L));
+		assertThat(cache.getAll(ItemType.MOVIE, List.of(2L, 3L), ids -> List.of("unexpected"), row -> 0L))
+				.containsExactly("book-2");
+	}
+
+	@Test
+	void invalidationDuringLoadDiscardsTheResult() {
+		cache.get(ItemType.BOOK, 1L, id -> {
+			cache.invalidate(ItemType.BOOK, id);
+			return Optional.of("stale");
+		});
+
+		assertThat(cache.get(ItemType.BOOK, 1L, this::load)).contains("book-1");
+	}
+
+	@Test
+	void rowChangeDropsCachedPagesOfThatType() {
+		cache.page(ItemType.QUOTE, "first", () -> "page-" + loads.incrementAndGet());
+		cache.page(ItemType.BOOK, "first", () -> "page-" + loads.incrementAndGet());
+
+		cache.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, 42L));
+
+		assertThat(cache.page(ItemType.QUOTE, "first", () -> "page-" + loads.incrementAndGet())).isEqualTo("page-3");
+		assertThat(cache.page(ItemType.BOOK, "first", () -> "page-" + loads.incrementAndGet())).isEqualTo("page-2");
+	}
+
+	private Optional<String> load(Long id) {
+		loads.incrementAndGet();
+		return Optional.of("book-" + id);
+	}
+}
@@ -0,0 +1,165 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.content.ContentImportJob.Format;
+import com.novus.backend.domain.content.ContentImportJob.Status;
+import com.novus.backend.domain.content.Movie;
+import com.novus.backend.domain.content.Quote;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.ContentImportJobRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ContentImportServiceImpl.class, SimpleMeterRegistry.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = "novus.import.batch-size=2")
+// Batches commit on their own, as they do in production
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentImportServiceTests {
+
+	@Autowired
+	private ContentImportService importService;
+
+	@Autowired
+	private QuoteRepository quoteRepository;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ContentImportJobRepository jobRepository;
+
+	@AfterEach
+	void clean() {
+		quoteRepository.deleteAll();
+		movieRepository.deleteAll();
+		jobRepository.deleteAll();
+	}
+
+	@Test
+	void csvRowsAreValidatedAndDeduplicated() {
+		Quote existing = new Quote();
+		existing.setContent("Be kind");
+		existing.setAuthor("Anon");
+		quoteRepository.saveAndFlush(existing);
+		String csv = """
+				content,author,category,is_premium
+				"Stay hungry, stay ""foolish""\",Jobs,wisdom,true
+				"  be   KIND ",anon,,
+				"Two
+				lines",,,no
+
+				,Nobody,,
+				Fine,Someone,,maybe
+				Stay hungry, stay "foolish",Jobs,,
+				""";
+
+		ContentImportService.ImportReport report = importService.importContent(ItemType.QUOTE, Format.CSV, input(csv), null);
+
+		assertThat(report.status()).isEqualTo(Status.COMPLETED);
+		assertThat(report.committedRows()).isEqualTo(6);
+		assertThat(report.rowsInserted()).isEqualTo(2);
+		assertThat(report.rowsDuplicate()).isEqualTo(1);
+		assertThat(report.rowsInvalid()).isEqualTo(3);
+		assertThat(report.errors()).extracting(ContentImportService.RowError::row, ContentImportService.RowError::message)
+				.containsExactly(tuple(4L, "content is required"),
+						tuple(5L, "isPremium must be true or false"),
+						tuple(6L, "Expected 4 fields but found 5"));
+		assertThat(quoteRepository.findAll()).extracting(Quote::getContent, Quote::isPremium)
+				.containsExactlyInAnyOrder(tuple("Be kind", false), tuple("Stay hungry, stay \"foolish\"", true),
+						tuple("Two\nlines", false));
+	}
+
+	@Test
+	void ndjsonRowsAreImported() {
+		String ndjson = """
+				{"title": "Arrival", "releaseYear": 2016, "director": "Villeneuve", "religious": false}
+				{"title": "arrival", "release_year": "2016"}
+				{"title": "Arrival", "releaseYear": 1999}
+				not json
+				{"title": "Old", "releaseYear": 1700}
+				""";
+
+		ContentImportService.ImportReport report = importService.importContent(ItemType.MOVIE, Format.NDJSON, input(ndjson), null);
+
+		assertThat(report.rowsInserted()).isEqualTo(2);
+		assertThat(report.rowsDuplicate()).isEqualTo(1);
+		assertThat(report.errors()).extracting(ContentImportService.RowError::message)
+				.containsExactly("Not valid JSON", "releaseYear must be between 1870 and 2100");
+		assertThat(movieRepository.findAll()).extracting(Movie::getReleaseYear).containsExactlyInAnyOrder(2016, 1999);
+		assertThat(importService.getJob(report.jobId()).rowsInserted()).isEqualTo(2);
+	}
+
+	@Test
+	void failedImportResumesAfterTheLastCommittedBatch() {
+		StringBuilder csv = new StringBuilder("content\n");
+		for (int i = 1; i <= 7; i++) {
+			csv.append("quote ").append(i).append('\n');
+		}
+		byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+		// The connection drops in the middle of the sixth row
+		ContentImportService.ImportReport failed = importService.importContent(ItemType.QUOTE, Format.CSV,
+				new FailingInputStream(bytes, "content\nquote 1\nquote 2\nquote 3\nquote 4\nquote 5\nquo".length()), null);
+
+		assertThat(failed.status()).isEqualTo(Status.FAILED);
+		assertThat(failed.committedRows()).isEqualTo(4);
+		assertThat(quoteRepository.count()).isEqualTo(4);
+
+		ContentImportService.ImportReport resumed = importService.importContent(ItemType.QUOTE, Format.CSV,
+				new ByteArrayInputStream(bytes), failed.jobId());
+
+		assertThat(resumed.status()).isEqualTo(Status.COMPLETED);
+		assertThat(resumed.jobId()).isEqualTo(failed.jobId());
+		assertThat(resumed.rowsInserted()).isEqualTo(7);
+		assertThat(resumed.rowsDuplicate()).isZero();
+		assertThat(quoteRepository.count()).isEqualTo(7);
+		assertThatIllegalArgumentException().isThrownBy(() -> importService.importContent(ItemType.QUOTE, Format.CSV,
+				new ByteArrayInputStream(bytes), failed.jobId()));
+	}
+
+	private static InputStream input(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static final class FailingInputStream extends ByteArrayInputStream {
+		private final int failAt;
+
+		FailingInputStream(byte[] bytes, int failAt) {
+			super(bytes);
+			this.failAt = failAt;
+		}
+
+		@Override
+		public synchronized int read(byte[] buffer, int offset, int length) {
+			if (pos >= failAt) {
+				throw new UncheckedIOException(new IOException("Connection reset"));
+			}
+			return super.read(buffer, offset, Math.min(length, failAt - pos));
+		}
+
+		@Override
+		public synchronized int available() {
+			return Math.max(0, failAt - pos);
+		}
+	}
+}
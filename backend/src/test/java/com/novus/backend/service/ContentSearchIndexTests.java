@@ -0,0 +1,77 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.QuoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentSearchIndexTests {
+
+	private final ContentSearchIndex.Segment segment = ContentSearchIndex.Segment.build(List.of(
+			new ContentSearchIndex.Doc(ItemType.QUOTE, 1, "The obstacle is the way.", "Marcus Aurelius", "STOICISM"),
+			new ContentSearchIndex.Doc(ItemType.QUOTE, 2, "Discipline equals freedom.", "Jocko Willink", "DISCIPLINE"),
+			new ContentSearchIndex.Doc(ItemType.BOOK, 3, "Meditations", "Marcus Aurelius", null),
+			new ContentSearchIndex.Doc(ItemType.BOOK, 4, "Café Society", "Zoë Müller", null)));
+
+	@Test
+	void normalizeFoldsCaseAccentsAndPunctuation() {
+		assertThat(ContentSearchIndex.normalize("  Zoë  MÜLLER, Jr. ")).isEqualTo("zoe muller jr");
+	}
+
+	@Test
+	void candidatesMatchSubstringsAndWordPrefixes() {
+		assertThat(docIds(segment.candidates("aureli"))).containsExactly(1L, 3L);
+		assertThat(docIds(segment.candidates("cafe"))).containsExactly(4L);
+		assertThat(docIds(segment.candidates("wi"))).containsExactly(2L);
+		assertThat(segment.candidates("xyz")).isEmpty();
+	}
+
+	@Test
+	void titleMatchesOutrankQuoteBodies() {
+		ContentSearchIndex.Doc book = segment.docs[2];
+		ContentSearchIndex.Doc quote = segment.docs[0];
+		assertThat(ContentSearchIndex.score(book, "meditations")).isGreaterThan(ContentSearchIndex.score(quote, "obstacle"));
+		assertThat(ContentSearchIndex.score(quote, "tacle")).isLessThan(ContentSearchIndex.score(quote, "obstacle"));
+	}
+
+	@Test
+	void contentChangesQueueOneRefreshOffTheWritersThread() {
+		List<Runnable> scheduled = new ArrayList<>();
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+			scheduled.add(invocation.getArgument(0));
+			return null;
+		});
+		ContentSearchIndex index = new ContentSearchIndex(mock(QuoteRepository.class),
+				mock(BookRepository.class), new TransactionTemplate(), taskScheduler);
+
+		index.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, 1L));
+		index.onContentChanged(new ContentChangedEvent(ItemType.BOOK, 2L));
+		index.onContentChanged(new ContentChangedEvent(ItemType.MOVIE, 3L));
+
+		assertThat(scheduled).hasSize(1);
+		assertThat(index.isReady()).isFalse();
+
+		// Not built yet, so the refresh has nothing to pull on top of
+		scheduled.get(0).run();
+		index.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, 1L));
+
+		assertThat(scheduled).hasSize(2);
+	}
+
+	private long[] docIds(int[] ordinals) {
+		return Arrays.stream(ordinals).mapToLong(ordinal -> segment.docs[ordinal].id()).toArray();
+	}
+}
@@ -0,0 +1,53 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.TableVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentVersionServiceTests {
+
+	private final QuoteRepository quoteRepository = mock(QuoteRepository.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final ContentVersionServiceImpl service = new ContentVersionServiceImpl(quoteRepository,
+			mock(BookRepository.class), mock(MovieRepository.class), eventPublisher, Duration.ZERO);
+
+	@Test
+	void versionThatMovedWithoutAnEventInvalidatesTheTypeBeforeItIsServed() {
+		TableVersion v1 = new TableVersion(LocalDateTime.of(2024, 1, 1, 0, 0), 10);
+		TableVersion v2 = new TableVersion(LocalDateTime.of(2024, 1, 2, 0, 0), 10);
+		when(quoteRepository.findTableVersion()).thenReturn(v1, v1, v2);
+
+		service.getVersion(ItemType.QUOTE);
+		service.getVersion(ItemType.QUOTE);
+		verify(eventPublisher, never()).publishEvent(new ContentChangedEvent(ItemType.QUOTE, null));
+
+		assertThat(service.getVersion(ItemType.QUOTE).lastModified()).isEqualTo(v2.lastModified());
+		verify(eventPublisher).publishEvent(new ContentChangedEvent(ItemType.QUOTE, null));
+	}
+
+	@Test
+	void versionThatMovedAfterAnAppWriteIsNotInvalidatedTwice() {
+		when(quoteRepository.findTableVersion()).thenReturn(
+				new TableVersion(LocalDateTime.of(2024, 1, 1, 0, 0), 10),
+				new TableVersion(LocalDateTime.of(2024, 1, 2, 0, 0), 11));
+
+		service.getVersion(ItemType.QUOTE);
+		service.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, 11L));
+		service.getVersion(ItemType.QUOTE);
+
+		verify(eventPublisher, never()).publishEvent(new ContentChangedEvent(ItemType.QUOTE, null));
+	}
+}
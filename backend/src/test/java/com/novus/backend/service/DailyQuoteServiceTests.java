@@ -0,0 +1,103 @@
+package com.novus.backend.service;
+
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.QuoteSamplingRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DailyQuoteServiceTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private final List<QuoteSamplingRow> rows = new ArrayList<>();
+	private final AtomicInteger viewQueries = new AtomicInteger();
+	private final QuoteRepository quoteRepository = mock(QuoteRepository.class);
+	private final QuoteSampler quoteSampler = new QuoteSampler(quoteRepository);
+	private final DailyQuoteServiceImpl dailyQuoteService = new DailyQuoteServiceImpl(quoteSampler, quoteRepository, 42L, 4);
+
+	DailyQuoteServiceTests() {
+		when(quoteRepository.findAllSamplingRows()).thenAnswer(invocation -> List.copyOf(rows));
+		when(quoteRepository.findViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+			viewQueries.incrementAndGet();
+			List<QuoteView> views = new ArrayList<>();
+			for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+				rows.stream().filter(row -> row.id().equals(id)).findFirst().ifPresent(row -> views.add(
+						new QuoteView(row.id(), "Quote " + row.id(), "Author", row.category(), row.premium(),
+								row.religious(), null, T0, T0)));
+			}
+			return views;
+		});
+	}
+
+	@Test
+	void publishedEditionsAreNotReplacedByLaterRuns() {
+		for (long id = 1; id <= 3; id++) {
+			rows.add(new QuoteSamplingRow(id, "STOICISM", false, false, T0));
+		}
+		quoteSampler.rebuild();
+		dailyQuoteService.precompute();
+		QuoteView published = dailyQuoteService.getDailyQuote("STOICISM", ZoneOffset.UTC, true, null).quote();
+		int queries = viewQueries.get();
+
+		// A larger pool would now pick differently, but today's edition is already out
+		for (long id = 4; id <= 40; id++) {
+			rows.add(new QuoteSamplingRow(id, "STOICISM", false, false, T0));
+		}
+		quoteSampler.rebuild();
+		dailyQuoteService.precompute();
+
+		assertThat(dailyQuoteService.getDailyQuote("STOICISM", ZoneOffset.UTC, true, null).quote()).isEqualTo(published);
+		assertThat(viewQueries.get()).isEqualTo(queries);
+	}
+
+	@Test
+	void missingDaysAreFilledIn() {
+		rows.add(new QuoteSamplingRow(1L, "STOICISM", false, false, T0));
+		quoteSampler.rebuild();
+
+		assertThat(dailyQuoteService.getDailyQuote(null, ZoneOffset.UTC, true, "user").quote().id()).isEqualTo(1L);
+		int queries = viewQueries.get();
+
+		// One query per day from yesterday to the day after tomorrow, then nothing is missing
+		dailyQuoteService.precompute();
+		assertThat(viewQueries.get()).isEqualTo(queries + 4);
+		dailyQuoteService.precompute();
+		assertThat(viewQueries.get()).isEqualTo(queries + 4);
+
+		assertThat(dailyQuoteService.getDailyQuote("STOICISM", ZoneOffset.ofHours(14), false, null).quote().id())
+				.isEqualTo(1L);
+		assertThat(viewQueries.get()).isEqualTo(queries + 4);
+	}
+
+	@Test
+	void unknownCategoriesAndEmptyEditionsDoNotQueryAgain() {
+		rows.add(new QuoteSamplingRow(1L, "FAITH", false, true, T0));
+		quoteSampler.rebuild();
+
+		assertThatThrownBy(() -> dailyQuoteService.getDailyQuote("NOPE", ZoneOffset.UTC, true, null))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(viewQueries.get()).isZero();
+
+		// Nothing left once religious quotes are filtered out; the empty edition is remembered
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> dailyQuoteService.getDailyQuote("FAITH", ZoneOffset.UTC, false, null))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThat(viewQueries.get()).isEqualTo(1);
+		assertThat(dailyQuoteService.getDailyQuote("FAITH", ZoneOffset.UTC, true, null).quote().id()).isEqualTo(1L);
+		assertThat(viewQueries.get()).isEqualTo(1);
+	}
+}
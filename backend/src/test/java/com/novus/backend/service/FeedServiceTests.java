@@ -0,0 +1,116 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.UserView;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedServiceTests {
+
+	// 100 quotes per category: wisdom 1-100, love 101-200, humor 201-300
+	private static final Map<String, long[]> CATEGORIES = Map.of(
+			"wisdom", LongStream.rangeClosed(1, 100).toArray(),
+			"love", LongStream.rangeClosed(101, 200).toArray(),
+			"humor", LongStream.rangeClosed(201, 300).toArray());
+	private static final Function<String, long[][]> PARTITIONS = category -> category == null
+			? new long[][]{LongStream.rangeClosed(1, 300).toArray()}
+			: new long[][]{CATEGORIES.get(category)};
+
+	@Test
+	void slotsFollowCategoryWeights() {
+		long[] feed = FeedServiceImpl.rank(weights("wisdom", 3.0, "love", 1.0), Map.of(), Set.of(), PARTITIONS, 100, 0.2, 42);
+
+		assertThat(feed).hasSize(100).doesNotHaveDuplicates();
+		// 80 personal slots split 3:1, plus what exploration happens to pick from each
+		assertThat(count(feed, "wisdom")).isBetween(60, 80);
+		assertThat(count(feed, "love")).isBetween(20, 35);
+		assertThat(count(feed, "humor")).isLessThanOrEqualTo(20);
+	}
+
+	@Test
+	void favoritesAreNeverRanked() {
+		Set<Long> favorites = Set.of(1L, 2L, 3L, 150L);
+
+		long[] feed = FeedServiceImpl.rank(weights("wisdom", 6.0, "love", 1.0), Map.of("wisdom", 3, "love", 1),
+				favorites, PARTITIONS, 300, 0.2, 7);
+
+		assertThat(feed).doesNotContain(1L, 2L, 3L, 150L);
+	}
+
+	@Test
+	void sharesAreInterleavedAndStableForASeed() {
+		Map<String, Double> weights = weights("wisdom", 1.0, "love", 1.0);
+		long[] feed = FeedServiceImpl.rank(weights, Map.of(), Set.of(), PARTITIONS, 20, 0, 1);
+
+		assertThat(FeedServiceImpl.rank(weights, Map.of(), Set.of(), PARTITIONS, 20, 0, 1)).containsExactly(feed);
+		for (int i = 0; i + 1 < feed.length; i += 2) {
+			assertThat(Set.of(category(feed[i]), category(feed[i + 1]))).containsExactlyInAnyOrder("wisdom", "love");
+		}
+	}
+
+	@Test
+	void usersWithoutSignalsGetTheWholeCatalog() {
+		long[] feed = FeedServiceImpl.rank(Map.of(), Map.of(), Set.of(), PARTITIONS, 50, 0.2, 3);
+
+		assertThat(feed).hasSize(50).doesNotHaveDuplicates();
+		assertThat(Arrays.stream(feed)).allMatch(id -> id >= 1 && id <= 300);
+	}
+
+	@Test
+	void favoriteRemovedWhileTheProfileLoadsIsNotLost() {
+		QuoteSampler quoteSampler = mock(QuoteSampler.class);
+		QuoteService quoteService = mock(QuoteService.class);
+		UserFavoriteRepository repository = mock(UserFavoriteRepository.class);
+		FeedServiceImpl service = new FeedServiceImpl(quoteSampler, quoteService, repository, new SimpleMeterRegistry(),
+				10, 3, 1.0, Duration.ofMinutes(15), 100);
+		UUID userId = UUID.randomUUID();
+		UserView user = new UserView(userId, "kc", "a@example.com", "A", Set.of(), null, null);
+		when(quoteSampler.categories()).thenReturn(Set.of());
+		when(quoteSampler.partitions(isNull(), anyBoolean(), anyBoolean())).thenReturn(new long[][]{{1, 2, 3}});
+		// The first read predates the removal of quote 2, whose event arrives before the profile is cached
+		when(repository.findItemIdsByUserIdAndItemType(userId, ItemType.QUOTE)).thenAnswer(invocation -> {
+			service.onFavoritesChanged(new FavoritesChangedEvent(userId, List.of(),
+					List.of(new FavoriteItem(ItemType.QUOTE, 2L)), true));
+			return List.of(1L, 2L);
+		}).thenReturn(List.of(1L));
+
+		service.getFeed(user, null, 10, true, true);
+
+		verify(quoteService).getQuotesByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L, 3L))));
+	}
+
+	private static Map<String, Double> weights(String first, double firstWeight, String second, double secondWeight) {
+		Map<String, Double> weights = new TreeMap<>();
+		weights.put(first, firstWeight);
+		weights.put(second, secondWeight);
+		return weights;
+	}
+
+	private static int count(long[] feed, String category) {
+		return (int) Arrays.stream(feed).filter(id -> category.equals(category(id))).count();
+	}
+
+	private static String category(long id) {
+		return id <= 100 ? "wisdom" : id <= 200 ? "love" : "humor";
+	}
+}
@@ -0,0 +1,89 @@
+package com.novus.backend.service;
+
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.FavoriteView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.UserFavoriteRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InteractionServiceTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+	private static final UUID USER = UUID.randomUUID();
+
+	private final QuoteService quoteService = mock(QuoteService.class);
+	private final ContentService contentService = mock(ContentService.class);
+
+	@Test
+	void hydratedFavoritesCarryTheViewOfTheirType() {
+		InteractionServiceImpl interactionService = service(List.of(
+				favorite(4, ItemType.MOVIE, 7),
+				favorite(3, ItemType.BOOK, 5),
+				favorite(2, ItemType.QUOTE, 9),
+				favorite(1, ItemType.QUOTE, 8)));
+
+		CursorPage<InteractionService.HydratedFavorite> page = interactionService.getHydratedFavorites(USER, null, 10);
+
+		assertThat(page.items()).extracting(InteractionService.HydratedFavorite::favoriteId).containsExactly(4L, 3L, 2L, 1L);
+		assertThat(page.items().get(0).item()).isInstanceOfSatisfying(MovieView.class,
+				movie -> assertThat(movie.id()).isEqualTo(7L));
+		assertThat(page.items().get(1).item()).isInstanceOfSatisfying(BookView.class,
+				book -> assertThat(book.id()).isEqualTo(5L));
+		assertThat(page.items().get(2).item()).isInstanceOfSatisfying(QuoteView.class,
+				quote -> assertThat(quote.id()).isEqualTo(9L));
+		// One batch per content type, not one lookup per favorite
+		verify(quoteService).getQuotesByIds(anyCollection());
+		verify(contentService).getBooksByIds(anyCollection());
+		verify(contentService).getMoviesByIds(anyCollection());
+	}
+
+	@Test
+	void deletedContentHydratesToNull() {
+		InteractionServiceImpl interactionService = service(List.of(
+				favorite(2, ItemType.QUOTE, 404),
+				favorite(1, ItemType.QUOTE, 8)));
+
+		CursorPage<InteractionService.HydratedFavorite> page = interactionService.getHydratedFavorites(USER, null, 10);
+
+		assertThat(page.items().get(0).item()).isNull();
+		assertThat(page.items().get(1).item()).isInstanceOf(QuoteView.class);
+	}
+
+	private InteractionServiceImpl service(List<FavoriteView> favorites) {
+		UserFavoriteRepository userFavoriteRepository = mock(UserFavoriteRepository.class);
+		when(userFavoriteRepository.findViewsByUserIdBefore(eq(USER), anyLong(), any())).thenAnswer(invocation ->
+				favorites.stream().filter(favorite -> favorite.id() < invocation.<Long>getArgument(1)).toList());
+		when(quoteService.getQuotesByIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+				.stream().filter(id -> id != 404)
+				.map(id -> new QuoteView(id, "Quote", "Author", null, false, false, null, T0, T0)).toList());
+		when(contentService.getBooksByIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+				.stream().map(id -> new BookView(id, "Book", "Author", null, null, null, false, T0, T0)).toList());
+		when(contentService.getMoviesByIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+				.stream().map(id -> new MovieView(id, "Movie", null, null, "Director", 2000, false, T0, T0)).toList());
+		return new InteractionServiceImpl(userFavoriteRepository, quoteService, contentService,
+				new ReplicaReads("", Duration.ofSeconds(5)), event -> {
+		});
+	}
+
+	private static FavoriteView favorite(long id, ItemType itemType, long itemId) {
+		return new FavoriteView(id, USER, itemType, itemId, T0.plusMinutes(id), T0.plusMinutes(id));
+	}
+}
@@ -0,0 +1,77 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+class PopularityCountersTests {
+
+	private static final long HOUR = Duration.ofHours(1).toMillis();
+	private static final long QUOTE_1 = CoOccurrenceMatrix.key(ItemType.QUOTE, 1);
+	private static final long QUOTE_2 = CoOccurrenceMatrix.key(ItemType.QUOTE, 2);
+	private static final long QUOTE_3 = CoOccurrenceMatrix.key(ItemType.QUOTE, 3);
+	private static final long BOOK_1 = CoOccurrenceMatrix.key(ItemType.BOOK, 1);
+
+	private final PopularityCounters counters = new PopularityCounters(Duration.ofHours(1), 0);
+
+	@Test
+	void scoresHalveEveryHalfLife() {
+		counters.record(QUOTE_1, 1, 0);
+		counters.record(QUOTE_1, 1, 2 * HOUR);
+		counters.record(QUOTE_1, -1, 2 * HOUR);
+
+		assertThat(counters.count(QUOTE_1)).isEqualTo(1);
+		assertThat(counters.score(QUOTE_1, 0)).isCloseTo(1, within(1e-9));
+		assertThat(counters.score(QUOTE_1, 3 * HOUR)).isCloseTo(0.125, within(1e-9));
+		assertThat(counters.score(QUOTE_2, 3 * HOUR)).isZero();
+	}
+
+	@Test
+	void recentFavoritesOutrankOlderOnes() {
+		// Three favorites a day ago weigh less than one an hour ago
+		for (int i = 0; i < 3; i++) {
+			counters.record(QUOTE_1, 1, 0);
+		}
+		counters.record(QUOTE_2, 1, 23 * HOUR);
+		counters.record(QUOTE_3, 1, 23 * HOUR);
+		counters.record(QUOTE_3, -1, 23 * HOUR);
+		counters.record(BOOK_1, 1, 23 * HOUR);
+
+		List<PopularityCounters.Ranked> top = counters.top(ItemType.QUOTE, 5, 24 * HOUR);
+
+		assertThat(top).extracting(PopularityCounters.Ranked::key).containsExactly(QUOTE_2, QUOTE_1);
+		assertThat(top.get(1).count()).isEqualTo(3);
+		assertThat(counters.top(ItemType.QUOTE, 1, 24 * HOUR)).extracting(PopularityCounters.Ranked::key)
+				.containsExactly(QUOTE_2);
+	}
+
+	@Test
+	void drainReturnsEachChangeOnce() {
+		counters.record(QUOTE_1, 1, 0);
+		counters.setCount(BOOK_1, 7);
+
+		assertThat(counters.drainDirty(0)).extracting(PopularityCounters.Ranked::key, PopularityCounters.Ranked::count)
+				.containsExactlyInAnyOrder(tuple(QUOTE_1, 1L),
+						tuple(BOOK_1, 7L));
+		assertThat(counters.drainDirty(0)).isEmpty();
+
+		counters.markDirty(List.of(BOOK_1));
+		assertThat(counters.drainDirty(0)).extracting(PopularityCounters.Ranked::key).containsExactly(BOOK_1);
+	}
+
+	@Test
+	void rescalingKeepsScores() {
+		long later = 600 * HOUR;
+		counters.record(QUOTE_1, 1, later - HOUR);
+		counters.record(QUOTE_2, 1, later);
+
+		assertThat(counters.score(QUOTE_1, later)).isCloseTo(0.5, within(1e-9));
+		assertThat(counters.score(QUOTE_2, later + HOUR)).isCloseTo(0.5, within(1e-9));
+	}
+}
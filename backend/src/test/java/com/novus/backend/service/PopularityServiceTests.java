@@ -0,0 +1,128 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.repository.ItemCount;
+import com.novus.backend.repository.ItemPopularityRepository;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PopularityServiceTests {
+
+	private static final UUID USER = UUID.randomUUID();
+
+	// user_favorites as grouped counts per quote id
+	private final Map<Long, Long> table = new ConcurrentHashMap<>();
+	private Runnable duringRead = () -> {
+	};
+	private Map<Long, Long> stale;
+	private final PopularityServiceImpl popularityService = service();
+
+	@Test
+	void changesDuringARebuildAreRecountedIntoTheNewCounters() {
+		table.put(1L, 2L);
+		popularityService.rebuild();
+
+		duringRead = () -> {
+			// Committed after the grouped count was read, so the new counters miss it
+			table.merge(1L, 1L, Long::sum);
+			popularityService.onFavoritesChanged(added(1L, true));
+		};
+		popularityService.rebuild();
+		duringRead = () -> {
+		};
+
+		assertThat(count(1L)).isEqualTo(2);
+		popularityService.flush();
+		assertThat(count(1L)).isEqualTo(3);
+	}
+
+	@Test
+	void pendingRecountsSurviveARebuild() {
+		table.put(2L, 1L);
+		popularityService.rebuild();
+
+		table.put(2L, 5L);
+		popularityService.onFavoritesChanged(added(2L, false));
+		// A read from before the change, as from a replica that is behind
+		rebuildReading(Map.of(2L, 1L));
+		popularityService.flush();
+
+		assertThat(count(2L)).isEqualTo(5);
+	}
+
+	@Test
+	void flushDuringARebuildLeavesRecountsForTheNewCounters() {
+		table.put(3L, 1L);
+		popularityService.rebuild();
+
+		duringRead = () -> {
+			table.put(3L, 2L);
+			popularityService.onFavoritesChanged(added(3L, true));
+			popularityService.flush();
+		};
+		popularityService.rebuild();
+		duringRead = () -> {
+		};
+		popularityService.flush();
+
+		assertThat(count(3L)).isEqualTo(2);
+	}
+
+	private void rebuildReading(Map<Long, Long> counts) {
+		stale = counts;
+		try {
+			popularityService.rebuild();
+		} finally {
+			stale = null;
+		}
+	}
+
+	private long count(long quoteId) {
+		return popularityService.getPopularity(ItemType.QUOTE, quoteId).favoriteCount();
+	}
+
+	private static FavoritesChangedEvent added(long quoteId, boolean exact) {
+		return new FavoritesChangedEvent(USER, List.of(new FavoriteItem(ItemType.QUOTE, quoteId)), List.of(), exact);
+	}
+
+	private PopularityServiceImpl service() {
+		UserFavoriteRepository userFavoriteRepository = mock(UserFavoriteRepository.class);
+		when(userFavoriteRepository.streamCountsByItem()).thenAnswer(invocation -> {
+			Map<Long, Long> read = stale != null ? stale : Map.copyOf(table);
+			duringRead.run();
+			return read.entrySet().stream().map(e -> new ItemCount(ItemType.QUOTE, e.getKey(), e.getValue()));
+		});
+		when(userFavoriteRepository.streamViewsCreatedAfter(any())).thenAnswer(invocation -> Stream.empty());
+		when(userFavoriteRepository.countByItemIds(eq(ItemType.QUOTE), anyCollection())).thenAnswer(invocation ->
+				invocation.<Collection<Long>>getArgument(1).stream()
+						.filter(table::containsKey)
+						.map(id -> new ItemCount(ItemType.QUOTE, id, table.get(id)))
+						.toList());
+		ItemPopularityRepository itemPopularityRepository = mock(ItemPopularityRepository.class);
+		when(itemPopularityRepository.batchUpsert(anyCollection()))
+				.thenAnswer(invocation -> invocation.<Collection<?>>getArgument(0).size());
+		return new PopularityServiceImpl(userFavoriteRepository, itemPopularityRepository,
+				mock(QuoteService.class), mock(ContentService.class),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), new SimpleMeterRegistry(),
+				Duration.ofHours(24), Duration.ofDays(7), 100, 500);
+	}
+}
@@ -0,0 +1,158 @@
+package com.novus.backend.service;
+
+import com.novus.backend.repository.QuoteRepository;
+import com.novus.backend.repository.QuoteSamplingRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuoteSamplerTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	@Test
+	void sampleReturnsDistinctIdsFromSelectedPartitions() {
+		QuoteSampler.Snapshot snapshot = QuoteSampler.Snapshot.of(List.of(
+				new QuoteSamplingRow(1L, "STOICISM", false, false, T0),
+				new QuoteSamplingRow(2L, "STOICISM", true, false, T0),
+				new QuoteSamplingRow(3L, "STOICISM", false, true, T0),
+				new QuoteSamplingRow(4L, "DISCIPLINE", false, false, T0),
+				new QuoteSamplingRow(5L, "STOICISM", false, false, T0)));
+
+		long[][] free = QuoteSampler.select(snapshot.byCategory.get("STOICISM"), false, false);
+		long[] ids = QuoteSampler.sample(free, 10, new Random(42));
+
+		assertThat(ids).containsExactlyInAnyOrder(1L, 5L);
+	}
+
+	@Test
+	void sampleIsUniformWithoutReplacement() {
+		long[][] partitions = {{1, 2, 3}, {4, 5}, {}, {6}};
+		int[] hits = new int[7];
+		Random random = new Random(7);
+		for (int round = 0; round < 60_000; round++) {
+			long[] ids = QuoteSampler.sample(partitions, 3, random);
+			assertThat(Arrays.stream(ids).distinct().count()).isEqualTo(3);
+			for (long id : ids) {
+				hits[(int) id]++;
+			}
+		}
+		for (int id = 1; id <= 6; id++) {
+			assertThat(hits[id]).isBetween(29_000, 31_000);
+		}
+	}
+
+	@Test
+	void mergeReplacesChangedRowsAndDropsRemovedIds() {
+		QuoteSampler.Snapshot snapshot = QuoteSampler.Snapshot.of(List.of(
+				new QuoteSamplingRow(1L, "A", false, false, T0),
+				new QuoteSamplingRow(2L, "A", false, false, T0),
+				new QuoteSamplingRow(3L, "B", false, false, T0)));
+
+		QuoteSampler.Snapshot merged = snapshot.merge(List.of(
+				new QuoteSamplingRow(2L, "B", true, false, T0.plusMinutes(1)),
+				new QuoteSamplingRow(9L, "A", false, false, T0.plusMinutes(2))), new long[]{3L});
+
+		assertThat(merged.ids).containsExactly(1L, 2L, 9L);
+		assertThat(merged.byCategory.get("A")[0]).containsExactly(1L, 9L);
+		assertThat(merged.byCategory.get("B")[QuoteSampler.PREMIUM]).containsExactly(2L);
+		assertThat(merged.watermark).isEqualTo(T0.plusMinutes(2));
+	}
+
+	@Test
+	void singleRowMergeOnlyCopiesTheTouchedPartitions() {
+		QuoteSampler.Snapshot snapshot = QuoteSampler.Snapshot.of(List.of(
+				new QuoteSamplingRow(10L, "A", false, false, T0),
+				new QuoteSamplingRow(20L, "A", false, false, T0),
+				new QuoteSamplingRow(30L, "B", true, false, T0),
+				new QuoteSamplingRow(40L, "C", false, false, T0)));
+
+		QuoteSampler.Snapshot merged = snapshot.merge(List.of(new QuoteSamplingRow(15L, "A", false, false, T0)), new long[]{40L});
+
+		assertThat(merged.ids).containsExactly(10L, 15L, 20L, 30L);
+		assertThat(merged.byCategory.get("A")[0]).containsExactly(10L, 15L, 20L);
+		assertThat(merged.byCategory.get("B")).isSameAs(snapshot.byCategory.get("B"));
+		assertThat(merged.all[QuoteSampler.PREMIUM]).isSameAs(snapshot.all[QuoteSampler.PREMIUM]);
+		assertThat(merged.byCategory).doesNotContainKey("C");
+		assertThat(snapshot.byCategory.get("A")[0]).containsExactly(10L, 20L);
+	}
+
+	@Test
+	void mergeMatchesAFullRebuild() {
+		Random random = new Random(11);
+		for (int round = 0; round < 200; round++) {
+			Map<Long, QuoteSamplingRow> rows = new LinkedHashMap<>();
+			for (int i = 0; i < 300; i++) {
+				QuoteSamplingRow row = randomRow(random, 500);
+				rows.put(row.id(), row);
+			}
+			QuoteSampler.Snapshot snapshot = QuoteSampler.Snapshot.of(new ArrayList<>(rows.values()));
+
+			// Both below and above the patch limit
+			int deltas = random.nextBoolean() ? 1 + random.nextInt(5) : QuoteSampler.Snapshot.PATCH_LIMIT + random.nextInt(100);
+			List<QuoteSamplingRow> changed = new ArrayList<>();
+			long[] removed = new long[deltas / 3];
+			for (int i = 0; i < deltas - removed.length; i++) {
+				QuoteSamplingRow row = randomRow(random, 600);
+				changed.add(row);
+				rows.put(row.id(), row);
+			}
+			for (int i = 0; i < removed.length; i++) {
+				removed[i] = random.nextInt(600);
+				rows.remove(removed[i]);
+			}
+
+			QuoteSampler.Snapshot merged = snapshot.merge(changed, removed);
+			QuoteSampler.Snapshot expected = QuoteSampler.Snapshot.of(new ArrayList<>(rows.values()));
+
+			assertThat(merged.ids).containsExactly(expected.ids);
+			assertThat(merged.categories).containsExactly(expected.categories);
+			assertThat(merged.buckets).containsExactly(expected.buckets);
+			assertThat(merged.all).isDeepEqualTo(expected.all);
+			assertThat(merged.byCategory.keySet()).isEqualTo(expected.byCategory.keySet());
+			expected.byCategory.forEach((category, partitions) ->
+					assertThat(merged.byCategory.get(category)).isDeepEqualTo(partitions));
+		}
+	}
+
+	@Test
+	void rebuildReplaysDeltasAppliedWhileItReads() {
+		List<QuoteSamplingRow> rows = List.of(
+				new QuoteSamplingRow(1L, "A", false, false, T0),
+				new QuoteSamplingRow(2L, "A", false, false, T0),
+				new QuoteSamplingRow(3L, "B", false, false, T0));
+		AtomicReference<Runnable> duringRead = new AtomicReference<>(() -> {
+		});
+		QuoteRepository repository = mock(QuoteRepository.class);
+		when(repository.findAllSamplingRows()).thenAnswer(invocation -> {
+			duringRead.get().run();
+			return rows;
+		});
+		QuoteSampler sampler = new QuoteSampler(repository);
+		sampler.rebuild();
+
+		// The rows were read before quote 2 was found deleted
+		duringRead.set(() -> sampler.remove(2L));
+		sampler.rebuild();
+
+		assertThat(sampler.size()).isEqualTo(2);
+		assertThat(sampler.categoryOf(2L)).isNull();
+	}
+
+	private static QuoteSamplingRow randomRow(Random random, int maxId) {
+		String category = random.nextInt(5) == 0 ? null : "C" + random.nextInt(4);
+		return new QuoteSamplingRow((long) random.nextInt(maxId), category, random.nextBoolean(), random.nextBoolean(),
+				T0.plusSeconds(random.nextInt(1000)));
+	}
+}
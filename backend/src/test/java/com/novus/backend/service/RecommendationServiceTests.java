@@ -0,0 +1,104 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.FavoriteView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.repository.ItemCount;
+import com.novus.backend.repository.PairCount;
+import com.novus.backend.repository.UserFavoriteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecommendationServiceTests {
+
+	private static final UUID ALICE = UUID.randomUUID();
+	private static final UUID BOB = UUID.randomUUID();
+
+	private final UserFavoriteRepository userFavoriteRepository = mock(UserFavoriteRepository.class);
+	private final QuoteService quoteService = mock(QuoteService.class);
+	private final RecommendationServiceImpl recommendationService = new RecommendationServiceImpl(userFavoriteRepository,
+			quoteService, mock(ContentService.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+			new SimpleMeterRegistry(), 64, 200);
+
+	RecommendationServiceTests() {
+		when(quoteService.getQuotesByIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0)
+				.stream().map(RecommendationServiceTests::quote).toList());
+	}
+
+	@Test
+	void inexactChangesRecountOnlyTheTouchedItems() {
+		when(userFavoriteRepository.streamViewsByUser()).thenAnswer(invocation -> Stream.of(
+				favorite(ALICE, 1), favorite(ALICE, 2), favorite(BOB, 1), favorite(BOB, 2)));
+		recommendationService.rebuild();
+
+		// Bob's batch re-sent quote 1, which he already had, and added quote 3
+		recommendationService.onFavoritesChanged(new FavoritesChangedEvent(BOB,
+				List.of(new FavoriteItem(ItemType.QUOTE, 1L), new FavoriteItem(ItemType.QUOTE, 3L)), List.of(), false));
+		when(userFavoriteRepository.countByItemIds(eq(ItemType.QUOTE), any())).thenReturn(List.of(
+				new ItemCount(ItemType.QUOTE, 1L, 2L), new ItemCount(ItemType.QUOTE, 3L, 1L)));
+		when(userFavoriteRepository.countPairsByItemIds(eq(ItemType.QUOTE), any())).thenReturn(List.of(
+				new PairCount(ItemType.QUOTE, 1L, ItemType.QUOTE, 2L, 2L),
+				new PairCount(ItemType.QUOTE, 1L, ItemType.QUOTE, 3L, 1L),
+				new PairCount(ItemType.QUOTE, 3L, ItemType.QUOTE, 1L, 1L),
+				new PairCount(ItemType.QUOTE, 3L, ItemType.QUOTE, 2L, 1L)));
+		recommendationService.applyRecounts();
+
+		verify(userFavoriteRepository, times(1)).streamViewsByUser();
+		verify(userFavoriteRepository).countPairsByItemIds(ItemType.QUOTE, Set.of(1L, 3L));
+		assertThat(recommendationService.alsoFavorited(ItemType.QUOTE, 1L, null, 10))
+				.extracting(RecommendationService.AlsoFavorited::itemId, RecommendationService.AlsoFavorited::favoritedTogether)
+				.containsExactly(tuple(2L, 2), tuple(3L, 1));
+	}
+
+	@Test
+	void changesDuringARebuildAreRecountedIntoTheNewMatrix() {
+		when(userFavoriteRepository.streamViewsByUser()).thenAnswer(invocation -> Stream.of(favorite(ALICE, 1), favorite(ALICE, 2)));
+		recommendationService.rebuild();
+
+		when(userFavoriteRepository.findItemsByUserId(eq(BOB), any())).thenReturn(List.of(
+				new FavoriteItem(ItemType.QUOTE, 3L), new FavoriteItem(ItemType.QUOTE, 1L)));
+		when(userFavoriteRepository.streamViewsByUser()).thenAnswer(invocation -> {
+			// Committed after the table was read, so the new matrix misses it
+			recommendationService.onFavoritesChanged(new FavoritesChangedEvent(BOB,
+					List.of(new FavoriteItem(ItemType.QUOTE, 3L)), List.of(), true));
+			return Stream.of(favorite(ALICE, 1), favorite(ALICE, 2));
+		});
+		recommendationService.rebuild();
+		assertThat(recommendationService.alsoFavorited(ItemType.QUOTE, 3L, null, 10)).isEmpty();
+
+		when(userFavoriteRepository.countByItemIds(eq(ItemType.QUOTE), any())).thenReturn(List.of(new ItemCount(ItemType.QUOTE, 3L, 1L)));
+		when(userFavoriteRepository.countPairsByItemIds(eq(ItemType.QUOTE), any())).thenReturn(List.of(
+				new PairCount(ItemType.QUOTE, 3L, ItemType.QUOTE, 1L, 1L)));
+		recommendationService.applyRecounts();
+
+		assertThat(recommendationService.alsoFavorited(ItemType.QUOTE, 3L, null, 10))
+				.extracting(RecommendationService.AlsoFavorited::itemId).containsExactly(1L);
+	}
+
+	private static FavoriteView favorite(UUID user, long quoteId) {
+		return new FavoriteView(null, user, ItemType.QUOTE, quoteId, null, null);
+	}
+
+	private static QuoteView quote(long id) {
+		return new QuoteView(id, "Quote " + id, "Author", "wisdom", false, false, null, null, null);
+	}
+}
@@ -0,0 +1,113 @@
+package com.novus.backend.service;
+
+import com.novus.backend.config.ReplicaRouting;
+import com.novus.backend.domain.interaction.FavoriteItem;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaReadsTests {
+
+	private final DataSource primary = database("primary");
+	private final DataSource replica = database("replica");
+	private final ReplicaReads replicaReads = new ReplicaReads("jdbc:h2:mem:replica", Duration.ofMinutes(1));
+	private ReplicaRouting routing;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() {
+		new JdbcTemplate(replica).execute("CREATE TABLE replication (lag DOUBLE PRECISION)");
+		new JdbcTemplate(replica).update("INSERT INTO replication VALUES (0)");
+		routing = new ReplicaRouting(primary, replica, "SELECT lag FROM replication", Duration.ofSeconds(1),
+				new SimpleMeterRegistry());
+		routing.checkLag();
+		jdbcTemplate = new JdbcTemplate(routing.getDataSource());
+		readWrite = new TransactionTemplate(new DataSourceTransactionManager(routing.getDataSource()));
+		readOnly = new TransactionTemplate(readWrite.getTransactionManager());
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void shutdown() {
+		new JdbcTemplate(primary).execute("SHUTDOWN");
+		new JdbcTemplate(replica).execute("SHUTDOWN");
+	}
+
+	@Test
+	void onlyReadOnlyTransactionsOfMarkedReadsGoToTheReplica() {
+		assertThat(replicaReads.get(() -> node(readOnly))).isEqualTo("replica");
+		assertThat(node(readOnly)).isEqualTo("primary");
+		assertThat(replicaReads.get(() -> node(readWrite))).isEqualTo("primary");
+		assertThat(replicaReads.get(() -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class)))
+				.isEqualTo("primary");
+	}
+
+	@Test
+	void readsStayOnThePrimaryAfterOwnWrites() {
+		UUID user = UUID.randomUUID();
+		UUID otherUser = UUID.randomUUID();
+
+		replicaReads.onFavoritesChanged(new FavoritesChangedEvent(user, List.of(new FavoriteItem(ItemType.QUOTE, 1L)),
+				List.of(), true));
+
+		assertThat(replicaReads.forUser(user, () -> node(readOnly))).isEqualTo("primary");
+		assertThat(replicaReads.forUser(otherUser, () -> node(readOnly))).isEqualTo("replica");
+		// A content read nested in a pinned read cannot move back to the replica
+		assertThat(replicaReads.forUser(user, () -> replicaReads.get(() -> node(readOnly)))).isEqualTo("primary");
+
+		replicaReads.onContentChanged(new ContentChangedEvent(ItemType.QUOTE, 1L));
+
+		assertThat(replicaReads.get(() -> node(readOnly))).isEqualTo("primary");
+		assertThat(replicaReads.forUser(otherUser, () -> node(readOnly))).isEqualTo("primary");
+	}
+
+	@Test
+	void laggingOrFailingReplicaFallsBackToThePrimary() {
+		new JdbcTemplate(replica).update("UPDATE replication SET lag = 5");
+		routing.checkLag();
+
+		assertThat(routing.isReplicaUsable()).isFalse();
+		assertThat(routing.getLagSeconds()).isEqualTo(5);
+		assertThat(replicaReads.get(() -> node(readOnly))).isEqualTo("primary");
+
+		new JdbcTemplate(replica).update("UPDATE replication SET lag = 0.5");
+		routing.checkLag();
+
+		assertThat(replicaReads.get(() -> node(readOnly))).isEqualTo("replica");
+
+		new JdbcTemplate(replica).execute("DROP TABLE replication");
+		routing.checkLag();
+
+		assertThat(routing.isReplicaUsable()).isFalse();
+		assertThat(replicaReads.get(() -> node(readOnly))).isEqualTo("primary");
+	}
+
+	private String node(TransactionTemplate transaction) {
+		return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+	}
+
+	// Each database knows its own name
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+		return dataSource;
+	}
+}
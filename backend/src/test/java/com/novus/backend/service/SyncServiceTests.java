@@ -0,0 +1,181 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.content.Book;
+import com.novus.backend.domain.content.ContentTombstone;
+import com.novus.backend.domain.content.Movie;
+import com.novus.backend.domain.content.Quote;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+import com.novus.backend.readmodel.TombstoneView;
+import com.novus.backend.repository.BookRepository;
+import com.novus.backend.repository.ContentTombstoneRepository;
+import com.novus.backend.repository.MovieRepository;
+import com.novus.backend.repository.QuoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(SyncServiceImpl.class)
+@TestPropertySource(properties = "novus.sync.settle=PT0S")
+class SyncServiceTests {
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private QuoteRepository quoteRepository;
+
+	@Autowired
+	private BookRepository bookRepository;
+
+	@Autowired
+	private MovieRepository movieRepository;
+
+	@Autowired
+	private ContentTombstoneRepository tombstoneRepository;
+
+	private final List<Quote> quotes = new ArrayList<>();
+
+	@BeforeEach
+	void seed() throws InterruptedException {
+		for (int i = 0; i < 4; i++) {
+			Quote quote = new Quote();
+			quote.setContent("quote " + i);
+			quotes.add(quoteRepository.saveAndFlush(quote));
+		}
+		for (int i = 0; i < 2; i++) {
+			Book book = new Book();
+			book.setTitle("book " + i);
+			bookRepository.saveAndFlush(book);
+		}
+		Movie movie = new Movie();
+		movie.setTitle("movie");
+		movieRepository.saveAndFlush(movie);
+		tick();
+	}
+
+	@Test
+	void fullSyncPagesThroughEveryTableOnce() {
+		Collected full = syncAll(null, 3);
+
+		assertThat(full.quotes).hasSize(4).doesNotHaveDuplicates();
+		assertThat(full.books).hasSize(2);
+		assertThat(full.movies).hasSize(1);
+		assertThat(full.deleted).isEmpty();
+		assertThat(full.pages).isEqualTo(3);
+	}
+
+	@Test
+	void deltaReturnsOnlyChangesAndDeletesSinceTheToken() throws InterruptedException {
+		String token = syncAll(null, 500).token;
+		tick();
+		Quote changed = quotes.get(2);
+		changed.setContent("edited");
+		quoteRepository.saveAndFlush(changed);
+		tombstone(ItemType.BOOK, 99L);
+		tick();
+
+		Collected delta = syncAll(token, 500);
+
+		assertThat(delta.quotes).extracting(QuoteView::content).containsExactly("edited");
+		assertThat(delta.books).isEmpty();
+		assertThat(delta.deleted).extracting(TombstoneView::itemType, TombstoneView::itemId)
+				.containsExactly(tuple(ItemType.BOOK, 99L));
+		assertThat(syncAll(delta.token, 500).quotes).isEmpty();
+	}
+
+	@Test
+	void rowsWrittenMidSessionAreLeftForTheNextSync() throws InterruptedException {
+		SyncService.SyncBatch first = syncService.changes(null, 2);
+		assertThat(first.quotes()).hasSize(2);
+		tick();
+		Quote delivered = quotes.get(0);
+		delivered.setContent("edited mid-session");
+		quoteRepository.saveAndFlush(delivered);
+		tick();
+
+		Collected rest = syncAll(first.nextToken(), 2);
+		assertThat(rest.quotes).extracting(QuoteView::id).doesNotContain(delivered.getId()).hasSize(2);
+
+		assertThat(syncAll(rest.token, 500).quotes).extracting(QuoteView::content).containsExactly("edited mid-session");
+	}
+
+	@Test
+	void tombstonesAreComparedInTheServiceZone() throws InterruptedException {
+		// Far from any test JVM's zone, so comparing local wall-clock times would be off by hours
+		SyncService farEast = new SyncServiceImpl(quoteRepository, bookRepository, movieRepository, tombstoneRepository,
+				Duration.ZERO, Duration.ofDays(30), Clock.system(ZoneId.of("Pacific/Kiritimati")));
+		String token = syncAll(farEast, null, 500).token;
+		tick();
+		tombstone(ItemType.QUOTE, 42L);
+		tick();
+
+		assertThat(syncAll(farEast, token, 500).deleted).extracting(TombstoneView::itemId).containsExactly(42L);
+	}
+
+	@Test
+	void foreignTokensAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> syncService.changes("v0.abc", 10));
+		assertThatIllegalArgumentException().isThrownBy(() -> syncService.changes("v1.!!", 10));
+		assertThatIllegalArgumentException().isThrownBy(() -> syncService.changes("v1.MXwy", 10));
+	}
+
+	private Collected syncAll(String token, int limit) {
+		return syncAll(syncService, token, limit);
+	}
+
+	private static Collected syncAll(SyncService syncService, String token, int limit) {
+		Collected collected = new Collected();
+		SyncService.SyncBatch batch;
+		do {
+			batch = syncService.changes(token, limit);
+			collected.quotes.addAll(batch.quotes());
+			collected.books.addAll(batch.books());
+			collected.movies.addAll(batch.movies());
+			collected.deleted.addAll(batch.deleted());
+			collected.pages++;
+			token = batch.nextToken();
+		} while (batch.hasMore());
+		collected.token = token;
+		return collected;
+	}
+
+	private void tombstone(ItemType type, long itemId) {
+		ContentTombstone tombstone = new ContentTombstone();
+		tombstone.setItemType(type);
+		tombstone.setItemId(itemId);
+		tombstone.setDeletedAt(Instant.now());
+		tombstoneRepository.saveAndFlush(tombstone);
+	}
+
+	// Keeps timestamps of consecutive steps apart at the column's microsecond precision
+	private static void tick() throws InterruptedException {
+		Thread.sleep(5);
+	}
+
+	private static class Collected {
+		final List<QuoteView> quotes = new ArrayList<>();
+		final List<BookView> books = new ArrayList<>();
+		final List<MovieView> movies = new ArrayList<>();
+		final List<TombstoneView> deleted = new ArrayList<>();
+		int pages;
+		String token;
+	}
+}
@@ -0,0 +1,132 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.user.User;
+import com.novus.backend.readmodel.UserView;
+import com.novus.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserIdentityCacheTests {
+
+	private final Map<String, User> users = new HashMap<>();
+	private final AtomicInteger lookups = new AtomicInteger();
+	private boolean failWrites;
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+	UserIdentityCacheTests() {
+		when(userRepository.findWithInterestsByKeycloakId(anyString())).thenAnswer(this::lookup);
+		when(userRepository.findByKeycloakId(anyString())).thenAnswer(this::lookup);
+		when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+			if (failWrites) {
+				throw new IllegalStateException("write failed");
+			}
+			User user = invocation.getArgument(0);
+			users.put(user.getKeycloakId(), user);
+			return user;
+		});
+	}
+
+	@Test
+	void writesReplaceTheCachedUser() {
+		UserIdentityCache cache = new UserIdentityCache(100, Duration.ofMinutes(10));
+		UserServiceImpl userService = new UserServiceImpl(userRepository, cache, new TransactionTemplate(transactionManager));
+		users.put("kc-1", user("kc-1", "old@example.com"));
+
+		assertThat(userService.getUserByKeycloakId("kc-1").email()).isEqualTo("old@example.com");
+		assertThat(userService.getUserByKeycloakId("kc-1").email()).isEqualTo("old@example.com");
+		assertThat(lookups.get()).isEqualTo(1);
+
+		userService.syncUser("kc-1", "new@example.com", null);
+		int afterWrite = lookups.get();
+
+		assertThat(userService.getUserByKeycloakId("kc-1").email()).isEqualTo("new@example.com");
+		assertThat(lookups.get()).isEqualTo(afterWrite);
+	}
+
+	@Test
+	void failedWriteLeavesNothingCached() {
+		UserIdentityCache cache = new UserIdentityCache(100, Duration.ofMinutes(10));
+		UserServiceImpl userService = new UserServiceImpl(userRepository, cache, new TransactionTemplate(transactionManager));
+		users.put("kc-1", user("kc-1", "old@example.com"));
+		userService.getUserByKeycloakId("kc-1");
+
+		failWrites = true;
+		assertThatThrownBy(() -> userService.syncUser("kc-1", "new@example.com", null))
+				.isInstanceOf(IllegalStateException.class);
+
+		assertThat(cache.get("kc-1")).isNull();
+	}
+
+	@Test
+	void readThatRacedAWriteCannotPutTheOldRowBack() {
+		UserIdentityCache cache = new UserIdentityCache(100, Duration.ofMinutes(10));
+		User before = user("kc-1", "old@example.com");
+		before.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+		User after = user("kc-1", "new@example.com");
+		after.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 1));
+
+		// The write's put lands first, then the read that loaded the row before the commit
+		cache.put(UserView.of(after));
+		cache.put(UserView.of(before));
+
+		assertThat(cache.get("kc-1").email()).isEqualTo("new@example.com");
+	}
+
+	@Test
+	void entriesExpireAfterTheTtl() throws InterruptedException {
+		UserIdentityCache cache = new UserIdentityCache(100, Duration.ofMillis(20));
+		cache.put(UserView.of(user("kc-1", "a@example.com")));
+
+		assertThat(cache.get("kc-1")).isNotNull();
+		Thread.sleep(40);
+		assertThat(cache.get("kc-1")).isNull();
+	}
+
+	@Test
+	void sizeStaysWithinTheBound() {
+		UserIdentityCache cache = new UserIdentityCache(10, Duration.ofMinutes(10));
+		for (int i = 0; i < 25; i++) {
+			cache.put(UserView.of(user("kc-" + i, i + "@example.com")));
+		}
+
+		int cached = 0;
+		for (int i = 0; i < 25; i++) {
+			if (cache.get("kc-" + i) != null) {
+				cached++;
+			}
+		}
+		assertThat(cached).isBetween(1, 10);
+		assertThat(cache.get("kc-24")).isNotNull();
+	}
+
+	private static User user(String keycloakId, String email) {
+		User user = new User();
+		user.setId(UUID.randomUUID());
+		user.setKeycloakId(keycloakId);
+		user.setEmail(email);
+		return user;
+	}
+
+	private Optional<User> lookup(InvocationOnMock invocation) {
+		lookups.incrementAndGet();
+		return Optional.ofNullable(users.get(invocation.<String>getArgument(0)));
+	}
+}
@@ -0,0 +1,91 @@
+package com.novus.backend.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.readmodel.BookView;
+import com.novus.backend.readmodel.MovieView;
+import com.novus.backend.readmodel.QuoteView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the {@link ApiResponse} envelope and writing it with an ObjectMapper configured the way
+ * Spring Boot configures the MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private List<QuoteView> quotes;
+    private List<BookView> books;
+    private List<MovieView> movies;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        quotes = new ArrayList<>(size);
+        books = new ArrayList<>(size);
+        movies = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            quotes.add(new QuoteView(i, "The only way to do great work is to love what you do. #" + i,
+                    "Author " + (i % 50), "motivation", false, false,
+                    "https://cdn.example.com/backgrounds/" + i + ".jpg", now, now));
+            books.add(new BookView(i, "Book title " + i, "Author " + (i % 50),
+                    "A description long enough to look like a real blurb for book " + i + ".",
+                    "https://cdn.example.com/covers/" + i + ".jpg", "https://www.amazon.com/dp/" + (1_000_000 + i),
+                    false, now, now));
+            movies.add(new MovieView(i, "Movie title " + i,
+                    "A synopsis long enough to look like a real one for movie " + i + ".",
+                    "https://cdn.example.com/posters/" + i + ".jpg", "Director " + (i % 30), 1980 + (int) (i % 40),
+                    false, now, now));
+        }
+    }
+
+    @Benchmark
+    public ApiResponse<List<QuoteView>> construct() {
+        return ApiResponse.success(quotes);
+    }
+
+    @Benchmark
+    public byte[] quotes() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(quotes));
+    }
+
+    @Benchmark
+    public byte[] books() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(books));
+    }
+
+    @Benchmark
+    public byte[] movies() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(movies));
+    }
+
+    @Benchmark
+    public byte[] quotePage() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(new CursorPage<>(quotes, (long) size, true)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.novus.backend.common.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.novus.backend.readmodel.BookSummary;
+import com.novus.backend.readmodel.QuoteView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CPU per response and bytes on the wire for each encoding of a content page, as produced when
+ * the response body cache misses; a hit costs only the byte copy. The encoded size of each
+ * combination is printed when its trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    @Param({"json", "json-gzip", "cbor", "cbor-gzip"})
+    String encoding;
+
+    @Param({"quotes", "books"})
+    String payload;
+
+    @Param({"20", "100"})
+    int size;
+
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private ApiResponse<CursorPage<?>> page;
+
+    @Setup
+    public void setUp() {
+        mapper = encoding.startsWith("cbor") ? Jackson2ObjectMapperBuilder.cbor().build() : Jackson2ObjectMapperBuilder.json().build();
+        gzip = encoding.endsWith("gzip");
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Object> items = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            items.add("quotes".equals(payload)
+                    ? new QuoteView(i, "The only way to do great work is to love what you do. #" + i, "Author " + (i % 50),
+                    "motivation", false, false, "https://cdn.example.com/backgrounds/" + i + ".jpg", now, now)
+                    : new BookSummary(i, "Book title " + i, "Author " + (i % 50),
+                    "https://cdn.example.com/covers/" + i + ".jpg", false));
+        }
+        page = ApiResponse.cacheable(new CursorPage<>(items, (long) size, true));
+        try {
+            System.out.printf("%n%s, %d %s: %d bytes on the wire%n", encoding, size, payload, encode().length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        byte[] body = mapper.writeValueAsBytes(page);
+        if (gzip) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                gzipOut.write(body);
+            }
+            body = out.toByteArray();
+        }
+        return body;
+    }
+}
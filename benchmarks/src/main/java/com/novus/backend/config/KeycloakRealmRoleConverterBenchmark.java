@@ -0,0 +1,82 @@
+package com.novus.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Role extraction for every authenticated request. Each token carries its own (equal) role list, as
+ * freshly decoded tokens do, so the interned path is measured with realistic list instances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeycloakRealmRoleConverterBenchmark {
+
+    private static final int TOKENS = 64;
+
+    @Param({"2", "8"})
+    int roles;
+
+    private SecurityConfig.KeycloakRealmRoleConverter converter;
+    private Jwt[] tokens;
+    private Jwt noRoles;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        converter = new SecurityConfig.KeycloakRealmRoleConverter(new SimpleMeterRegistry());
+        tokens = new Jwt[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            List<String> roleNames = new ArrayList<>(roles);
+            for (int r = 0; r < roles; r++) {
+                roleNames.add("role_" + r);
+            }
+            tokens[i] = jwt(Map.of("roles", roleNames));
+        }
+        noRoles = jwt(Map.of());
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        Jwt token = tokens[next];
+        next = (next + 1) % TOKENS;
+        return converter.convert(token);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convertWithoutRealmRoles() {
+        return converter.convert(noRoles);
+    }
+
+    private static Jwt jwt(Map<String, Object> realmAccess) {
+        Instant now = Instant.now();
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("benchmark-user")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(300))
+                .claim("realm_access", realmAccess)
+                .build();
+    }
+}
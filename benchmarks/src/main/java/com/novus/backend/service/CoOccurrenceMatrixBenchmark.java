@@ -0,0 +1,86 @@
+package com.novus.backend.service;
+
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Also favorited" lookups and incremental favorite updates on a matrix built from synthetic
+ * favorites: {@code users} users with 30 favorites each over 30,000 items, skewed towards popular
+ * items. The item count and build time are printed when the trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoOccurrenceMatrixBenchmark {
+
+    private static final int ITEMS = 30_000;
+    private static final int FAVORITES_PER_USER = 30;
+
+    @Param({"10000", "100000"})
+    int users;
+
+    private CoOccurrenceMatrix matrix;
+    private long[] probes;
+    private long[] others;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        matrix = new CoOccurrenceMatrix(64);
+        long start = System.nanoTime();
+        long[] favorites = new long[FAVORITES_PER_USER];
+        for (int user = 0; user < users; user++) {
+            for (int i = 0; i < FAVORITES_PER_USER; i++) {
+                favorites[i] = item(random);
+                matrix.add(favorites[i], favorites, i);
+            }
+        }
+        System.out.printf("%n%d users: %d items built in %d ms%n", users, matrix.items(),
+                (System.nanoTime() - start) / 1_000_000);
+        probes = new long[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = item(random);
+        }
+        others = new long[FAVORITES_PER_USER];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = item(random);
+        }
+    }
+
+    @Benchmark
+    public List<CoOccurrenceMatrix.Neighbor> alsoFavorited() {
+        return matrix.top(probes[next++ & (probes.length - 1)], 10, key -> true);
+    }
+
+    @Benchmark
+    public void addAndRemoveFavorite() {
+        long item = probes[next++ & (probes.length - 1)];
+        matrix.add(item, others, others.length);
+        matrix.remove(item, others, others.length);
+    }
+
+    // Squaring a uniform draw skews picks towards low ids, the "popular" end of the catalog
+    private static long item(SplittableRandom random) {
+        double u = random.nextDouble();
+        long id = 1 + (long) (u * u * ITEMS);
+        return CoOccurrenceMatrix.key(random.nextInt(4) == 0 ? ItemType.BOOK : ItemType.QUOTE, id);
+    }
+}
@@ -0,0 +1,103 @@
+package com.novus.backend.service;
+
+import com.novus.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the full application against an in-memory H2 database (PostgreSQL mode) and seeds it, so
+ * service benchmarks run through the same beans, caches and queries as production.
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    static final String[] CATEGORIES = {"motivation", "success", "love", "wisdom", "life", "happiness", "faith", "work"};
+    static final String[] WORDS = {"courage", "dream", "journey", "light", "patience", "habit", "focus", "kindness",
+            "growth", "purpose", "today", "strength", "truth", "change", "hope", "effort"};
+
+    final ConfigurableApplicationContext context;
+    final UUID userId;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context, UUID userId) {
+        this.context = context;
+        this.userId = userId;
+    }
+
+    static EmbeddedBackend start(int quotes, int books, int movies) {
+        ConfigurableApplicationContext context = SpringApplication.run(BackendApplication.class,
+                "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.web=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--spring.security.oauth2.resourceserver.jwt.issuer-uri=http://localhost:0/realms/benchmarks",
+                "--SWAGGER_USER=benchmarks",
+                "--SWAGGER_PASSWORD=benchmarks",
+                "--server.port=0",
+                "--novus.content.change-feed.install-triggers=false");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        seed(jdbc, quotes, books, movies);
+        UUID userId = context.getBean(UserService.class).syncUser("benchmark-user", "bench@example.com", "Benchmark").id();
+
+        context.getBean(QuoteSampler.class).rebuild();
+        context.getBean(ContentSearchIndex.class).rebuild();
+        context.getBean(ContentChangeFeed.class).poll();
+        return new EmbeddedBackend(context, userId);
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private static void seed(JdbcTemplate jdbc, int quotes, int books, int movies) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(quotes);
+        for (int i = 0; i < quotes; i++) {
+            rows.add(new Object[]{sentence(i, 12), "Author " + (i % 500), CATEGORIES[i % CATEGORIES.length],
+                    i % 10 == 0, i % 7 == 0, now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO quotes (content, author, category, is_premium, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 0; i < books; i++) {
+            rows.add(new Object[]{sentence(i, 4), "Author " + (i % 300), sentence(i + 1, 30), i % 9 == 0, now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO books (title, author, description, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int i = 0; i < movies; i++) {
+            rows.add(new Object[]{sentence(i, 3), "Director " + (i % 200), 1960 + i % 64, sentence(i + 2, 30),
+                    i % 11 == 0, now, now});
+        }
+        jdbc.batchUpdate("INSERT INTO movies (title, director, release_year, description, is_religious, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static String sentence(int seed, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[Math.floorMod(seed * 31 + w * 17 + w * w, WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,96 @@
+package com.novus.backend.service;
+
+import com.novus.backend.common.response.CursorPage;
+import com.novus.backend.domain.interaction.UserFavorite.ItemType;
+import com.novus.backend.readmodel.BookSummary;
+import com.novus.backend.readmodel.QuoteView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service methods behind the busiest endpoints, running in the real application context against
+ * an embedded database (see {@link EmbeddedBackend}). Lookups pick random ids so the catalog cache
+ * sees a realistic mix rather than a single hot key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10000"})
+    int quotes;
+
+    private EmbeddedBackend backend;
+    private QuoteService quoteService;
+    private ContentService contentService;
+    private SearchService searchService;
+    private InteractionService interactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start(quotes, quotes / 5, quotes / 5);
+        quoteService = backend.bean(QuoteService.class);
+        contentService = backend.bean(ContentService.class);
+        searchService = backend.bean(SearchService.class);
+        interactionService = backend.bean(InteractionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public List<QuoteView> randomQuotes() {
+        return quoteService.getRandomQuotes(10);
+    }
+
+    @Benchmark
+    public Optional<QuoteView> quoteById() {
+        return quoteService.getQuoteById(1 + ThreadLocalRandom.current().nextLong(quotes));
+    }
+
+    @Benchmark
+    public CursorPage<QuoteView> quotesByCategory() {
+        String category = EmbeddedBackend.CATEGORIES[ThreadLocalRandom.current().nextInt(EmbeddedBackend.CATEGORIES.length)];
+        return quoteService.getQuotesByCategory(category, null, 20);
+    }
+
+    @Benchmark
+    public CursorPage<BookSummary> booksPage() {
+        return contentService.getBooks(ThreadLocalRandom.current().nextLong(quotes / 5), 20);
+    }
+
+    @Benchmark
+    public List<SearchService.SearchHit> search() {
+        String word = EmbeddedBackend.WORDS[ThreadLocalRandom.current().nextInt(EmbeddedBackend.WORDS.length)];
+        return searchService.search(word, Set.of(ItemType.QUOTE, ItemType.BOOK), 20);
+    }
+
+    @Benchmark
+    public boolean toggleFavorite() {
+        long quoteId = 1 + ThreadLocalRandom.current().nextLong(quotes);
+        interactionService.addFavorite(backend.userId, ItemType.QUOTE, quoteId);
+        return interactionService.removeFavorite(backend.userId, ItemType.QUOTE, quoteId);
+    }
+}